@@ -0,0 +1,128 @@
+package com.hills.sim.worker;
+
+import com.hills.sim.Constants;
+import com.hills.sim.Constants.WaitStrategyE;
+
+/**
+ * Throughput of the HandOffs: 1 producer thread puts Integers, 1 consumer
+ * thread takes them, 1 at a time or in batches of Q_BATCH_LOGROWSBAG;
+ * The best of the rounds is printed, in M items/s; 
+ * Kept out of src, so it is never copied into sim.jar
+ * @author Mark L
+ *
+ */
+public class HandOffBench {
+
+	private static final int CAPACITY = 1000;
+
+
+	public static void main(String[] args) {
+		int items = 5000000;
+		int rounds = 3;
+		WaitStrategyE[] strategies = {WaitStrategyE.QUEUE,
+									  WaitStrategyE.YIELD,
+									  WaitStrategyE.PARK};
+
+//		[items] [rounds] [wait strategies]; SPIN is only benched when
+//		named, as it starves the other thread without a core of its own
+		try {
+			if(args.length > 0) items = Integer.parseInt(args[0]);
+			if(args.length > 1) rounds = Integer.parseInt(args[1]);
+			if(args.length > 2) {
+				strategies = new WaitStrategyE[args.length - 2];
+				for(int i = 2; i < args.length; i++)
+					strategies[i - 2] = WaitStrategyE.valueOf
+												(args[i].toUpperCase());
+			}
+
+		} catch (IllegalArgumentException e) {
+			usage();
+			System.exit(1);
+		}
+
+		System.out.printf("%d items, best of %d, %d CPU(s), M items/s\n",
+						  items, rounds,
+						  Runtime.getRuntime().availableProcessors());
+
+		try {
+			for(WaitStrategyE strategy: strategies) {
+				double take = 0;
+				double batch = 0;
+				for(int i = 0; i < rounds; i++) {
+					take = Math.max(take, bench(strategy, items, false));
+					batch = Math.max(batch, bench(strategy, items, true));
+				}
+				System.out.printf("%-6s take %6.1f   batch %6.1f\n",
+								  strategy, take, batch);
+			}
+
+		} catch (InterruptedException e) {
+			System.err.printf("HandOffBench: Interrupted.\n");
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+
+	/**
+	 * Hand the items off from a producer thread to this thread
+	 * @param strategy Wait strategy; QUEUE for the LinkedBlockingQueue
+	 * @param items Number of items
+	 * @param batched True: Put and take in batches
+	 * @return Throughput, in M items/s
+	 * @throws InterruptedException
+	 */
+	private static double bench(WaitStrategyE strategy, int items,
+								boolean batched) throws InterruptedException {
+		HandOff<Integer> hand_off = strategy == WaitStrategyE.QUEUE
+								  ? new QueueHandOff<>(CAPACITY)
+								  : new RingBuffer<>(CAPACITY, strategy);
+
+		Thread producer = new Thread(() -> {
+			Integer[] batch = new Integer[Constants.Q_BATCH_LOGROWSBAG];
+			try {
+				for(int i = 0; i < items; ) {
+					if(batched == false) {
+						hand_off.put(i++);
+						continue;
+					}
+
+					int count = Math.min(batch.length, items - i);
+					for(int j = 0; j < count; j++) batch[j] = i++;
+					hand_off.put(batch, count);
+				}
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}, "HandOffBench");
+
+		long start = System.nanoTime();
+		producer.start();
+
+		Integer[] batch = new Integer[Constants.Q_BATCH_LOGROWSBAG];
+		for(int taken = 0; taken < items; ) {
+			if(batched) taken += hand_off.take(batch);
+			else {
+				hand_off.take();
+				taken++;
+			}
+		}
+		producer.join();
+
+		return(items / ((System.nanoTime() - start) / 1e3));
+	}
+
+
+	/**
+	 * Prints "Howto" use the bench
+	 */
+	public static void usage() {
+		System.out.println("\nArgument: [items] [rounds] [wait strategies]");
+		System.out.println("\tWait strategies: QUEUE, SPIN, YIELD or PARK; "
+						   + "default: QUEUE YIELD PARK");
+		System.out.println("\nExample, with sim.jar made: "
+						   + "\n\tjavac -cp sim.jar -d bench bench\\com\\hills\\sim\\worker\\HandOffBench.java"
+						   + "\n\tjava -cp bench;sim.jar;libs/* com.hills.sim.worker.HandOffBench 5000000 3");
+	}
+}
@@ -7,6 +7,16 @@ public class Constants {
 	 */
 	public static final String CMD_ARG_SETTINGS = "--settings";
 	
+	/**
+	 * Sync the CandleStore of the table, instead of running the simulation
+	 */
+	public static final String CMD_ARG_SYNC = "--sync";
+	
+	/**
+	 * Resume the sweep: Skip the runs in the journal, and append to the logs
+	 */
+	public static final String CMD_ARG_RESUME = "--resume";
+	
 	
 	public static final String EA_PATH = "com.hills.sim.ea.";
 
@@ -50,10 +60,11 @@ public class Constants {
 	public static final String BIGSETTINGF_PREFIX_ACC = "ACC";
 	public static final String BIGSETTINGF_PREFIX_SYM = "SYM";
 	public static final String BIGSETTINGF_PREFIX_EA = "EA";	
+	public static final String BIGSETTINGF_PREFIX_OPT = "OPT";
 	
 	/**
 	 * BigSettingFrame definitions for the following BigSetting objects:
-	 * General, Account, Symbol
+	 * General, Account, Symbol, Optimizer
 	 * Each BigSettingFrame definition contains a 'Framelet' where it is
 	 * defined as "Key": "SettingType-SettingValue".
 	 */
@@ -62,6 +73,17 @@ public class Constants {
 				{"GEN_STRATEGY_NAME", "PRIMITIVE-STRING"},
 				{"GEN_OUTPUT_DIRECTORY", "PRIMITIVE-STRING"},
 				{"GEN_PERIOD_RANGE", "BOUNDED-DATETIME"},
+				{"GEN_CANDLES_IN_MEMORY", "PRIMITIVE-BOOLEAN"},
+				{"GEN_CANDLE_CACHE", "PRIMITIVE-BOOLEAN"},
+				{"GEN_CACHE_DIRECTORY", "PRIMITIVE-STRING"},
+				{"GEN_WAIT_STRATEGY", "PRIMITIVE-STRING"},
+				{"GEN_DB_CONNECTIONS", "PRIMITIVE-INTEGER"},
+				{"GEN_CANDLE_SOURCE", "PRIMITIVE-STRING"},
+				{"GEN_SOURCE_FILE", "PRIMITIVE-STRING"},
+				{"GEN_WORKERS", "PRIMITIVE-INTEGER"},
+				{"GEN_LOCKSTEP_RUNS", "PRIMITIVE-INTEGER"},
+				{"GEN_DETAILED_LOGS", "PRIMITIVE-BOOLEAN"},
+				{"GEN_PRICE_MODE", "PRIMITIVE-STRING"},
 			};
 			
 	public static final String[][] BIGSETTINGF_ACC = 
@@ -79,6 +101,28 @@ public class Constants {
 				{"SYM_TIMEFRAME", "PRIMITIVE-STRING"}
 			};	
 			
+	public static final String[][] BIGSETTINGF_OPT = 
+			new String[][] {
+				{"OPT_MODE", "PRIMITIVE-STRING"},
+				{"OPT_OBJECTIVE", "PRIMITIVE-STRING"},
+				{"OPT_POPULATION", "PRIMITIVE-INTEGER"},
+				{"OPT_GENERATIONS", "PRIMITIVE-INTEGER"},
+				{"OPT_TOURNAMENT", "PRIMITIVE-INTEGER"},
+				{"OPT_CROSSOVER", "PRIMITIVE-FLOAT"},
+				{"OPT_MUTATION", "PRIMITIVE-FLOAT"},
+				{"OPT_SEED", "PRIMITIVE-INTEGER"},
+				{"OPT_COARSE_STRIDE", "PRIMITIVE-INTEGER"},
+				{"OPT_TOP_K", "PRIMITIVE-INTEGER"},
+				{"OPT_HALVING_RATE", "PRIMITIVE-INTEGER"},
+				{"OPT_HALVING_RUNGS", "PRIMITIVE-INTEGER"},
+				{"OPT_PRUNE_DRAWDOWN", "PRIMITIVE-FLOAT"},
+				{"OPT_PRUNE_MARGIN_CALL", "PRIMITIVE-BOOLEAN"},
+				{"OPT_PRUNE_NO_TRADES", "PRIMITIVE-INTEGER"},
+				{"OPT_PRUNE_MAX_GAIN", "PRIMITIVE-FLOAT"},
+				{"OPT_WF_IN_SAMPLE", "PRIMITIVE-INTEGER"},
+				{"OPT_WF_OUT_SAMPLE", "PRIMITIVE-INTEGER"},
+			};
+			
 			
 			
 	
@@ -93,7 +137,9 @@ public class Constants {
 		REPORTS("REP", "ReportsLog.csv", HEADER_REPORT),
 		INDICATORS("IND", "IndicatorsLog.csv"),
 		STRATEGY("STR", "StrategyLog.csv"),
-		RUNS("RUN", "RunsLog.csv");
+		RUNS("RUN", "RunsLog.csv"),
+		WALKFORWARD("WFW", "WalkForwardLog.csv", HEADER_WALKFORWARD),
+		JOURNAL("JRN", "Journal.csv", HEADER_JOURNAL);
 		
 		private final String prefix;
 		private final String log_name;
@@ -233,8 +279,35 @@ public class Constants {
 					"REP_AVG_BARS_WIN",
 					"REP_AVG_BARS_LOSS",
 					"REP_MAX_DRAWDOWN",
+					"REP_PRUNED",
 					"RUN_ID"
 			};
+	
+	
+	public static final String[] HEADER_WALKFORWARD =
+			new String[] {
+					"WFW_ID",
+					"WFW_IS_START",
+					"WFW_IS_END",
+					"WFW_OOS_START",
+					"WFW_OOS_END",
+					"WFW_IS_SCORE",
+					"WFW_OOS_SCORE",
+					"WFW_OOS_NET_PROFIT",
+					"WFW_EQUITY",
+					"RUN_ID"
+			};
+	
+	
+	/**
+	 * Journal fields, followed by the report fields of the run
+	 */
+	public static final String[] HEADER_JOURNAL =
+			new String[] {
+					"JRN_RUN_ID",
+					"JRN_SCORE",
+					"JRN_NET_PROFIT"
+			};
 
 	
 	/**
@@ -268,6 +341,26 @@ public class Constants {
 		BULL;
 	};
 	
+	/**
+	 * Field of the candle, read by the aggregates of CandlesHistory
+	 * Ask OHLC, Bid OHLC, spread, body and length
+	 * @author Mark L
+	 *
+	 */
+	public enum CandleFieldE {
+		ASK_O,
+		ASK_H,
+		ASK_L,
+		ASK_C,
+		BID_O,
+		BID_H,
+		BID_L,
+		BID_C,
+		SPREAD,
+		BODY,
+		LENGTH;
+	};
+	
 	
 	/**
 	 * Direction of the Order
@@ -334,8 +427,168 @@ public class Constants {
 	
 	public static final String DB_TABLE_FMT = "%s_%s__%s";
 	
-	public static final int Q_LIMIT_CCANDLES = 1000;
+	/**
+	 * Used in Compactor; Number of rows fetched per round trip by the cursor
+	 */
+	public static final int DB_FETCH_SIZE = 10_000;
+	
+	/**
+	 * Used in CompactorPrefetcher; Number of day-queries in flight, 
+	 * per connection
+	 */
+	public static final int DB_PREFETCH_DEPTH = 2;
+	
+	/**
+	 * Used in CandleCopyReader; Buffer size of the binary copy, in bytes
+	 */
+	public static final int DB_COPY_BUFFER = 1 << 16;
+	
+	/**
+	 * Used in Compactor; Number of candles per CandleBlock
+	 */
+	public static final int BLOCK_SIZE = 4096;
+	
+	public static final int Q_LIMIT_CBLOCKS = 8;
 	public static final int Q_LIMIT_LOGROWSBAG = 1000;
+	public static final int Q_BATCH_LOGROWSBAG = 64;
+	
+	/**
+	 * How the Worker threads hand items over, and wait while the hand-off
+	 * is full or empty. Queue: LinkedBlockingQueue; 
+	 * Spin, Yield, Park: RingBuffer that busy-spins, yields or parks
+	 * @author Mark L
+	 *
+	 */
+	public enum WaitStrategyE {
+		QUEUE,
+		SPIN,
+		YIELD,
+		PARK,
+	};
+	
+	/**
+	 * Used in RingBuffer; Time to park for, with the Park wait strategy
+	 */
+	public static final long RING_PARK_NANOS = 1_000L;
+	
+	/**
+	 * Used in CandleDataset; Estimated heap footprint of 1 candle in a
+	 * CandleBlock, in bytes: Raw columns (68), derived columns (45) and 
+	 * the array headers of the block; In the Points price mode, the 
+	 * derived columns in points are added (Bid, Ask OHLC and spread)
+	 */
+	public static final int DATASET_BYTES_PER_CANDLE = 128;
+	public static final int DATASET_POINTS_BYTES_PER_CANDLE = 36;
+	
+	/**
+	 * Used in CandleCache; File name format (table, period start, 
+	 * period end), header magic number and version of the cache file
+	 */
+	public static final String CACHE_FILE_FMT = "%s__%s__%s.hcc";
+	public static final int CACHE_MAGIC = 0x48434331;
+	public static final int CACHE_VERSION = 1;
+	
+	/**
+	 * Used in CompactorCatalog; File name of the catalog, in the cache 
+	 * directory
+	 */
+	public static final String CATALOG_FILE = "catalog.properties";
+	
+	/**
+	 * Used in CandleStore; File name format of a segment (sequence number),
+	 * and number of days of the table copied per segment at most
+	 */
+	public static final String STORE_SEGMENT_FMT = "%08d.hcc";
+	public static final int STORE_SEGMENT_DAYS = 30;
+	
+	/**
+	 * Where the candles are read from. DB: Compactor (HillsCompactor);
+	 * CSV: CsvCandleSource; Binary: BinaryCandleSource (cache file format)
+	 * @author Mark L
+	 *
+	 */
+	public enum CandleSourceE {
+		DB,
+		CSV,
+		BINARY,
+	};
+	
+	/**
+	 * How the prices and money are held by Candle, Calculator and Order. 
+	 * Float: Decimal numbers, rounded to the Symbol distance; 
+	 * Points: Whole points of the Symbol distance, and whole cents for 
+	 * the Pnl, margin and balance
+	 * @author Mark L
+	 *
+	 */
+	public enum PriceModeE {
+		FLOAT,
+		POINTS,
+	};
+	
+	/**
+	 * Used in FileCandleSource; Extension of the Symbol data sidecar file
+	 */
+	public static final String SOURCE_SPECS_EXT = ".properties";
+	
+	/**
+	 * How the runs of the EA ranges are searched. Grid: Every run, in 
+	 * Run ID order; Genetic: GeneticOptimizer, over a population of runs; 
+	 * Refine: RefineOptimizer, from a coarse grid to the step of the ranges; 
+	 * Halving: HalvingOptimizer, over growing slices of the period; 
+	 * Walk_Forward: WalkForwardOptimizer, over rolling in-sample and 
+	 * out-of-sample windows
+	 * @author Mark L
+	 *
+	 */
+	public enum OptimizerModeE {
+		GRID,
+		GENETIC,
+		REFINE,
+		HALVING,
+		WALK_FORWARD,
+	};
+	
+	/**
+	 * Why a run was stopped early by the Pruner: Drawdown above the limit; 
+	 * Margin call; No trades after some candles; Bound: the net profit 
+	 * cannot beat the best run, even at the maximum gain per candle
+	 * @author Mark L
+	 *
+	 */
+	public enum PruneE {
+		DRAWDOWN,
+		MARGIN_CALL,
+		NO_TRADES,
+		BOUND,
+	};
+	
+	/**
+	 * Reporter metric that the Optimizer ranks the runs by; 
+	 * Maximised, or minimised (i.e. max drawdown)
+	 * @author Mark L
+	 *
+	 */
+	public enum ObjectiveE {
+		NET_PROFIT(true),
+		PROFIT_FACTOR(true),
+		MAX_DRAWDOWN(false);
+		
+		private final boolean maximised;
+		
+		ObjectiveE(boolean maximised) {
+			this.maximised = maximised;
+		}
+		
+		/**
+		 * Get the score of the metric; The higher, the better
+		 * @param value Value of the metric
+		 * @return Score
+		 */
+		public float toScore(float value) {
+			return(this.maximised ? value : -value);
+		}
+	};
 	
 
 	public static final int TA_MAX_ELEM = 1000;
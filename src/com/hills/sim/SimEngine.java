@@ -3,12 +3,17 @@ package com.hills.sim;
 import java.lang.reflect.Constructor;
 import java.util.List;
 
+import com.hills.sim.exceptions.CandleSourceExc;
+import com.hills.sim.exceptions.CandleStoreExc;
 import com.hills.sim.exceptions.SESettingsExc;
 import com.hills.sim.exceptions.SimEngineExc;
 import com.hills.sim.exceptions.WorkerExc;
 import com.hills.sim.settings.RunSettings;
 import com.hills.sim.settings.SESettings;
 import com.hills.sim.settings.Setting;
+import com.hills.sim.worker.CandleSource;
+import com.hills.sim.worker.CandleStore;
+import com.hills.sim.worker.Compactor;
 import com.hills.sim.worker.Worker;
 
 public class SimEngine {
@@ -20,13 +25,21 @@ public class SimEngine {
 	private final Worker worker;
 	
 	
-	public SimEngine(String filename) throws SimEngineExc {
+	/**
+	 * Make SimEngine
+	 * @param filename File name of the settings
+	 * @param resume True: Resume the sweep of the journal in the output 
+	 * directory; False: Start the sweep and its logs over
+	 * @throws SimEngineExc
+	 */
+	public SimEngine(String filename, boolean resume) throws SimEngineExc {
 		
 		this.filename = filename;
 		
-//		Make SESettings object
+//		Make SESettings object, and the journal of the sweep
 		try {
 			this.se_settings = new SESettings(this.filename);
+			this.se_settings.makeJournal(resume);
 			
 		} catch (SESettingsExc e) {
 			String error_msg = "%s: Error making SESettings\n";
@@ -115,10 +128,48 @@ public class SimEngine {
 	}
 	
 	
+	/**
+	 * Sync the CandleStore of the table in the settings: Append only the 
+	 * rows added to the Compactor since the last sync
+	 * @param filename File name of the settings
+	 * @throws SimEngineExc
+	 */
+	public static void sync(String filename) throws SimEngineExc {
+		String class_name = SimEngine.class.getName();
+		
+		try {
+			SESettings se_settings = new SESettings(filename);
+			CandleSource source = se_settings.getCandleSource();
+			
+			if(!(source instanceof Compactor)) {
+				System.err.printf("%s: Sync needs the DB candle source\n", 
+								  class_name);
+				throw new SimEngineExc();
+			}
+			
+			Compactor compactor = (Compactor) source;
+			CandleStore store = new CandleStore(compactor, 
+						se_settings.getGenSettings().getCacheDirectory());
+			
+			long total = store.sync();
+			compactor.close();
+			System.out.printf("Synced %d rows into %s\n", total, store);
+			
+		} catch (SESettingsExc | CandleStoreExc | CandleSourceExc e) {
+			String error_msg = "%s: Error syncing CandleStore\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, class_name);
+			throw new SimEngineExc();
+		}
+	}
+	
+	
 	public static void main(String[] args) {
 		
 		SimEngine se = null;
 		String settings = "";
+		boolean sync = false;
+		boolean resume = false;
 		
 //		Find the start date, end date and time frame
 		for(int i = 0; i < args.length; i++) {
@@ -130,6 +181,14 @@ public class SimEngine {
                     usage();
                 settings = args[i];
 			}
+			
+//			Sync the CandleStore only
+			else if(args[i].equalsIgnoreCase(Constants.CMD_ARG_SYNC)) 
+				sync = true;
+			
+//			Resume the sweep, skipping the journaled runs
+			else if(args[i].equalsIgnoreCase(Constants.CMD_ARG_RESUME)) 
+				resume = true;
 		}
 		
 //		Exit if incorrect parameters are given
@@ -141,7 +200,12 @@ public class SimEngine {
 //		Make the simulation engine
 //		Run the simulation
 		try {
-			se = new SimEngine(settings);
+			if(sync) {
+				SimEngine.sync(settings);
+				return;
+			}
+			
+			se = new SimEngine(settings, resume);
 			se.execute();
 			
 		} catch (SimEngineExc e) {
@@ -159,7 +223,11 @@ public class SimEngine {
 	public static void usage() {
 		System.out.println("\n[Version: xxx] "
 						   + "SimEngine will run trade simulation(s)");
-		System.out.println("\nArgument: --settings <filename>");
+		System.out.println("\nArgument: --settings <filename> [--sync] [--resume]");
+		System.out.println("\t--sync: Append the new rows of the table "
+						   + "to its CandleStore, then exit");
+		System.out.println("\t--resume: Skip the runs completed in the "
+						   + "journal, and append to the logs");
 		System.out.println("\nExample of running a trial: "
 						   + "\n\tjava -cp .;libs/* -jar <jarfile> --settings settings.html");
 	}
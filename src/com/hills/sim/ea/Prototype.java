@@ -1,19 +1,19 @@
 package com.hills.sim.ea;
 
+import com.hills.sim.Constants.CandleFieldE;
 import com.hills.sim.ea.prototype.EAConstants.XoverDirectionE;
 import com.hills.sim.ea.prototype.EAIndicators;
 import com.hills.sim.ea.prototype.EALogBook;
 import com.hills.sim.ea.prototype.EARun;
 import com.hills.sim.exceptions.CandlesHistoryExc;
 import com.hills.sim.exceptions.IndicatorExc;
-import com.hills.sim.exceptions.LogBookExc;
 import com.hills.sim.exceptions.OrderExc;
 import com.hills.sim.exceptions.StrategyExc;
+import com.hills.sim.logs.LogBook;
 import com.hills.sim.logs.LogRow;
 import com.hills.sim.settings.Run;
 import com.hills.sim.settings.SESettings;
 import com.hills.sim.stage.Candle;
-import com.hills.sim.stage.CandleComparator;
 import com.hills.sim.stage.CandlesHistory;
 import com.hills.sim.stage.Order;
 import com.hills.sim.stage.Stage;
@@ -38,22 +38,25 @@ public class Prototype extends Strategy {
 		super(stage, settings);
 		
 		this.ea_indis = new EAIndicators();
-		
-		try {
-			this.ea_logbook = new EALogBook(settings);
-			
-		} catch (LogBookExc e) {
-			String error_msg = "%s: Error creating log book for EA\n";
-			System.err.printf(error_msg, this.getClass().getName());
-			e.printStackTrace();
-			throw new StrategyExc();
-		}
+		this.ea_logbook = null;
 		
 		this.order = null;
 		this.candle_count = 0;
 	}
 	
 	
+	/**
+	 * Set the LogBook, and write the Indicators Log through it; The 
+	 * log is shared by the Prototype of every lane
+	 * @param log_book LogBook of the Worker
+	 */
+	@Override
+	public void setLogBook(LogBook log_book) {
+		super.setLogBook(log_book);
+		this.ea_logbook = new EALogBook(log_book);
+	}
+	
+	
 	/**
 	 * Set the run
 	 * @param run
@@ -105,7 +108,7 @@ public class Prototype extends Strategy {
 	@Override
 	public void viewCandle(Candle candle) throws Exception {
 		LogRow row;
-		if(this.candle_count == 0) {
+		if(this.candle_count == 0 && this.ea_logbook != null) {
 			row = this.ea_indis.toLogHeader();
 			this.ea_logbook.writeIndisLog(row);
 		}
@@ -156,6 +159,9 @@ public class Prototype extends Strategy {
 					float cur_bidl = candle.getBidL();
 					this.order = this.stage.openBuyMarketOrder(0.1F, 0, 0);
 					
+//					No order is opened on the last candle of the run
+					if(this.order == null) return;
+					
 					try {
 						this.order.setStopLoss(cur_bidl);
 					} catch (OrderExc e) {
@@ -170,6 +176,9 @@ public class Prototype extends Strategy {
 					float cur_askh = candle.getAskH();
 					this.order = this.stage.openSellMarketOrder(0.1F, 0, 0);
 					
+//					No order is opened on the last candle of the run
+					if(this.order == null) return;
+					
 					try {
 						this.order.setStopLoss(cur_askh);
 					} catch (OrderExc e) {
@@ -192,7 +201,7 @@ public class Prototype extends Strategy {
 		boolean result = false;
 		int decimal_pl = this.settings.getSymSettings().getDistance();
 		
-		float max_bidc = this.window.maxBy(Candle::getBidC, CandleComparator.BidC);
+		float max_bidc = this.window.max(CandleFieldE.BID_C);
 		max_bidc = this.calculator.round(max_bidc, decimal_pl);
 		
 		float curr_bidc = candle.getBidC();
@@ -213,7 +222,7 @@ public class Prototype extends Strategy {
 		boolean result = false;
 		int decimal_pl = this.settings.getSymSettings().getDistance();
 		
-		float min_bidc = this.window.minBy(Candle::getBidC, CandleComparator.BidC);
+		float min_bidc = this.window.min(CandleFieldE.BID_C);
 		min_bidc = this.calculator.round(min_bidc, decimal_pl);
 		
 		float curr_bidc = candle.getBidC();
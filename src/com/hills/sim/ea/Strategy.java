@@ -1,5 +1,6 @@
 package com.hills.sim.ea;
 
+import com.hills.sim.logs.LogBook;
 import com.hills.sim.settings.Run;
 import com.hills.sim.settings.SESettings;
 import com.hills.sim.stage.Calculator;
@@ -14,12 +15,24 @@ public class Strategy implements CandleViewer, RunHandler {
 	protected final SESettings settings;
 	protected final Calculator calculator;
 	protected Run run;
+	protected LogBook log_book;
 	
 	
 	public Strategy(Stage stage, SESettings settings) {
 		this.stage = stage;
 		this.settings = settings;
 		this.calculator = this.stage.getCalculator(); 
+		this.log_book = null;
+	}
+	
+	
+	/**
+	 * Set the LogBook, shared by the Strategy of every lane; The logs of 
+	 * the Strategy are written through it
+	 * @param log_book LogBook of the Worker
+	 */
+	public void setLogBook(LogBook log_book) {
+		this.log_book = log_book;
 	}
 	
 	
@@ -61,6 +74,14 @@ public class Strategy implements CandleViewer, RunHandler {
 	}
 
 
+	/**
+	 * @return the LogBook, or null before it is set
+	 */
+	public LogBook getLogBook() {
+		return log_book;
+	}
+
+
 	/**
 	 * @return the calculator
 	 */
@@ -1,14 +1,11 @@
 package com.hills.sim.ea.prototype;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.hills.sim.ea.prototype.EAConstants;
 import com.hills.sim.ea.prototype.EARun;
 import com.hills.sim.exceptions.BigSettingExc;
 import com.hills.sim.exceptions.SettingExc;
-import com.hills.sim.logs.LogRow;
 import com.hills.sim.Constants;
 import com.hills.sim.settings.BigSetting;
 import com.hills.sim.settings.Range;
@@ -26,7 +23,13 @@ public class EASettings extends BigSetting
 	private final Range<SVInteger> fast;
 	private final Range<SVInteger> slow;
 	private final Range<SVInteger> window;
-	private final List<EARun> runs;
+	
+	/**
+	 * Ranges of the runs; The runs are made on demand by Run ID
+	 */
+	private int fast_start, fast_step, fast_count;
+	private int slow_start, slow_step, slow_count;
+	private int win_start, win_step, win_count;
 	private int total_runs;
 	
 	@SuppressWarnings("unchecked")
@@ -53,9 +56,9 @@ public class EASettings extends BigSetting
 			throw new BigSettingExc();
 		}
 		
-//		Make List<EARun>
+//		Count the runs of the ranges
 		try {
-			this.runs = this.makeRuns();
+			this.makeRuns();
 			
 		} catch (SettingExc e) {
 			String error_msg = "%s: Error making runs for EASettings\n";
@@ -67,27 +70,31 @@ public class EASettings extends BigSetting
 	
 	/**
 	 * EA-invariant; method is required for all EASettings
+	 * Save the ranges and count the runs, without making them; 
+	 * Each run is made on demand by getRun
 	 */
-	public List<EARun> makeRuns() throws SettingExc {
-		List<EARun> result = new ArrayList<>();
-		
-		int run_id;
-		int fast_start, fast_end, fast_step;
-		int slow_start, slow_end, slow_step;
-		int win_start, win_end, win_step;
-		
+	public void makeRuns() throws SettingExc {
 		try {
-			fast_start = this.fast.getStart().getValue();
-			fast_end   = this.fast.getEnd().getValue();
-			fast_step  = this.fast.getStep().getValue();
+			this.fast_start = this.fast.getStart().getValue();
+			this.fast_step  = this.fast.getStep().getValue();
+			this.fast_count = this.countSteps
+									(this.fast_start, 
+									 this.fast.getEnd().getValue(), 
+									 this.fast_step);
 			
-			slow_start = this.slow.getStart().getValue();
-			slow_end   = this.slow.getEnd().getValue();
-			slow_step  = this.slow.getStep().getValue();
+			this.slow_start = this.slow.getStart().getValue();
+			this.slow_step  = this.slow.getStep().getValue();
+			this.slow_count = this.countSteps
+									(this.slow_start, 
+									 this.slow.getEnd().getValue(), 
+									 this.slow_step);
 			
-			win_start = this.window.getStart().getValue();
-			win_end = this.window.getEnd().getValue();
-			win_step = this.window.getStep().getValue();
+			this.win_start = this.window.getStart().getValue();
+			this.win_step  = this.window.getStep().getValue();
+			this.win_count = this.countSteps
+									(this.win_start, 
+									 this.window.getEnd().getValue(), 
+									 this.win_step);
 			
 		} catch (Exception e) {
 			String error_msg = "%s: Error saving fast/slow period values.\n";
@@ -96,51 +103,65 @@ public class EASettings extends BigSetting
 			throw new SettingExc();
 		}
 		
-//		Calculate the number of total runs
-		this.total_runs = 0;
-		for(int i = fast_start; i <= fast_end; i += fast_step) 
-			for(int j = slow_start; j <= slow_end; j += slow_step)
-				for(int k = win_start; k <= win_end; k += win_step)
-					this.total_runs++;
-		
-		run_id = 0;
-		for(int i = fast_start; i <= fast_end; i += fast_step) 
-			for(int j = slow_start; j <= slow_end; j += slow_step) 
-				for(int k = win_start; k <= win_end; k += win_step) {
-					run_id++;
-					result.add(new EARun(run_id, this.total_runs, i, j, k));
-				}
+//		Calculate the number of total runs; The Run IDs are integers
+		try {
+			this.total_runs = Math.toIntExact((long) this.fast_count * 
+											  this.slow_count * 
+											  this.win_count);
 			
+		} catch (ArithmeticException e) {
+			String error_msg = "%s: Too many runs for EASettings\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new SettingExc();
+		}
+	}
+	
+	
+	/**
+	 * Count the values of the range, from start to end by step
+	 * @param start First value
+	 * @param end Last value, inclusive
+	 * @param step Step between the values
+	 * @return Number of values
+	 * @throws SettingExc
+	 */
+	private int countSteps(int start, int end, int step) throws SettingExc {
+		if(step <= 0) {
+			String error_msg = "%s: Step of the range must be positive\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new SettingExc();
+		}
 		
-		return(result);		
-		
+		if(end < start) return(0);
+		return((end - start) / step + 1);
 	}
 	
 	
 	/**
-	 * EA-specific;
+	 * EA-specific; The fast period varies slowest, the window fastest
 	 */
 	@Override
-	public List<Run> getRuns() {
-		List<Run> result = this.runs.stream()
-									.map(x -> (Run) x)
-									.collect(Collectors.toList());
-		return(result);
+	public Run getRun(int run_id) {
+		int[] point = this.toPoint(run_id);
+		
+		return(new EARun(run_id, 
+						 this.total_runs, 
+						 this.fast_start + point[0] * this.fast_step, 
+						 this.slow_start + point[1] * this.slow_step, 
+						 this.win_start + point[2] * this.win_step));
 	}
 	
-
 	
 	@Override
-	public List<LogRow> toLog() {
-		LogRow header = this.runs.get(0).toLogHeader();
-		List<LogRow> result = this.runs.stream()
-										.map(Run::toLogRow)
-										.collect(Collectors.toList());
-		result.add(0, header);
-		
-		return(result);
+	public int[] getRangeSizes() {
+		return(new int[] {this.fast_count, this.slow_count, this.win_count});
 	}
 	
 	
+	@Override
+	public int getTotalRuns() {
+		return(this.total_runs);
+	}
 	
 }
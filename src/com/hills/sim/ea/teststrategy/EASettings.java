@@ -1,13 +1,10 @@
 package com.hills.sim.ea.teststrategy;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.hills.sim.ea.teststrategy.EAConstants;
 import com.hills.sim.ea.teststrategy.EARun;
 import com.hills.sim.exceptions.BigSettingExc;
-import com.hills.sim.logs.LogRow;
 import com.hills.sim.Constants;
 import com.hills.sim.settings.BigSetting;
 import com.hills.sim.settings.Range;
@@ -23,7 +20,11 @@ public class EASettings extends BigSetting
 	 * EA-specific settings; differs from 1 EA to another EA
 	 */
 	private final Range<SVInteger> test_id;
-	private final List<EARun> runs;
+	
+	/**
+	 * Range of the runs; The runs are made on demand by Run ID
+	 */
+	private int test_start, test_step;
 	private int total_runs;
 	
 	@SuppressWarnings("unchecked")
@@ -46,9 +47,9 @@ public class EASettings extends BigSetting
 			throw new BigSettingExc();
 		}
 		
-//		Make List<EARun>
+//		Count the runs of the range
 		try {
-			this.runs = this.makeRuns();
+			this.makeRuns();
 			
 		} catch (EASettingsExc e) {
 			String error_msg = "%s: Error making runs for EASettings\n";
@@ -60,16 +61,15 @@ public class EASettings extends BigSetting
 	
 	/**
 	 * EA-invariant; method is required for all EASettings
+	 * Save the range and count the runs, without making them; 
+	 * Each run is made on demand by getRun
 	 */
-	public List<EARun> makeRuns() throws EASettingsExc {
-		List<EARun> result = new ArrayList<>();
-		
-		int test_start, test_end, test_step;
-		int run_id;
+	public void makeRuns() throws EASettingsExc {
+		int test_end;
 		try {
-			test_start = this.test_id.getStart().getValue();
-			test_end   = this.test_id.getEnd().getValue();
-			test_step  = this.test_id.getStep().getValue();
+			this.test_start = this.test_id.getStart().getValue();
+			test_end        = this.test_id.getEnd().getValue();
+			this.test_step  = this.test_id.getStep().getValue();
 			
 			
 		} catch (Exception e) {
@@ -79,58 +79,51 @@ public class EASettings extends BigSetting
 			throw new EASettingsExc();
 		}
 		
-//		Calculate the number of total runs
-		this.total_runs = 0;
-		for(int i = test_start; i <= test_end; i += test_step) 
-			this.total_runs++;
-		
-		run_id = 0;
-		for(int i = test_start; i <= test_end; i += test_step) {
-			run_id++;
-			result.add(new EARun(run_id, this.total_runs, i));
+		if(this.test_step <= 0) {
+			String error_msg = "%s: Step of the range must be positive\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new EASettingsExc();
 		}
 		
-		return(result);		
-		
+//		Calculate the number of total runs
+		this.total_runs = (test_end < this.test_start) ? 0 
+						: (test_end - this.test_start) / this.test_step + 1;
 	}
 	
 	
-
-	
-	public Range<SVInteger> getTestId() {
-		return test_id;
-	}
-
-
 	/**
 	 * EA-specific;
 	 */
 	@Override
-	public List<Run> getRuns() {
-		List<Run> result = this.runs.stream()
-									.map(x -> (Run) x)
-									.collect(Collectors.toList());
-		return(result);
+	public Run getRun(int run_id) {
+		return(new EARun(run_id, 
+						 this.total_runs, 
+						 this.test_start + (run_id - 1) * this.test_step));
 	}
 	
 	
 	@Override
-	public String toString() {
-		return "EASettings [test_id=" + test_id + "]\n";
+	public int getTotalRuns() {
+		return(this.total_runs);
 	}
-
+	
 	
 	@Override
-	public List<LogRow> toLog() {
-		LogRow header = this.runs.get(0).toLogHeader();
-		List<LogRow> result = this.runs.stream()
-										.map(Run::toLogRow)
-										.collect(Collectors.toList());
-		result.add(0, header);
-		
-		return(result);
+	public int[] getRangeSizes() {
+		return(new int[] {this.total_runs});
 	}
 	
 	
+	public Range<SVInteger> getTestId() {
+		return test_id;
+	}
+
+
+	@Override
+	public String toString() {
+		return "EASettings [test_id=" + test_id + "]\n";
+	}
+
 	
+
 }
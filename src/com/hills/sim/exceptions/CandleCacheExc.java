@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CandleCacheExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3160725948813462094L;
+
+}
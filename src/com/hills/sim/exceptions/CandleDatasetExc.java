@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CandleDatasetExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 4829163571042958317L;
+
+}
@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CandleSourceExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -2749180653317452096L;
+
+}
@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CandleStoreExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2871460325981147703L;
+
+}
@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CompactorCatalogExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -5472093318745502216L;
+
+}
@@ -1,6 +1,6 @@
 package com.hills.sim.exceptions;
 
-public class CompactorExc extends Exception {
+public class CompactorExc extends CandleSourceExc {
 
 	/**
 	 * 
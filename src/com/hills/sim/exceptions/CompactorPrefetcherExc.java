@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class CompactorPrefetcherExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6215538904471832760L;
+
+}
@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class FileCandleSourceExc extends CandleSourceExc {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3390416218570258871L;
+
+}
@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class JournalExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 3816204975531842716L;
+
+}
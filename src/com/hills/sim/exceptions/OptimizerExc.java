@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class OptimizerExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3079240412838764513L;
+
+}
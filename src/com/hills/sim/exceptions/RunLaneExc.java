@@ -0,0 +1,10 @@
+package com.hills.sim.exceptions;
+
+public class RunLaneExc extends Exception {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 4426083519713652760L;
+
+}
@@ -7,6 +7,7 @@ import com.hills.sim.stage.Candle;
 import com.hills.sim.stage.CandlesHistory;
 
 import com.hills.sim.Constants;
+import com.hills.sim.Constants.CandleFieldE;
 
 public class TASma extends Indicator {
 	
@@ -117,15 +118,17 @@ public class TASma extends Indicator {
 			throw new IndicatorExc();
 		}
 		
-		this.bid[0] = this.window.reduceFloat(Candle::getBidO) / divisor;
-		this.bid[1] = this.window.reduceFloat(Candle::getBidH) / divisor;
-		this.bid[2] = this.window.reduceFloat(Candle::getBidL) / divisor;
-		this.bid[3] = this.window.reduceFloat(Candle::getBidC) / divisor;
+//		Summed in double: The last bits of an average may differ from the 
+//		float reduction of before, and with them a crossover on a tie
+		this.bid[0] = this.window.sum(CandleFieldE.BID_O) / divisor;
+		this.bid[1] = this.window.sum(CandleFieldE.BID_H) / divisor;
+		this.bid[2] = this.window.sum(CandleFieldE.BID_L) / divisor;
+		this.bid[3] = this.window.sum(CandleFieldE.BID_C) / divisor;
 		
-		this.ask[0] = this.window.reduceFloat(Candle::getAskO) / divisor;
-		this.ask[1] = this.window.reduceFloat(Candle::getAskH) / divisor;
-		this.ask[2] = this.window.reduceFloat(Candle::getAskL) / divisor;
-		this.ask[3] = this.window.reduceFloat(Candle::getAskC) / divisor;
+		this.ask[0] = this.window.sum(CandleFieldE.ASK_O) / divisor;
+		this.ask[1] = this.window.sum(CandleFieldE.ASK_H) / divisor;
+		this.ask[2] = this.window.sum(CandleFieldE.ASK_L) / divisor;
+		this.ask[3] = this.window.sum(CandleFieldE.ASK_C) / divisor;
 	}
 	
 	
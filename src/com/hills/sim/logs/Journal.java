@@ -0,0 +1,218 @@
+package com.hills.sim.logs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.hills.sim.Constants;
+import com.hills.sim.Constants.LogTypeE;
+import com.hills.sim.exceptions.JournalExc;
+
+/**
+ * Progress journal of the sweep: 1 record per completed run, with its 
+ * score, net profit and report row. Each record is written and forced 
+ * to the disk in 1 write, after the rows of the run are in the logs; 
+ * On resume, the completed runs are skipped, and a partial last record 
+ * is dropped
+ * @author Mark L
+ *
+ */
+public class Journal {
+	
+	private final File file;
+	private final FileChannel channel;
+	private final Map<Integer, float[]> results;
+	
+	/**
+	 * Make Journal
+	 * @param output_dir Output directory of the logs
+	 * @param resume True: Load the completed runs, and append to them; 
+	 * False: Start a new journal
+	 * @throws JournalExc
+	 */
+	public Journal(String output_dir, boolean resume) throws JournalExc {
+		this.results = new HashMap<>();
+		this.file = new File(output_dir + File.separator + 
+							 LogTypeE.JOURNAL.getLogName());
+		
+		try {
+			File dir = new File(output_dir);
+			if(dir.exists() == false) dir.mkdirs();
+			
+			this.channel = FileChannel.open(this.file.toPath(), 
+											StandardOpenOption.CREATE, 
+											StandardOpenOption.READ, 
+											StandardOpenOption.WRITE);
+			
+			long length = resume ? this.load() : 0;
+			this.channel.truncate(length);
+			this.channel.position(length);
+			if(length == 0) this.append(this.makeHeader());
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error opening journal %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), this.file);
+			throw new JournalExc();
+		}
+	}
+	
+	
+	/**
+	 * Make the header: The journal fields, then the report fields
+	 * @return Header
+	 */
+	private Object[] makeHeader() {
+		List<String> result = new ArrayList<>();
+		Collections.addAll(result, LogTypeE.JOURNAL.getHeaders());
+		Collections.addAll(result, Constants.HEADER_REPORT);
+		
+		return(result.toArray());
+	}
+	
+	
+	/**
+	 * Load the complete records of the journal
+	 * @return Length of the complete records, in bytes
+	 * @throws IOException
+	 */
+	private long load() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) this.channel.size());
+		while(buffer.hasRemaining()) 
+			if(this.channel.read(buffer, buffer.position()) < 0) break;
+		
+		String content = new String(buffer.array(), StandardCharsets.UTF_8);
+		int length = content.lastIndexOf('\n') + 1;
+		int fields = Constants.HEADER_JOURNAL.length + 
+					 Constants.HEADER_REPORT.length;
+		
+		try (CSVParser parser = CSVParser.parse(content.substring(0, length), 
+												CSVFormat.DEFAULT)) {
+			for(CSVRecord record: parser) {
+				if(record.getRecordNumber() == 1) continue;
+				if(record.size() != fields) continue;
+				
+				this.results.put(Integer.parseInt(record.get(0)), 
+								 new float[] {Float.parseFloat(record.get(1)), 
+											  Float.parseFloat(record.get(2))});
+			}
+		}
+		
+		return(content.substring(0, length)
+						.getBytes(StandardCharsets.UTF_8).length);
+	}
+	
+	
+	/**
+	 * Save 1 completed run
+	 * @param run_id Run ID
+	 * @param score Score of the run, by the objective of the Optimizer
+	 * @param net_profit Net profit of the run
+	 * @param report Report row of the run
+	 * @throws JournalExc
+	 */
+	public synchronized void put(int run_id, float score, float net_profit, 
+								 LogRow report) throws JournalExc {
+		List<String> values = new ArrayList<>();
+		values.add(Integer.toString(run_id));
+		values.add(Float.toString(score));
+		values.add(Float.toString(net_profit));
+		if(report != null) values.addAll(report.getValue());
+		
+		try {
+			this.append(values.toArray());
+			this.results.put(run_id, new float[] {score, net_profit});
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error journaling run %d\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), run_id);
+			throw new JournalExc();
+		}
+	}
+	
+	
+	/**
+	 * Write 1 record in 1 write, and force it to the disk
+	 * @param values Values of the record
+	 * @throws IOException
+	 */
+	private void append(Object[] values) throws IOException {
+		String record = CSVFormat.DEFAULT.format(values) + 
+						CSVFormat.DEFAULT.getRecordSeparator();
+		ByteBuffer buffer = ByteBuffer.wrap
+								(record.getBytes(StandardCharsets.UTF_8));
+		
+		while(buffer.hasRemaining()) this.channel.write(buffer);
+		this.channel.force(false);
+	}
+	
+	
+	/**
+	 * Close the journal
+	 */
+	public void close() {
+		try {
+			this.channel.close();
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error closing journal\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			e.printStackTrace();
+		}
+	}
+	
+	
+	/**
+	 * Has the run been completed, in this or a previous sweep?
+	 * @param run_id Run ID
+	 * @return True: Completed
+	 */
+	public synchronized boolean isDone(int run_id) {
+		return(this.results.containsKey(run_id));
+	}
+	
+	
+	/**
+	 * Has no run been completed yet?
+	 * @return True: No completed run, e.g. a fresh journal
+	 */
+	public synchronized boolean isEmpty() {
+		return(this.results.isEmpty());
+	}
+	
+	
+	/**
+	 * Get the score and net profit of a completed run
+	 * @param run_id Run ID
+	 * @return {Score, Net profit}
+	 */
+	public synchronized float[] getResult(int run_id) {
+		return(this.results.get(run_id));
+	}
+	
+	
+	/**
+	 * Get the IDs of the completed runs
+	 * @return Run IDs
+	 */
+	public synchronized Set<Integer> getRunIds() {
+		return(Collections.unmodifiableSet
+						(new HashSet<>(this.results.keySet())));
+	}
+	
+}
@@ -1,13 +1,19 @@
 package com.hills.sim.logs;
 
 import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
 
 import com.hills.sim.Constants.LogTypeE;
 import com.hills.sim.exceptions.LogExc;
@@ -24,6 +30,8 @@ public class Log implements RunHandler {
 	private final String output_dir;
 	private final boolean write_once;
 	private boolean wrote_once;
+	private long rows;
+	private long last_id;
 
 	/**
 	 * Members relating to working of the logs
@@ -31,15 +39,33 @@ public class Log implements RunHandler {
 	private CSVPrinter output_file;
 	
 	public Log(String output_dir, LogTypeE log_type) throws LogExc {
+		this(output_dir, log_type, null);
+	}
+	
+	
+	/**
+	 * Make Log; When resuming, the log file of the previous sweep is kept, 
+	 * with only the rows of the completed runs, and appended to
+	 * @param output_dir Output directory
+	 * @param log_type Log type
+	 * @param run_ids Run IDs of the completed runs, or null for a new file
+	 * @throws LogExc
+	 */
+	public Log(String output_dir, LogTypeE log_type, Set<Integer> run_ids) 
+			throws LogExc {
 		this.log_type = log_type;
 		this.output_dir = output_dir;
 		this.write_once = (this.isTypeRuns() || this.isTypeCandles())
 						 ? true : false;
 		this.wrote_once = false;
+		this.rows = 0;
+		this.last_id = 0;
 		
 		
 //		Open the output file and write the headers, if they are available
 		try {
+			if(run_ids != null && this.resumeOutputFile(run_ids)) return;
+			
 			this.output_file = this.setOutputFile();
 			
 			String[] headers = this.log_type.getHeaders();
@@ -100,6 +126,79 @@ public class Log implements RunHandler {
 		}
 	}
 	
+	/**
+	 * Start the log file over, with the headers; i.e. a log file that
+	 * was resumed, but is incomplete
+	 * @throws IOException
+	 */
+	public void clear() throws IOException {
+		this.output_file.close();
+		this.output_file = this.setOutputFile();
+		this.rows = 0;
+		this.last_id = 0;
+		
+		String[] headers = this.log_type.getHeaders();
+		if(headers != null) this.write(new LogRow(headers));
+	}
+	
+	
+	/**
+	 * Keep the rows of the completed runs in the log file, then open it 
+	 * to append; Logs without the Run ID keep every row. The file is 
+	 * replaced in 1 move
+	 * @param run_ids Run IDs of the completed runs
+	 * @return False: No log file to resume
+	 * @throws IOException
+	 */
+	private boolean resumeOutputFile(Set<Integer> run_ids) throws IOException {
+		File output_fname = new File(this.output_dir + File.separator + 
+									 this.log_type.getLogName());
+		if(output_fname.exists() == false) return(false);
+		
+		File temp_fname = new File(output_fname.getPath() + ".tmp");
+		String run_header = "RUN_ID";
+		
+		try (CSVParser parser = new CSVParser(new FileReader(output_fname), 
+											  CSVFormat.DEFAULT);
+			 CSVPrinter printer = new CSVPrinter(new FileWriter(temp_fname), 
+												 CSVFormat.DEFAULT)) {
+			boolean by_run = false;
+			
+			for(CSVRecord record: parser) {
+				String last = record.get(record.size() - 1);
+				
+//				Headers; The logs of the strategies repeat them
+				if(record.getRecordNumber() == 1 || last.equals(run_header)) {
+					by_run = by_run || last.equals(run_header);
+					printer.printRecord(record);
+					continue;
+				}
+				
+				if(by_run && !run_ids.contains(Integer.parseInt(last))) 
+					continue;
+				
+				printer.printRecord(record);
+				this.rows++;
+				this.last_id = Math.max(this.last_id, 
+										Long.parseLong(record.get(0)));
+			}
+			
+		} catch (NumberFormatException e) {
+			String error_msg = "%s: Error reading row or Run ID to resume\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new IOException(e);
+		}
+		
+		Files.move(temp_fname.toPath(), output_fname.toPath(), 
+				   StandardCopyOption.REPLACE_EXISTING, 
+				   StandardCopyOption.ATOMIC_MOVE);
+		
+		this.output_file = new CSVPrinter(new FileWriter(output_fname, true), 
+										  CSVFormat.DEFAULT);
+		return(true);
+	}
+	
+	
 	/**
 	 * For a given run, create the CSVPrinter to log the record
 	 * @return csv_printer the csv printer
@@ -202,7 +301,11 @@ public class Log implements RunHandler {
 			throw new IOException();
 		}
 		
-		this.write(run_settings.toLog());
+//		Write the runs 1 by 1, as they are made
+		if(run_settings.getTotalRuns() > 0) 
+			this.write(run_settings.getRun(1).toLogHeader());
+		for(int id = 1; id <= run_settings.getTotalRuns(); id++) 
+			this.write(run_settings.getRun(id).toLogRow());
 		this.wrote_once = true;
 		
 		this.output_file.flush();
@@ -238,6 +341,24 @@ public class Log implements RunHandler {
 	}
 	
 	
+	/**
+	 * Get the number of rows kept, when the log file was resumed
+	 * @return Number of rows, without the headers
+	 */
+	public long getRows() {
+		return(this.rows);
+	}
+	
+	
+	/**
+	 * Get the last row ID kept, when the log file was resumed
+	 * @return Row ID; 0 without rows
+	 */
+	public long getLastId() {
+		return(this.last_id);
+	}
+	
+	
 	/**
 	 * Can the log file be written once?
 	 * @return write_once Boolean
@@ -2,6 +2,8 @@ package com.hills.sim.logs;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 import com.hills.sim.Constants.LogTypeE;
 import com.hills.sim.exceptions.LogBookExc;
@@ -22,10 +24,23 @@ public class LogBook implements RunHandler {
 	private final Log accounts_log;
 	private final Log orders_log;
 	private final Log reports_log;
+	private Log walkforward_log;
+	private Log indicators_log;
+	private final Set<Integer> run_ids;
+	
+//	Row IDs of the logs, when the runs are in parallel
+	private long account_row_id;
+	private long order_row_id;
+	private long report_row_id;
 	
 	
 	public LogBook(SESettings se_settings) throws LogBookExc {
 		this.wrote_candleslog = false;
+		this.account_row_id = 1;
+		this.order_row_id = 1;
+		this.report_row_id = 1;
+		this.walkforward_log = null;
+		this.indicators_log = null;
 		
 		this.se_settings = se_settings;
 		this.output_dir =  
@@ -42,13 +57,21 @@ public class LogBook implements RunHandler {
 			throw new LogBookExc();
 		}
 		
-//		Make the logs
+//		Make the logs; When resuming, keep the rows of the completed runs
+		Set<Integer> run_ids = this.se_settings.isResume() 
+							 ? this.se_settings.getJournal().getRunIds() 
+							 : null;
+		this.run_ids = run_ids;
 		try {
 			this.runs_log = new Log(this.output_dir, LogTypeE.RUNS);
-			this.candles_log = new Log(this.output_dir, LogTypeE.CANDLES);
-			this.accounts_log = new Log(this.output_dir, LogTypeE.ACCOUNT);
-			this.orders_log = new Log(this.output_dir, LogTypeE.ORDERS);
-			this.reports_log = new Log(this.output_dir, LogTypeE.REPORTS);
+			this.candles_log = new Log(this.output_dir, LogTypeE.CANDLES, 
+									   run_ids);
+			this.accounts_log = new Log(this.output_dir, LogTypeE.ACCOUNT, 
+										run_ids);
+			this.orders_log = new Log(this.output_dir, LogTypeE.ORDERS, 
+									  run_ids);
+			this.reports_log = new Log(this.output_dir, LogTypeE.REPORTS, 
+									   run_ids);
 			
 		} catch (LogExc e) {
 			String error_msg = "%s: Error creating new log file(s)\n";
@@ -56,7 +79,11 @@ public class LogBook implements RunHandler {
 			e.printStackTrace();
 			throw new LogBookExc();
 		}
-
+		
+//		Continue the row IDs of the resumed logs
+		this.account_row_id += this.accounts_log.getLastId();
+		this.order_row_id += this.orders_log.getLastId();
+		this.report_row_id += this.reports_log.getLastId();
 	}
 	
 	/**
@@ -85,6 +112,8 @@ public class LogBook implements RunHandler {
 		this.accounts_log.close();
 		this.orders_log.close();
 		this.reports_log.close();
+		if(this.walkforward_log != null) this.walkforward_log.close();
+		if(this.indicators_log != null) this.indicators_log.close();
 	}
 	
 	
@@ -118,6 +147,7 @@ public class LogBook implements RunHandler {
 				this.candles_log.write(logrowsbag.getCandle());
 			}
 			
+			this.renumber(logrowsbag);
 			this.accounts_log.write(logrowsbag.getAccount());
 			this.orders_log.write(logrowsbag.getOrders());
 			this.reports_log.write(logrowsbag.getReport());
@@ -130,6 +160,124 @@ public class LogBook implements RunHandler {
 	}
 	
 	
+	/**
+	 * Write a batch of LogRowsBags of 1 run, while holding the LogBook, 
+	 * so that runs in parallel write their rows batch by batch. 
+	 * The rows are renumbered, as the IDs of each Stage would repeat. 
+	 * Only the run that writes the Candles Log passes write_candles
+	 * @param batch LogRowsBags of the run
+	 * @param total Number of LogRowsBags in the batch
+	 * @param write_candles True: Write the candle rows too
+	 * @throws IOException
+	 */
+	public synchronized void write(LogRowsBag[] batch, int total, 
+								   boolean write_candles) throws IOException {
+		try {
+			for(int i = 0; i < total; i++) {
+				LogRowsBag logrowsbag = batch[i];
+				if(write_candles) 
+					this.candles_log.write(logrowsbag.getCandle());
+				
+				this.renumber(logrowsbag);
+				this.accounts_log.write(logrowsbag.getAccount());
+				this.orders_log.write(logrowsbag.getOrders());
+				this.reports_log.write(logrowsbag.getReport());
+			}
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error writing LogRowBag batch.\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new IOException();
+		}
+	}
+	
+	
+	/**
+	 * Renumber the rows of the LogRowsBag, after the rows written; 
+	 * The IDs of each Stage would repeat, in parallel or once resumed
+	 * @param logrowsbag LogRowsBag
+	 */
+	private void renumber(LogRowsBag logrowsbag) {
+		if(logrowsbag.getAccount() != null) 
+			logrowsbag.getAccount().setFirst
+						(Long.toString(this.account_row_id++));
+		if(logrowsbag.getOrders() != null) 
+			for(LogRow row: logrowsbag.getOrders()) 
+				row.setFirst(Long.toString(this.order_row_id++));
+		if(logrowsbag.getReport() != null) 
+			logrowsbag.getReport().setFirst
+						(Long.toString(this.report_row_id++));
+	}
+	
+	
+	/**
+	 * Keep the resumed Candles Log when complete, else start it over
+	 * @param total_candles Total number of candles of the period
+	 * @return True: Complete, the Candles Log is not written again
+	 */
+	public boolean resumeCandlesLog(int total_candles) {
+		if(this.candles_log.getRows() == total_candles) {
+			this.candles_log.setWroteOnce();
+			this.wrote_candleslog = true;
+			return(true);
+		}
+		
+		try {
+			this.candles_log.clear();
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error starting Candles log over.\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+		}
+		return(false);
+	}
+	
+	
+	/**
+	 * Write the Walk Forward Log; The log is only made in the 
+	 * walk-forward mode
+	 * @param rows LogRows of the windows
+	 */
+	public synchronized void writeWalkForwardLog(List<LogRow> rows) {
+		try {
+			if(this.walkforward_log == null) 
+				this.walkforward_log = new Log(this.output_dir, 
+											   LogTypeE.WALKFORWARD);
+			for(LogRow row: rows) this.walkforward_log.write(row);
+			
+		} catch (LogExc | IOException e) {
+			String error_msg = "%s: Error writing Walk Forward log.\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+		}
+	}
+	
+	
+	/**
+	 * Write 1 row to the Indicators Log of the Strategy; The log is 
+	 * shared by the Strategy of every lane, and only made when written
+	 * @param row LogRow
+	 * @throws LogBookExc
+	 */
+	public synchronized void writeIndicatorsLog(LogRow row) 
+			throws LogBookExc {
+		try {
+			if(this.indicators_log == null) 
+				this.indicators_log = new Log(this.output_dir, 
+											  LogTypeE.INDICATORS, 
+											  this.run_ids);
+			this.indicators_log.write(row);
+			
+		} catch (LogExc | IOException e) {
+			String error_msg = "%s: Error writing Indicators log.\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new LogBookExc();
+		}
+	}
+	
+	
 	/**
 	 * Write the Runs Log
 	 * @param run_settings Run Settings
@@ -47,6 +47,17 @@ public class LogRow {
 	}
 
 	
+	/**
+	 * Performs in-place replacement of the first col (i.e. the row ID)
+	 * @param col String value
+	 */
+	public void setFirst(String col) {
+		if(col == null) return;
+		if(this.value.size() == 0) return;
+		this.value.set(0, col);
+	}
+	
+	
 	/**
 	 * Performs in-place append of the argument col, a single String
 	 * @param col String value
@@ -44,6 +44,8 @@ public interface Loggable {
 	/**
 	 * For Run-settings only
 	 * Get the log-equivalent of the Run-settings.
+	 * Not implemented: The runs are written 1 by 1 by Log.writeRunsLog, 
+	 * never collected in a list
 	 * @return log_records includes log headers and rows
 	 */
 	default public List<LogRow> toLog() {
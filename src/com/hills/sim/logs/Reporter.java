@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 
 import com.hills.sim.Constants;
+import com.hills.sim.Constants.ObjectiveE;
+import com.hills.sim.Constants.PruneE;
 import com.hills.sim.settings.Run;
 import com.hills.sim.worker.RunHandler;
 
@@ -40,6 +42,7 @@ public class Reporter implements RunHandler, Loggable {
 	private float avg_bars_win;
 	private float avg_bars_loss;
 	private float max_drawdown;
+	private PruneE pruned;
 	
 	
 	/**
@@ -82,6 +85,7 @@ public class Reporter implements RunHandler, Loggable {
 		this.avg_bars_win = 0;
 		this.avg_bars_loss = 0;
 		this.max_drawdown = 0;
+		this.pruned = null;
 		
 		this.total_bars_all = 0;
 		this.total_bars_win = 0;
@@ -125,6 +129,7 @@ public class Reporter implements RunHandler, Loggable {
 		this.avg_bars_win = 0;	 
 		this.avg_bars_loss = 0;	 
 		this.max_drawdown = 0;	 
+		this.pruned = null;
 		
 		this.total_bars_all = 0;   
 		this.total_bars_win = 0;   
@@ -342,6 +347,43 @@ public class Reporter implements RunHandler, Loggable {
 	}
 	
 	
+	/**
+	 * Get the score of the run, by the Reporter metric of the objective
+	 * @param objective Metric that the runs are ranked by
+	 * @return Score; The higher, the better
+	 */
+	public float getScore(ObjectiveE objective) {
+		this.calculateReport();
+		
+		switch(objective) {
+		case PROFIT_FACTOR:
+			return(objective.toScore(this.profit_factor));
+		case MAX_DRAWDOWN:
+			return(objective.toScore(this.max_drawdown));
+		default:
+			return(objective.toScore(this.total_net_profit));
+		}
+	}
+	
+	
+	/**
+	 * Get the number of closed trades of the run so far
+	 * @return Total trades
+	 */
+	public int getTotalTrades() {
+		return(this.total_trades);
+	}
+	
+	
+	/**
+	 * Mark the run as stopped early by the Pruner
+	 * @param pruned Rule that pruned the run
+	 */
+	public void setPruned(PruneE pruned) {
+		this.pruned = pruned;
+	}
+	
+	
 	/**
 	 * to LogRow
 	 */
@@ -370,6 +412,7 @@ public class Reporter implements RunHandler, Loggable {
 		String avg_bars_win = String.format("%.2f", this.avg_bars_win);
 		String avg_bars_loss = String.format("%.2f", this.avg_bars_loss);
 		String max_drawdown = String.format("%.2f", this.max_drawdown);
+		String pruned = this.pruned != null ? this.pruned.name() : "";
 		String run_id = String.format("%d", this.run.getId());
 		
 		String[] values = new String[] {
@@ -394,6 +437,7 @@ public class Reporter implements RunHandler, Loggable {
 								avg_bars_win,
 								avg_bars_loss,
 								max_drawdown,
+								pruned,
 								run_id
 							};
 		
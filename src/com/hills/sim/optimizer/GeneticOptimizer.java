@@ -0,0 +1,148 @@
+package com.hills.sim.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.settings.OptimizerSettings;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.RunSettings;
+
+/**
+ * Genetic algorithm over the points of the EA ranges: each generation 
+ * is performed together, the parents are selected by tournament, 
+ * crossed uniformly and mutated; The best member survives
+ * @author Mark L
+ *
+ */
+public class GeneticOptimizer extends Optimizer {
+	
+	private final Random random;
+	
+	/**
+	 * Make GeneticOptimizer
+	 * @param opt_settings Optimizer settings
+	 * @param run_settings EA settings, making the runs
+	 * @param evaluator RunEvaluator performing the runs
+	 */
+	public GeneticOptimizer(OptimizerSettings opt_settings, 
+							RunSettings run_settings, 
+							RunEvaluator evaluator) {
+		super(opt_settings, run_settings, evaluator);
+		this.random = new Random(opt_settings.getSeed());
+	}
+	
+	
+	@Override
+	public Run optimize() throws OptimizerExc {
+		int population = Math.max(2, this.opt_settings.getPopulation());
+		int generations = Math.max(1, this.opt_settings.getGenerations());
+		
+		List<int[]> members = new ArrayList<>();
+		for(int i = 0; i < population; i++) members.add(this.makePoint());
+		
+		for(int generation = 1; generation <= generations; generation++) {
+			float[] fitness = this.evaluate(members);
+			System.out.printf("\nGeneration %d of %d: best score %.2f, %d runs\n", 
+							  generation, generations, 
+							  this.getBestScore(), this.getEvaluations());
+			
+			if(generation < generations) 
+				members = this.breed(members, fitness);
+		}
+		
+		return(this.getBestRun());
+	}
+	
+	
+	/**
+	 * Make the next generation, of the same size
+	 * @param members Members of the generation
+	 * @param fitness Score of each member
+	 * @return Members of the next generation
+	 */
+	private List<int[]> breed(List<int[]> members, float[] fitness) {
+		List<int[]> result = new ArrayList<>();
+		float crossover = this.opt_settings.getCrossover();
+		
+//		The best member survives unchanged
+		int best = 0;
+		for(int i = 1; i < fitness.length; i++) 
+			if(fitness[i] > fitness[best]) best = i;
+		result.add(members.get(best).clone());
+		
+		while(result.size() < members.size()) {
+			int[] father = this.select(members, fitness);
+			int[] mother = this.select(members, fitness);
+			
+			int[] child = (this.random.nextFloat() < crossover) 
+						? this.crossover(father, mother) : father.clone();
+			this.mutate(child);
+			result.add(child);
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Select a parent by tournament: the best of a few random members
+	 * @param members Members of the generation
+	 * @param fitness Score of each member
+	 * @return Parent
+	 */
+	private int[] select(List<int[]> members, float[] fitness) {
+		int tournament = Math.max(1, this.opt_settings.getTournament());
+		
+		int result = this.random.nextInt(members.size());
+		for(int i = 1; i < tournament; i++) {
+			int rival = this.random.nextInt(members.size());
+			if(fitness[rival] > fitness[result]) result = rival;
+		}
+		
+		return(members.get(result));
+	}
+	
+	
+	/**
+	 * Uniform crossover: each EA setting is taken from either parent
+	 * @param father Parent
+	 * @param mother Parent
+	 * @return Child
+	 */
+	private int[] crossover(int[] father, int[] mother) {
+		int[] result = new int[father.length];
+		for(int i = 0; i < result.length; i++) 
+			result[i] = this.random.nextBoolean() ? father[i] : mother[i];
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Mutate each EA setting by the mutation rate, to any value of its range
+	 * @param point Point of the EA ranges, mutated in-place
+	 */
+	private void mutate(int[] point) {
+		float mutation = this.opt_settings.getMutation();
+		
+		for(int i = 0; i < point.length; i++) 
+			if(this.random.nextFloat() < mutation) 
+				point[i] = this.random.nextInt(this.range_sizes[i]);
+	}
+	
+	
+	/**
+	 * Make a random point of the EA ranges
+	 * @return Point
+	 */
+	private int[] makePoint() {
+		int[] result = new int[this.range_sizes.length];
+		for(int i = 0; i < result.length; i++) 
+			result[i] = this.random.nextInt(this.range_sizes[i]);
+		
+		return(result);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.hills.sim.optimizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.settings.OptimizerSettings;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.RunSettings;
+
+/**
+ * Successive halving over growing slices of the period: every run is 
+ * performed over the first, shortest slice; The best runs, 1 in the 
+ * halving rate, survive to a slice as many times longer, until the 
+ * last slice is the whole period
+ * @author Mark L
+ *
+ */
+public class HalvingOptimizer extends Optimizer {
+	
+	/**
+	 * Make HalvingOptimizer
+	 * @param opt_settings Optimizer settings
+	 * @param run_settings EA settings, making the runs
+	 * @param evaluator RunEvaluator performing the runs
+	 */
+	public HalvingOptimizer(OptimizerSettings opt_settings, 
+							RunSettings run_settings, 
+							RunEvaluator evaluator) {
+		super(opt_settings, run_settings, evaluator);
+	}
+	
+	
+	@Override
+	public Run optimize() throws OptimizerExc {
+		int rate = Math.max(2, this.opt_settings.getHalvingRate());
+		int rungs = Math.max(1, this.opt_settings.getHalvingRungs());
+		int total_candles = this.getTotalCandles();
+		
+		List<int[]> survivors = new ArrayList<>();
+		for(int run_id = 1; run_id <= this.run_settings.getTotalRuns(); run_id++) 
+			survivors.add(this.run_settings.toPoint(run_id));
+		
+		for(int rung = 1; rung <= rungs; rung++) {
+			
+//			Slice of the rung; The last slice is the whole period
+			int candles = (int) Math.max(1, total_candles / 
+									Math.pow(rate, rungs - rung));
+			float[] scores = this.evaluate(survivors, candles);
+			System.out.printf("\nSlice %d of %d, %d candles: best score %.2f, %d runs\n", 
+							  rung, rungs, candles, 
+							  this.getBestScore(), survivors.size());
+			
+			if(rung == rungs) break;
+			
+//			Keep the best runs; Tied runs keep their order
+			List<Integer> ranks = new ArrayList<>();
+			for(int i = 0; i < survivors.size(); i++) ranks.add(i);
+			ranks.sort(Comparator.comparing((Integer i) -> -scores[i]));
+			
+			int keep = Math.max(1, (survivors.size() + rate - 1) / rate);
+			List<int[]> result = new ArrayList<>();
+			for(int i = 0; i < keep; i++) result.add(survivors.get(ranks.get(i)));
+			survivors = result;
+		}
+		
+		return(this.getBestRun());
+	}
+
+}
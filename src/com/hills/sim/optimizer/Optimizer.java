@@ -0,0 +1,202 @@
+package com.hills.sim.optimizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.settings.OptimizerSettings;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.RunSettings;
+
+/**
+ * Searches the points of the EA ranges for the best run, by the 
+ * objective; Each run is performed once, and its score is kept
+ * @author Mark L
+ *
+ */
+public abstract class Optimizer {
+	
+	protected final OptimizerSettings opt_settings;
+	protected final RunSettings run_settings;
+	protected final int[] range_sizes;
+	
+	private final RunEvaluator evaluator;
+	private final Map<Integer, Float> scores;
+	private int candles;
+	
+	private int best_id;
+	private float best_score;
+	
+	/**
+	 * Make Optimizer
+	 * @param opt_settings Optimizer settings
+	 * @param run_settings EA settings, making the runs
+	 * @param evaluator RunEvaluator performing the runs
+	 */
+	public Optimizer(OptimizerSettings opt_settings, 
+					 RunSettings run_settings, 
+					 RunEvaluator evaluator) {
+		this.opt_settings = opt_settings;
+		this.run_settings = run_settings;
+		this.range_sizes = run_settings.getRangeSizes();
+		this.evaluator = evaluator;
+		this.scores = new HashMap<>();
+		this.candles = evaluator.getTotalCandles();
+		
+		this.best_id = 0;
+		this.best_score = Float.NEGATIVE_INFINITY;
+	}
+	
+	
+	/**
+	 * Search the EA ranges
+	 * @return Best run found
+	 * @throws OptimizerExc
+	 */
+	public abstract Run optimize() throws OptimizerExc;
+	
+	
+	/**
+	 * Score the points of the EA ranges, over the whole period
+	 * @param points Points of the EA ranges
+	 * @return Score of each point, in the order of the points
+	 * @throws OptimizerExc
+	 */
+	protected float[] evaluate(List<int[]> points) throws OptimizerExc {
+		return(this.evaluate(points, this.getTotalCandles()));
+	}
+	
+	
+	/**
+	 * Score the points of the EA ranges, over the first candles of the 
+	 * period; Only the points not yet scored are performed, together. 
+	 * The scores, and the best run, are kept for 1 number of candles
+	 * @param points Points of the EA ranges
+	 * @param candles Number of candles from the start of the period
+	 * @return Score of each point, in the order of the points
+	 * @throws OptimizerExc
+	 */
+	protected float[] evaluate(List<int[]> points, int candles) 
+			throws OptimizerExc {
+		if(candles != this.candles) {
+			this.scores.clear();
+			this.best_id = 0;
+			this.best_score = Float.NEGATIVE_INFINITY;
+			this.candles = candles;
+		}
+		
+//		Make the runs of the new points, once each
+		Set<Integer> new_ids = new LinkedHashSet<>();
+		for(int[] point: points) {
+			int run_id = this.run_settings.toRunId(point);
+			if(!this.scores.containsKey(run_id)) new_ids.add(run_id);
+		}
+		
+		List<Run> runs = new ArrayList<>();
+		for(int run_id: new_ids) runs.add(this.run_settings.getRun(run_id));
+		
+		if(runs.size() > 0) {
+			try {
+				float[] result = this.evaluator.evaluate(runs, candles);
+				for(int i = 0; i < runs.size(); i++) 
+					this.putScore(runs.get(i).getId(), result[i]);
+				
+			} catch (Exception e) {
+				String error_msg = "%s: Error evaluating %d runs\n";
+				e.printStackTrace();
+				System.err.printf(error_msg, this.getClass().getName(), 
+								  runs.size());
+				throw new OptimizerExc();
+			}
+		}
+		
+		float[] result = new float[points.size()];
+		for(int i = 0; i < points.size(); i++) 
+			result[i] = this.scores.get(this.run_settings.toRunId(points.get(i)));
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Perform the runs of the slices together, saving the results into 
+	 * the slices; The scores of the slices are not kept
+	 * @param slices Slices of the period, with their runs
+	 * @throws OptimizerExc
+	 */
+	protected void evaluateSlices(List<Slice> slices) throws OptimizerExc {
+		try {
+			this.evaluator.evaluate(slices);
+			
+		} catch (Exception e) {
+			String error_msg = "%s: Error evaluating %d slices\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), 
+							  slices.size());
+			throw new OptimizerExc();
+		}
+	}
+	
+	
+	/**
+	 * Get the best points scored so far
+	 * @param count Number of points at most
+	 * @return Points, from the best score
+	 */
+	protected List<int[]> getBestPoints(int count) {
+		List<int[]> result = new ArrayList<>();
+		
+		this.scores.entrySet().stream()
+			.sorted((a, b) -> (a.getValue().equals(b.getValue())) 
+						? Integer.compare(a.getKey(), b.getKey())
+						: Float.compare(b.getValue(), a.getValue()))
+			.limit(count)
+			.forEach(x -> result.add(this.run_settings.toPoint(x.getKey())));
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Save the score of a run, and keep the best run
+	 * @param run_id Run ID
+	 * @param score Score of the run
+	 */
+	private void putScore(int run_id, float score) {
+		this.scores.put(run_id, score);
+		
+		if(score > this.best_score || 
+		   (score == this.best_score && run_id < this.best_id)) {
+			this.best_id = run_id;
+			this.best_score = score;
+		}
+	}
+	
+	
+	/**
+	 * Getters
+	 * @return
+	 */
+	
+	public Run getBestRun() {
+		if(this.best_id == 0) return(null);
+		return(this.run_settings.getRun(this.best_id));
+	}
+	
+	public float getBestScore() {
+		return(this.best_score);
+	}
+	
+	public int getEvaluations() {
+		return(this.scores.size());
+	}
+	
+	public int getTotalCandles() {
+		return(this.evaluator.getTotalCandles());
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.hills.sim.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.settings.OptimizerSettings;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.RunSettings;
+
+/**
+ * Coarse-to-fine refinement over the points of the EA ranges: a coarse 
+ * grid is performed first, then the neighbours of the best runs, with 
+ * the stride halved every time, down to the step of the ranges; 
+ * At the step, the refinement goes on while the best run improves
+ * @author Mark L
+ *
+ */
+public class RefineOptimizer extends Optimizer {
+	
+	/**
+	 * Make RefineOptimizer
+	 * @param opt_settings Optimizer settings
+	 * @param run_settings EA settings, making the runs
+	 * @param evaluator RunEvaluator performing the runs
+	 */
+	public RefineOptimizer(OptimizerSettings opt_settings, 
+						   RunSettings run_settings, 
+						   RunEvaluator evaluator) {
+		super(opt_settings, run_settings, evaluator);
+	}
+	
+	
+	@Override
+	public Run optimize() throws OptimizerExc {
+		int stride = Math.max(1, this.opt_settings.getCoarseStride());
+		int top_k = Math.max(1, this.opt_settings.getTopK());
+		
+//		Coarse grid: every stride of each range, and its last value
+		int[][] values = new int[this.range_sizes.length][];
+		for(int i = 0; i < values.length; i++) {
+			int size = this.range_sizes[i];
+			int count = (size - 1) / stride + 1;
+			boolean has_last = (size - 1) % stride != 0;
+			
+			values[i] = new int[has_last ? count + 1 : count];
+			for(int j = 0; j < count; j++) values[i][j] = j * stride;
+			if(has_last) values[i][count] = size - 1;
+		}
+		
+		List<int[]> points = new ArrayList<>();
+		this.addPoints(points, values, new int[values.length], 0);
+		this.evaluate(points);
+		this.printProgress(stride);
+		
+//		Refine around the best runs, halving the stride down to 1 step; 
+//		Then go on while the best run improves. Without a scored run, 
+//		e.g. every run pruned, there is nothing to refine around
+		while(true) {
+			Run best = this.getBestRun();
+			if(best == null) break;
+			
+			int best_id = best.getId();
+			stride = Math.max(1, stride / 2);
+			
+			points = new ArrayList<>();
+			for(int[] point: this.getBestPoints(top_k)) 
+				this.addNeighbours(points, point, stride);
+			this.evaluate(points);
+			this.printProgress(stride);
+			
+			if(stride == 1 && this.getBestRun().getId() == best_id) break;
+		}
+		
+		return(this.getBestRun());
+	}
+	
+	
+	/**
+	 * Add the neighbours of a point, at the stride, and the point itself
+	 * @param result Points to add to
+	 * @param point Point of the EA ranges
+	 * @param stride Steps to the neighbours, in each range
+	 */
+	private void addNeighbours(List<int[]> result, int[] point, int stride) {
+		int[][] values = new int[point.length][];
+		
+		for(int i = 0; i < point.length; i++) {
+			int lower = point[i] - stride;
+			int upper = point[i] + stride;
+			boolean has_lower = lower >= 0;
+			boolean has_upper = upper < this.range_sizes[i];
+			
+			values[i] = new int[1 + (has_lower ? 1 : 0) + (has_upper ? 1 : 0)];
+			int j = 0;
+			if(has_lower) values[i][j++] = lower;
+			values[i][j++] = point[i];
+			if(has_upper) values[i][j++] = upper;
+		}
+		
+		this.addPoints(result, values, new int[point.length], 0);
+	}
+	
+	
+	/**
+	 * Add every combination of the values of the ranges
+	 * @param result Points to add to
+	 * @param values Values of each range
+	 * @param point Point being made
+	 * @param range Range being set
+	 */
+	private void addPoints(List<int[]> result, int[][] values, 
+						   int[] point, int range) {
+		if(range == values.length) {
+			result.add(point.clone());
+			return;
+		}
+		
+		for(int value: values[range]) {
+			point[range] = value;
+			this.addPoints(result, values, point, range + 1);
+		}
+	}
+	
+	
+	/**
+	 * Print the progress of the refinement
+	 * @param stride Current stride
+	 */
+	private void printProgress(int stride) {
+		System.out.printf("\nStride %d: best score %.2f, %d runs\n", 
+						  stride, this.getBestScore(), this.getEvaluations());
+	}
+
+}
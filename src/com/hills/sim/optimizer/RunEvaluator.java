@@ -0,0 +1,48 @@
+package com.hills.sim.optimizer;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.hills.sim.settings.Run;
+
+/**
+ * Performs runs for the Optimizer, and scores them (i.e. Worker)
+ * @author Mark L
+ *
+ */
+public interface RunEvaluator {
+	
+	/**
+	 * Perform the runs over the first candles of the period, in parallel 
+	 * when possible, and score each run by the objective of the Optimizer
+	 * @param runs Runs to perform
+	 * @param candles Number of candles from the start of the period
+	 * @return Score of each run, in the order of the runs; The higher, 
+	 * the better
+	 * @throws Exception
+	 */
+	default public float[] evaluate(List<Run> runs, int candles) 
+			throws Exception {
+		Slice slice = new Slice(runs, 0, candles);
+		this.evaluate(Collections.singletonList(slice));
+		
+		return(slice.getScores());
+	}
+	
+	
+	/**
+	 * Perform the runs of every slice together, in parallel when possible, 
+	 * saving the results into the slices
+	 * @param slices Slices of the period, with their runs
+	 * @throws Exception
+	 */
+	public void evaluate(List<Slice> slices) throws Exception;
+	
+	
+	/**
+	 * Get the total number of candles of the period
+	 * @return Total number of candles
+	 */
+	public int getTotalCandles();
+
+}
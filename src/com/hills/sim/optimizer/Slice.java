@@ -0,0 +1,238 @@
+package com.hills.sim.optimizer;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.hills.sim.settings.Run;
+
+/**
+ * Runs to perform over a slice of the period, and their results;
+ * The slices are performed in passes, which share the results; 
+ * A slice kept without results only performs its runs
+ * @author Mark L
+ *
+ */
+public class Slice {
+
+	private final List<Run> runs;
+	private final int from;
+	private final int candles;
+
+	private final float[] scores;
+	private final float[] net_profits;
+	private final LocalDateTime[] times;
+	private final int[] indexes;
+	private final int offset;
+
+	/**
+	 * Make Slice, keeping the results of its runs
+	 * @param runs Runs to perform
+	 * @param from Number of candles skipped from the start of the period
+	 * @param candles Number of candles of the slice
+	 */
+	public Slice(List<Run> runs, int from, int candles) {
+		this(runs, from, candles, true);
+	}
+
+
+	/**
+	 * Make Slice
+	 * @param runs Runs to perform
+	 * @param from Number of candles skipped from the start of the period
+	 * @param candles Number of candles of the slice
+	 * @param scored True: Keep the results of the runs; False: The runs 
+	 * are only performed, e.g. for a grid sweep
+	 */
+	public Slice(List<Run> runs, int from, int candles, boolean scored) {
+		this(runs, from, candles,
+			 scored ? new float[runs.size()] : null, 
+			 scored ? new float[runs.size()] : null,
+			 new LocalDateTime[2], null, 0);
+	}
+
+
+	private Slice(List<Run> runs, int from, int candles,
+				  float[] scores, float[] net_profits,
+				  LocalDateTime[] times, int[] indexes, int offset) {
+		this.runs = runs;
+		this.from = from;
+		this.candles = candles;
+		this.scores = scores;
+		this.net_profits = net_profits;
+		this.times = times;
+
+//		Index of each run in the results of the whole slice, from 
+//		the offset: Through the selected indexes, if any
+		this.indexes = indexes;
+		this.offset = offset;
+	}
+
+
+	/**
+	 * Split the slice into passes, of the same candles; Each pass is 
+	 * only made when got
+	 * @param size Number of runs per pass at most
+	 * @return Passes, sharing the results of the slice
+	 */
+	public List<Slice> split(int size) {
+		return(new Passes(size));
+	}
+
+
+	/**
+	 * Select some runs of the slice, i.e. the runs still to perform
+	 * @param selected Set bits: Indexes of the runs in this slice
+	 * @return Slice of the selected runs, sharing the results of the slice
+	 */
+	public Slice select(BitSet selected) {
+		List<Run> result = new ArrayList<>(selected.cardinality());
+		int[] result_indexes = new int[selected.cardinality()];
+
+		int j = 0;
+		for(int i = selected.nextSetBit(0); i >= 0; 
+				i = selected.nextSetBit(i + 1)) {
+			result.add(this.runs.get(i));
+			result_indexes[j++] = this.indexOf(i);
+		}
+
+		return(new Slice(result,
+						 this.from,
+						 this.candles,
+						 this.scores,
+						 this.net_profits,
+						 this.times,
+						 result_indexes,
+						 0));
+	}
+
+
+	/**
+	 * Get the index of a run in the results of the whole slice
+	 * @param index Index of the run in this slice, or pass
+	 * @return Index in the results
+	 */
+	private int indexOf(int index) {
+		if(this.indexes == null) return(this.offset + index);
+		return(this.indexes[this.offset + index]);
+	}
+
+
+	/**
+	 * Save the result of 1 run, if the slice keeps the results
+	 * @param index Index of the run in this slice, or pass
+	 * @param score Score of the run, by the objective of the Optimizer
+	 * @param net_profit Net profit of the run
+	 */
+	public void putResult(int index, float score, float net_profit) {
+		if(this.scores == null) return;
+		
+		this.scores[this.indexOf(index)] = score;
+		this.net_profits[this.indexOf(index)] = net_profit;
+	}
+
+
+	/**
+	 * Save the time of the first candle of the slice
+	 * @param start Time of the first candle
+	 */
+	public void setStartTime(LocalDateTime start) {
+		this.times[0] = start;
+	}
+
+
+	/**
+	 * Save the time of the last candle of the slice
+	 * @param end Time of the last candle
+	 */
+	public void setEndTime(LocalDateTime end) {
+		this.times[1] = end;
+	}
+
+
+	/**
+	 * Getters
+	 * @return
+	 */
+
+	public List<Run> getRuns() {
+		return runs;
+	}
+
+	public int size() {
+		return(this.runs.size());
+	}
+
+	public int getFrom() {
+		return from;
+	}
+
+	public int getCandles() {
+		return candles;
+	}
+
+	/**
+	 * @return Score of each run of the whole slice; The higher, the better; 
+	 * Null if the slice keeps no results
+	 */
+	public float[] getScores() {
+		return scores;
+	}
+
+	/**
+	 * @return Net profit of each run of the whole slice; Null if the 
+	 * slice keeps no results
+	 */
+	public float[] getNetProfits() {
+		return net_profits;
+	}
+
+	public LocalDateTime getStartTime() {
+		return(this.times[0]);
+	}
+
+	public LocalDateTime getEndTime() {
+		return(this.times[1]);
+	}
+
+
+	/**
+	 * Passes of the slice, made on demand over the runs
+	 * @author Mark L
+	 *
+	 */
+	private class Passes extends AbstractList<Slice> implements RandomAccess {
+
+		private final int pass_size;
+
+		private Passes(int pass_size) {
+			this.pass_size = pass_size;
+		}
+
+		@Override
+		public Slice get(int index) {
+			if(index < 0 || index >= this.size()) 
+				throw new IndexOutOfBoundsException("Pass: " + index);
+
+			int start = index * this.pass_size;
+			int end = Math.min(start + this.pass_size, runs.size());
+			return(new Slice(runs.subList(start, end),
+							 from,
+							 candles,
+							 scores,
+							 net_profits,
+							 times,
+							 indexes,
+							 offset + start));
+		}
+
+		@Override
+		public int size() {
+			return((runs.size() + this.pass_size - 1) / this.pass_size);
+		}
+	}
+
+}
@@ -0,0 +1,213 @@
+package com.hills.sim.optimizer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.logs.LogRow;
+import com.hills.sim.logs.Loggable;
+import com.hills.sim.settings.OptimizerSettings;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.RunSettings;
+
+/**
+ * Walk-forward over rolling windows of the period: every run is swept
+ * over each in-sample window, and the best run of the window is performed
+ * over the following out-of-sample window. The windows are independent,
+ * so the sweeps of every window are performed together; The out-of-sample
+ * windows are stitched into 1 equity curve
+ * @author Mark L
+ *
+ */
+public class WalkForwardOptimizer extends Optimizer implements Loggable {
+
+	private final float balance;
+
+	private final List<Slice> in_slices;
+	private final List<Slice> out_slices;
+	private final List<Integer> best_indexes;
+
+	/**
+	 * Make WalkForwardOptimizer
+	 * @param opt_settings Optimizer settings
+	 * @param run_settings EA settings, making the runs
+	 * @param evaluator RunEvaluator performing the runs
+	 * @param balance Account balance at the start of the equity curve
+	 */
+	public WalkForwardOptimizer(OptimizerSettings opt_settings,
+								RunSettings run_settings,
+								RunEvaluator evaluator,
+								float balance) {
+		super(opt_settings, run_settings, evaluator);
+		this.balance = balance;
+
+		this.in_slices = new ArrayList<>();
+		this.out_slices = new ArrayList<>();
+		this.best_indexes = new ArrayList<>();
+	}
+
+
+	/**
+	 * Walk forward over the windows
+	 * @return Best run of the last in-sample window, i.e. the run
+	 * for the candles after the period
+	 */
+	@Override
+	public Run optimize() throws OptimizerExc {
+		int in_sample = this.opt_settings.getWFInSample();
+		int out_sample = this.opt_settings.getWFOutSample();
+		int total_candles = this.getTotalCandles();
+
+		if(in_sample < 1 || out_sample < 1 || in_sample >= total_candles) {
+			String error_msg = "%s: Windows of %d and %d candles do not fit "
+							 + "the period of %d candles\n";
+			System.err.printf(error_msg, this.getClass().getName(),
+							  in_sample, out_sample, total_candles);
+			throw new OptimizerExc();
+		}
+
+//		Sweep every run over every in-sample window, together
+		List<Run> runs = this.run_settings.getRuns();
+		for(int from = 0; from + in_sample < total_candles; from += out_sample)
+			this.in_slices.add(new Slice(runs, from, in_sample));
+
+		this.evaluateSlices(this.in_slices);
+
+//		Perform the best run of each window over the next out-of-sample
+//		window; The last window may be shorter
+		for(Slice in_slice: this.in_slices) {
+			int best = this.getBestIndex(in_slice.getScores());
+			int from = in_slice.getFrom() + in_sample;
+			int candles = Math.min(out_sample, total_candles - from);
+
+			this.best_indexes.add(best);
+			this.out_slices.add(new Slice(Collections.singletonList
+											(runs.get(best)), from, candles));
+		}
+
+		this.evaluateSlices(this.out_slices);
+
+		System.out.printf("\nWalk-forward of %d windows: net profit %.2f\n",
+						  this.out_slices.size(), this.getNetProfit());
+
+		return(this.getBestRun());
+	}
+
+
+	/**
+	 * Get the index of the best score; Tied runs keep their order
+	 * @param scores Score of each run
+	 * @return Index of the best run
+	 */
+	private int getBestIndex(float[] scores) {
+		int result = 0;
+		for(int i = 1; i < scores.length; i++)
+			if(scores[i] > scores[result]) result = i;
+
+		return(result);
+	}
+
+
+	/**
+	 * Get the net profit of the out-of-sample windows, stitched together
+	 * @return Net profit
+	 */
+	public float getNetProfit() {
+		float result = 0;
+		for(Slice out_slice: this.out_slices)
+			result += out_slice.getNetProfits()[0];
+
+		return(result);
+	}
+
+
+	@Override
+	public Run getBestRun() {
+		if(this.in_slices.size() == 0) return(null);
+
+		int last = this.in_slices.size() - 1;
+		return(this.in_slices.get(last).getRuns()
+									.get(this.best_indexes.get(last)));
+	}
+
+
+	@Override
+	public float getBestScore() {
+		if(this.in_slices.size() == 0) return(Float.NEGATIVE_INFINITY);
+
+		int last = this.in_slices.size() - 1;
+		return(this.in_slices.get(last).getScores()
+									[this.best_indexes.get(last)]);
+	}
+
+
+	@Override
+	public int getEvaluations() {
+		int result = 0;
+		for(Slice in_slice: this.in_slices) result += in_slice.size();
+
+		return(result + this.out_slices.size());
+	}
+
+
+	/**
+	 * 1 row per window; The equity is the account balance plus the net
+	 * profit of every out-of-sample window so far
+	 */
+	@Override
+	public List<LogRow> toLogRows() {
+		List<LogRow> result = new ArrayList<>();
+		float equity = this.balance;
+
+		for(int i = 0; i < this.out_slices.size(); i++) {
+			Slice in_slice = this.in_slices.get(i);
+			Slice out_slice = this.out_slices.get(i);
+			float net_profit = out_slice.getNetProfits()[0];
+			equity += net_profit;
+
+			String wfw_id = String.format("%d", i + 1);
+			String wfw_is_start = this.toLogTime(in_slice.getStartTime());
+			String wfw_is_end = this.toLogTime(in_slice.getEndTime());
+			String wfw_oos_start = this.toLogTime(out_slice.getStartTime());
+			String wfw_oos_end = this.toLogTime(out_slice.getEndTime());
+			String wfw_is_score = String.format("%.2f",
+						in_slice.getScores()[this.best_indexes.get(i)]);
+			String wfw_oos_score = String.format("%.2f",
+						out_slice.getScores()[0]);
+			String wfw_oos_net_profit = String.format("%.2f", net_profit);
+			String wfw_equity = String.format("%.2f", equity);
+			String run_id = String.format("%d",
+						out_slice.getRuns().get(0).getId());
+
+			String[] values = new String[] {
+									wfw_id,
+									wfw_is_start,
+									wfw_is_end,
+									wfw_oos_start,
+									wfw_oos_end,
+									wfw_is_score,
+									wfw_oos_score,
+									wfw_oos_net_profit,
+									wfw_equity,
+									run_id
+								};
+
+			result.add(new LogRow(values));
+		}
+
+		return(result);
+	}
+
+
+	/**
+	 * Time of a candle, as in the logs
+	 * @param time Time of the candle
+	 * @return Time, or empty
+	 */
+	private String toLogTime(LocalDateTime time) {
+		return(time == null ? "" : time.toString().replaceAll("T", " "));
+	}
+
+}
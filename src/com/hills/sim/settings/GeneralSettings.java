@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import com.hills.sim.Constants.CandleSourceE;
+import com.hills.sim.Constants.PriceModeE;
+import com.hills.sim.Constants.WaitStrategyE;
 import com.hills.sim.exceptions.BigSettingFrameExc;
 import com.hills.sim.exceptions.BigSettingExc;
 
@@ -12,6 +15,17 @@ public class GeneralSettings extends BigSetting {
 	private final String output_directory;
 	private final String strategy_name;
 	private final LocalDateTime[] period_range;
+	private final boolean candles_in_memory;
+	private final boolean candle_cache;
+	private final String cache_directory;
+	private final WaitStrategyE wait_strategy;
+	private final int db_connections;
+	private final CandleSourceE candle_source;
+	private final String source_file;
+	private final int workers;
+	private final int lockstep_runs;
+	private final boolean detailed_logs;
+	private final PriceModeE price_mode;
 	
 	/**
 	 * Make GeneralSettings
@@ -31,8 +45,24 @@ public class GeneralSettings extends BigSetting {
 														("GEN_OUTPUT_DIRECTORY");
 			this.strategy_name = this.bsf.getStringValue("GEN_STRATEGY_NAME");
 			this.period_range = this.bsf.getDateTimeBounds("GEN_PERIOD_RANGE");
+			this.candles_in_memory = this.bsf.getBooleanValue
+														("GEN_CANDLES_IN_MEMORY");
+			this.candle_cache = this.bsf.getBooleanValue("GEN_CANDLE_CACHE");
+			this.cache_directory = this.bsf.getStringValue
+														("GEN_CACHE_DIRECTORY");
+			this.wait_strategy = WaitStrategyE.valueOf(this.bsf.getStringValue
+										("GEN_WAIT_STRATEGY").toUpperCase());
+			this.db_connections = this.bsf.getIntegerValue("GEN_DB_CONNECTIONS");
+			this.candle_source = CandleSourceE.valueOf(this.bsf.getStringValue
+										("GEN_CANDLE_SOURCE").toUpperCase());
+			this.source_file = this.bsf.getStringValue("GEN_SOURCE_FILE");
+			this.workers = this.bsf.getIntegerValue("GEN_WORKERS");
+			this.lockstep_runs = this.bsf.getIntegerValue("GEN_LOCKSTEP_RUNS");
+			this.detailed_logs = this.bsf.getBooleanValue("GEN_DETAILED_LOGS");
+			this.price_mode = PriceModeE.valueOf(this.bsf.getStringValue
+										("GEN_PRICE_MODE").toUpperCase());
 			
-		} catch (BigSettingFrameExc e) {
+		} catch (BigSettingFrameExc | IllegalArgumentException e) {
 			String error_msg = "%s: Error getting values for GeneralSettings\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
@@ -58,12 +88,67 @@ public class GeneralSettings extends BigSetting {
 		return period_range;
 	}
 	
+	public boolean isCandlesInMemory() {
+		return candles_in_memory;
+	}
+	
+	public boolean isCandleCache() {
+		return candle_cache;
+	}
+	
+	public String getCacheDirectory() {
+		return cache_directory;
+	}
+	
+	public WaitStrategyE getWaitStrategy() {
+		return wait_strategy;
+	}
+	
+	public int getDbConnections() {
+		return db_connections;
+	}
+	
+	public CandleSourceE getCandleSource() {
+		return candle_source;
+	}
+	
+	public String getSourceFile() {
+		return source_file;
+	}
+	
+	public int getWorkers() {
+		return workers;
+	}
+	
+	public int getLockStepRuns() {
+		return lockstep_runs;
+	}
+	
+	public boolean isDetailedLogs() {
+		return detailed_logs;
+	}
+	
+	public PriceModeE getPriceMode() {
+		return price_mode;
+	}
+	
 	@Override
 	public String toString() {
 		return "GeneralSettings "
 				+ "\n[ strategy_name=" + strategy_name 
 				+ "\n, output_directory=" + output_directory 
-				+ "\n, period_range=" + Arrays.toString(period_range) + "]\n";
+				+ "\n, period_range=" + Arrays.toString(period_range) 
+				+ "\n, candles_in_memory=" + candles_in_memory 
+				+ "\n, candle_cache=" + candle_cache 
+				+ "\n, cache_directory=" + cache_directory 
+				+ "\n, wait_strategy=" + wait_strategy 
+				+ "\n, db_connections=" + db_connections 
+				+ "\n, candle_source=" + candle_source 
+				+ "\n, source_file=" + source_file 
+				+ "\n, workers=" + workers 
+				+ "\n, lockstep_runs=" + lockstep_runs 
+				+ "\n, detailed_logs=" + detailed_logs 
+				+ "\n, price_mode=" + price_mode + "]\n";
 	}
 	
 	
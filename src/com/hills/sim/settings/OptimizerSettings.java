@@ -0,0 +1,177 @@
+package com.hills.sim.settings;
+
+import java.util.List;
+
+import com.hills.sim.Constants.ObjectiveE;
+import com.hills.sim.Constants.OptimizerModeE;
+import com.hills.sim.exceptions.BigSettingFrameExc;
+import com.hills.sim.exceptions.BigSettingExc;
+
+public class OptimizerSettings extends BigSetting {
+
+	private final OptimizerModeE mode;
+	private final ObjectiveE objective;
+	private final int population;
+	private final int generations;
+	private final int tournament;
+	private final float crossover;
+	private final float mutation;
+	private final int seed;
+	private final int coarse_stride;
+	private final int top_k;
+	private final int halving_rate;
+	private final int halving_rungs;
+	private final float prune_drawdown;
+	private final boolean prune_margin_call;
+	private final int prune_no_trades;
+	private final float prune_max_gain;
+	private final int wf_in_sample;
+	private final int wf_out_sample;
+	
+	
+	/**
+	 * Make OptimizerSettings
+	 * @param prefix Prefix for the ID attribute of Html TR tag
+	 * @param rframe Raw frame that contains the definitions
+	 * @param html_settings Settings that are parsed from Html 
+	 * @throws BigSettingExc
+	 */
+	public OptimizerSettings 
+		(String prefix, String[][] rframe, List<Setting> html_settings) 
+										throws BigSettingExc {
+		
+		super(prefix, rframe, html_settings);
+		
+		try {
+			this.mode = OptimizerModeE.valueOf(this.bsf.getStringValue
+										("OPT_MODE").toUpperCase());
+			this.objective = ObjectiveE.valueOf(this.bsf.getStringValue
+										("OPT_OBJECTIVE").toUpperCase());
+			this.population = this.bsf.getIntegerValue("OPT_POPULATION");
+			this.generations = this.bsf.getIntegerValue("OPT_GENERATIONS");
+			this.tournament = this.bsf.getIntegerValue("OPT_TOURNAMENT");
+			this.crossover = this.bsf.getFloatValue("OPT_CROSSOVER");
+			this.mutation = this.bsf.getFloatValue("OPT_MUTATION");
+			this.seed = this.bsf.getIntegerValue("OPT_SEED");
+			this.coarse_stride = this.bsf.getIntegerValue("OPT_COARSE_STRIDE");
+			this.top_k = this.bsf.getIntegerValue("OPT_TOP_K");
+			this.halving_rate = this.bsf.getIntegerValue("OPT_HALVING_RATE");
+			this.halving_rungs = this.bsf.getIntegerValue("OPT_HALVING_RUNGS");
+			this.prune_drawdown = this.bsf.getFloatValue("OPT_PRUNE_DRAWDOWN");
+			this.prune_margin_call = this.bsf.getBooleanValue
+												("OPT_PRUNE_MARGIN_CALL");
+			this.prune_no_trades = this.bsf.getIntegerValue("OPT_PRUNE_NO_TRADES");
+			this.prune_max_gain = this.bsf.getFloatValue("OPT_PRUNE_MAX_GAIN");
+			this.wf_in_sample = this.bsf.getIntegerValue("OPT_WF_IN_SAMPLE");
+			this.wf_out_sample = this.bsf.getIntegerValue("OPT_WF_OUT_SAMPLE");
+			
+		} catch (BigSettingFrameExc | IllegalArgumentException e) {
+			String error_msg = "%s: Error getting values for OptimizerSettings\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new BigSettingExc();
+		}
+	}
+	
+	/**
+	 * Getters
+	 * @return
+	 */
+	
+	public OptimizerModeE getMode() {
+		return mode;
+	}
+
+	public ObjectiveE getObjective() {
+		return objective;
+	}
+
+	public int getPopulation() {
+		return population;
+	}
+
+	public int getGenerations() {
+		return generations;
+	}
+
+	public int getTournament() {
+		return tournament;
+	}
+
+	public float getCrossover() {
+		return crossover;
+	}
+
+	public float getMutation() {
+		return mutation;
+	}
+
+	public int getSeed() {
+		return seed;
+	}
+
+	public int getCoarseStride() {
+		return coarse_stride;
+	}
+
+	public int getTopK() {
+		return top_k;
+	}
+
+	public int getHalvingRate() {
+		return halving_rate;
+	}
+
+	public int getHalvingRungs() {
+		return halving_rungs;
+	}
+
+	public float getPruneDrawdown() {
+		return prune_drawdown;
+	}
+
+	public boolean isPruneMarginCall() {
+		return prune_margin_call;
+	}
+
+	public int getPruneNoTrades() {
+		return prune_no_trades;
+	}
+
+	public float getPruneMaxGain() {
+		return prune_max_gain;
+	}
+
+	public int getWFInSample() {
+		return wf_in_sample;
+	}
+
+	public int getWFOutSample() {
+		return wf_out_sample;
+	}
+
+	@Override
+	public String toString() {
+		return "OptimizerSettings "
+				+ "\n[ mode=" + mode 
+				+ "\n, objective=" + objective 
+				+ "\n, population=" + population 
+				+ "\n, generations=" + generations 
+				+ "\n, tournament=" + tournament 
+				+ "\n, crossover=" + crossover 
+				+ "\n, mutation=" + mutation 
+				+ "\n, seed=" + seed 
+				+ "\n, coarse_stride=" + coarse_stride 
+				+ "\n, top_k=" + top_k 
+				+ "\n, halving_rate=" + halving_rate 
+				+ "\n, halving_rungs=" + halving_rungs 
+				+ "\n, prune_drawdown=" + prune_drawdown 
+				+ "\n, prune_margin_call=" + prune_margin_call 
+				+ "\n, prune_no_trades=" + prune_no_trades 
+				+ "\n, prune_max_gain=" + prune_max_gain 
+				+ "\n, wf_in_sample=" + wf_in_sample 
+				+ "\n, wf_out_sample=" + wf_out_sample + "]\n";
+	}
+	
+	
+}
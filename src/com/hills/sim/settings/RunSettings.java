@@ -1,6 +1,10 @@
 package com.hills.sim.settings;
 
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.hills.sim.logs.Loggable;
 
@@ -8,9 +12,101 @@ import com.hills.sim.logs.Loggable;
 public interface RunSettings extends Loggable {
 	
 	/**
-	 * All EASettings must return List<Run>
+	 * Get the total number of runs, from the sizes of the ranges
+	 * @return total_runs
+	 */
+	public int getTotalRuns();
+	
+	
+	/**
+	 * Make the run of the Run ID, from its position in the ranges; 
+	 * The runs are made on demand, and never kept
+	 * @param run_id Run ID, from 1 to the total number of runs
+	 * @return run
+	 */
+	public Run getRun(int run_id);
+	
+	
+	/**
+	 * Get the number of values of each EA range, in the order of the 
+	 * Run IDs: the first range varies slowest, the last range fastest
+	 * @return Sizes of the ranges
+	 */
+	public int[] getRangeSizes();
+	
+	
+	/**
+	 * Get the Run ID of a point of the ranges
+	 * @param point Index of the value, in each range
+	 * @return run_id
+	 */
+	default public int toRunId(int[] point) {
+		int[] sizes = this.getRangeSizes();
+		int result = 0;
+		for(int i = 0; i < sizes.length; i++) 
+			result = result * sizes[i] + point[i];
+		
+		return(result + 1);
+	}
+	
+	
+	/**
+	 * Get the point of the ranges of a Run ID
+	 * @param run_id Run ID, from 1 to the total number of runs
+	 * @return Index of the value, in each range
+	 */
+	default public int[] toPoint(int run_id) {
+		int[] sizes = this.getRangeSizes();
+		int[] result = new int[sizes.length];
+		int index = run_id - 1;
+		for(int i = sizes.length - 1; i >= 0; i--) {
+			result[i] = index % sizes[i];
+			index /= sizes[i];
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Lazy, splittable view of the runs, in Run ID order
+	 * @return RunSpliterator over every run
+	 */
+	default public Spliterator<Run> spliterator() {
+		return(new RunSpliterator(this, 1, this.getTotalRuns() + 1));
+	}
+	
+	
+	/**
+	 * Lazy stream of the runs, in Run ID order
+	 * @return Stream of every run
+	 */
+	default public Stream<Run> stream() {
+		return(StreamSupport.stream(this.spliterator(), false));
+	}
+	
+	
+	/**
+	 * All EASettings return List<Run>; A read only view over getRun, 
+	 * in constant memory
 	 * @return list_runs
 	 */
-	public List<Run> getRuns();
+	default public List<Run> getRuns() {
+		return(new AbstractList<Run>() {
+			
+			@Override
+			public Run get(int index) {
+				if(index < 0 || index >= this.size()) 
+					throw new IndexOutOfBoundsException
+								("Index: " + index + ", Size: " + this.size());
+				return(RunSettings.this.getRun(index + 1));
+			}
+			
+			@Override
+			public int size() {
+				return(RunSettings.this.getTotalRuns());
+			}
+		});
+	}
 
 }
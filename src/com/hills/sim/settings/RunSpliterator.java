@@ -0,0 +1,74 @@
+package com.hills.sim.settings;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of Run IDs of the RunSettings; 
+ * Each run is made when it is reached, and a split halves the range
+ * @author Mark L
+ *
+ */
+public class RunSpliterator implements Spliterator<Run> {
+	
+	private final RunSettings run_settings;
+	private int next_id;
+	private final int end_id;
+	
+	/**
+	 * Make RunSpliterator
+	 * @param run_settings RunSettings making the runs
+	 * @param start_id First Run ID, inclusive
+	 * @param end_id Last Run ID, exclusive
+	 */
+	public RunSpliterator(RunSettings run_settings, int start_id, int end_id) {
+		this.run_settings = run_settings;
+		this.next_id = start_id;
+		this.end_id = end_id;
+	}
+	
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super Run> action) {
+		if(this.next_id >= this.end_id) return(false);
+		
+		action.accept(this.run_settings.getRun(this.next_id++));
+		return(true);
+	}
+	
+	
+	@Override
+	public void forEachRemaining(Consumer<? super Run> action) {
+		while(this.next_id < this.end_id) 
+			action.accept(this.run_settings.getRun(this.next_id++));
+	}
+	
+	
+	/**
+	 * Split off the first half of the remaining Run IDs
+	 */
+	@Override
+	public Spliterator<Run> trySplit() {
+		int mid_id = this.next_id + (this.end_id - this.next_id) / 2;
+		if(mid_id <= this.next_id) return(null);
+		
+		RunSpliterator result = 
+				new RunSpliterator(this.run_settings, this.next_id, mid_id);
+		this.next_id = mid_id;
+		
+		return(result);
+	}
+	
+	
+	@Override
+	public long estimateSize() {
+		return(Math.max(0, this.end_id - this.next_id));
+	}
+	
+	
+	@Override
+	public int characteristics() {
+		return(ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE);
+	}
+
+}
@@ -1,28 +1,40 @@
 package com.hills.sim.settings;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.hills.sim.settings.HtmlParser;
+import com.hills.sim.logs.Journal;
+import com.hills.sim.worker.BinaryCandleSource;
+import com.hills.sim.worker.CandleSource;
 import com.hills.sim.worker.Compactor;
+import com.hills.sim.worker.CsvCandleSource;
 import com.hills.sim.Constants;
+import com.hills.sim.Constants.OptimizerModeE;
 import com.hills.sim.exceptions.BigSettingExc;
-import com.hills.sim.exceptions.CompactorExc;
+import com.hills.sim.exceptions.CandleSourceExc;
 import com.hills.sim.exceptions.HtmlParserExc;
+import com.hills.sim.exceptions.JournalExc;
 import com.hills.sim.exceptions.SESettingsExc;
 
 
 public class SESettings {
 	
 	private final HtmlParser parser;
-	private final Compactor compactor;
+	private final CandleSource candle_source;
 	
 	private final List<Setting> html_settings;
 	private final AccountSettings acc_settings;
 	private final GeneralSettings gen_settings;
 	private final SymbolSettings sym_settings;
+	private final OptimizerSettings opt_settings;
+	private Journal journal;
+	private boolean resume;
 	
 	
 	public SESettings(String filename) throws SESettingsExc {
+		this.journal = null;
+		this.resume = false;
 		
 //		Make HtmlParser and HtmlSettings
 		try {
@@ -53,6 +65,11 @@ public class SESettings {
 									(Constants.BIGSETTINGF_PREFIX_SYM,
 									 Constants.BIGSETTINGF_SYM,
 									 this.html_settings);
+			
+			this.opt_settings = new OptimizerSettings
+									(Constants.BIGSETTINGF_PREFIX_OPT,
+									 Constants.BIGSETTINGF_OPT,
+									 this.html_settings);
 									
 		} catch (BigSettingExc e) {
 			String error_msg = 
@@ -63,12 +80,27 @@ public class SESettings {
 		}
 		
 		
-//		Make Compactor
+//		Make the CandleSource: Compactor, or a candle file
 		try {
-			this.compactor = new Compactor(this.sym_settings, this.gen_settings);
+			String source_file = this.gen_settings.getSourceFile();
+			LocalDateTime[] period_range = this.gen_settings.getPeriodRange();
 			
-		} catch (CompactorExc e) {
-			String error_msg = "%s: Error making Compactor\n";
+			switch(this.gen_settings.getCandleSource()) {
+			case CSV:
+				this.candle_source = new CsvCandleSource
+											(source_file, period_range);
+				break;
+			case BINARY:
+				this.candle_source = new BinaryCandleSource
+											(source_file, period_range);
+				break;
+			default:
+				this.candle_source = new Compactor
+											(this.sym_settings, this.gen_settings);
+			}
+			
+		} catch (CandleSourceExc e) {
+			String error_msg = "%s: Error making CandleSource\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new SESettingsExc();
@@ -77,11 +109,11 @@ public class SESettings {
 		
 //		Set the SymbolSettings required data
 		try {
-			float margin_rate = this.compactor.getMarginRate();
-			int pip = this.compactor.getPip();
-			int distance = this.compactor.getDistance();
-			float contract_size_min = this.compactor.getContractSizeMin();
-			float contract_size_int = this.compactor.getContractSizeInt();
+			float margin_rate = this.candle_source.getMarginRate();
+			int pip = this.candle_source.getPip();
+			int distance = this.candle_source.getDistance();
+			float contract_size_min = this.candle_source.getContractSizeMin();
+			float contract_size_int = this.candle_source.getContractSizeInt();
 			
 			this.sym_settings.setMarginRate(margin_rate);
 			this.sym_settings.setPip(pip);
@@ -91,7 +123,7 @@ public class SESettings {
 			
 		} catch (Exception e) {
 			String error_msg = 
-					"%s: Error saving SymbolSettings related data from Compactor\n";
+					"%s: Error saving SymbolSettings related data from CandleSource\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new SESettingsExc();
@@ -99,6 +131,36 @@ public class SESettings {
 		
 	}
 	
+	/**
+	 * Make the Journal of the sweep, in the output directory; 
+	 * Only the simulation keeps a journal, not the sync. 
+	 * The sweeps over slices of the period start over
+	 * @param resume True: Resume the sweep of the journal
+	 * @throws SESettingsExc
+	 */
+	public void makeJournal(boolean resume) throws SESettingsExc {
+		OptimizerModeE mode = this.opt_settings.getMode();
+		if(resume && (mode == OptimizerModeE.HALVING || 
+					  mode == OptimizerModeE.WALK_FORWARD)) {
+			String warn_msg = "%s: %s mode cannot resume, starting over\n";
+			System.err.printf(warn_msg, this.getClass().getName(), mode);
+			resume = false;
+		}
+		
+		try {
+			this.journal = new Journal(this.gen_settings.getOutputDirectory(), 
+									   resume);
+			this.resume = this.journal.getRunIds().size() > 0;
+			
+		} catch (JournalExc e) {
+			String error_msg = "%s: Error making Journal\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new SESettingsExc();
+		}
+	}
+	
+	
 	/**
 	 * Getters
 	 * @return
@@ -116,12 +178,30 @@ public class SESettings {
 		return sym_settings;
 	}
 	
+	public OptimizerSettings getOptSettings() {
+		return opt_settings;
+	}
+	
 	public List<Setting> getHtmlSettings() {
 		return html_settings;
 	}
 	
-	public Compactor getCompactor() {
-		return compactor;
+	public CandleSource getCandleSource() {
+		return candle_source;
+	}
+	
+	/**
+	 * @return Journal of the sweep, or null when not made
+	 */
+	public Journal getJournal() {
+		return journal;
+	}
+	
+	/**
+	 * @return True: Resuming the sweep of the journal, of completed runs
+	 */
+	public boolean isResume() {
+		return resume;
 	}
 
 	@Override
@@ -131,7 +211,8 @@ public class SESettings {
 				+ "\n, html_settings=" + html_settings 
 				+ "\n, acc_settings=" + acc_settings
 				+ "\n, gen_settings=" + gen_settings  
-				+ "\n, sym_settings=" + sym_settings + "]\n";
+				+ "\n, sym_settings=" + sym_settings 
+				+ "\n, opt_settings=" + opt_settings + "]\n";
 	}
 
 
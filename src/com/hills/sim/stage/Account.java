@@ -54,6 +54,27 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 	private float min_balance;
 	private float max_balance;
 	private float drawdown;
+	private boolean margin_called;
+	
+	
+	/**
+	 * Running totals of the open-filled orders, booked by the orders on
+	 * each fill, close and Pnl update; The Pnl and margin are in cents, 
+	 * as the orders round them to 2 decimal places
+	 */
+	private int open_filled_orders;
+	private long unrealized_pnl;
+	private long required_margin;
+	
+	
+	/**
+	 * Account balance, minimum and maximum balances in cents, for the 
+	 * Points price mode; The balance adds up the Pnl in cents of the 
+	 * orders, and the balances in float are only for display and the logs
+	 */
+	private long balance_cents;
+	private long min_cents;
+	private long max_cents;
 	
 	
 	/**
@@ -94,6 +115,14 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 			this.min_balance = this.acc_balance;
 			this.max_balance = this.acc_balance;
 			this.drawdown = 0;
+			this.margin_called = false;
+			
+			this.open_filled_orders = 0;
+			this.unrealized_pnl = 0;
+			this.required_margin = 0;
+			this.balance_cents = this.calculator.toCents(this.acc_balance);
+			this.min_cents = this.balance_cents;
+			this.max_cents = this.balance_cents;
 			
 //			Initialize the log-related variables
 			this.account_id = 1;
@@ -119,6 +148,7 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 		if(this.m_calc_enabled == false) return;
 		
 		if(this.margin_level <= this.stop_out_level) {
+			this.margin_called = true;
 			this.orders.closeAllOpenOrders();
 			this.updateMarginInfo();
 		}
@@ -160,8 +190,17 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 		this.used_margin = 0;
 		this.free_margin = 0;
 		this.margin_level = 0;
+		this.min_balance = this.acc_balance;
 		this.max_balance = this.acc_balance;
 		this.drawdown = 0;
+		this.margin_called = false;
+		
+		this.open_filled_orders = 0;
+		this.unrealized_pnl = 0;
+		this.required_margin = 0;
+		this.balance_cents = this.calculator.toCents(this.acc_balance);
+		this.min_cents = this.balance_cents;
+		this.max_cents = this.balance_cents;
 		
 		this.prev_acc_balance = this.acc_balance;
 	}
@@ -265,6 +304,19 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 	}
 	
 	
+	/**
+	 * Book the changes of an order into the running totals
+	 * @param filled Change of open-filled orders: 1, 0 or -1
+	 * @param pnl Change of the unrealized Pnl, in cents
+	 * @param margin Change of the required margin, in cents
+	 */
+	public void bookOrder(int filled, long pnl, long margin) {
+		this.open_filled_orders += filled;
+		this.unrealized_pnl += pnl;
+		this.required_margin += margin;
+	}
+	
+	
 	/**
 	 * Update the:
 	 * Equity (account plus unrealized Pnl)
@@ -278,10 +330,13 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 		float unrealized_pnl;
 		
 //		Calculate used margin & equity
-		n_open_filled_orders = this.orders.totalOpenFilledOrders();
-		unrealized_pnl = this.orders.totalUnrealizedPnL();
-		this.used_margin = this.orders.totalRequiredMargin();
+		n_open_filled_orders = this.open_filled_orders;
+		unrealized_pnl = this.getUnrealizedPnl();
+		this.used_margin = (float) (this.required_margin / 100.0);
 		this.equity = this.acc_balance + unrealized_pnl;
+		if(this.calculator.isPointsMode()) 
+			this.equity = (float) ((this.balance_cents + 
+									this.unrealized_pnl) / 100.0);
 
 //		Free margin is used to accept new orders
 //		0 will be the floor for free margin
@@ -301,12 +356,19 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 	
 	/**
 	 * Record the realized PnL
-	 * @param pnl Realized Pnl
+	 * @param order Closed order, with its realized Pnl
 	 */
-	public void recordRealizedPnl(float pnl) {
+	public void recordRealizedPnl(Order order) {
 		
 //		Assign the prev acc balance and acc balance
 		this.prev_acc_balance = this.acc_balance;
+		
+		if(this.calculator.isPointsMode()) {
+			this.recordRealizedCents(order.getPnlCents());
+			return;
+		}
+		
+		float pnl = order.getPnl();
 		this.acc_balance = this.calculator.round(this.acc_balance + pnl, 2);
 		
 //		Assign the minimum and maximum balances and drawdown
@@ -321,6 +383,27 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 	}
 	
 	
+	/**
+	 * Record the realized PnL in cents, for the Points price mode: The 
+	 * balances and drawdown are kept in cents, then shown in float
+	 * @param pnl_cents Realized Pnl, in cents
+	 */
+	private void recordRealizedCents(long pnl_cents) {
+		this.balance_cents += pnl_cents;
+		this.min_cents = Math.min(this.balance_cents, this.min_cents);
+		this.max_cents = Math.max(this.balance_cents, this.max_cents);
+		
+		this.acc_balance = this.calculator.toMoney(this.balance_cents);
+		this.min_balance = this.calculator.toMoney(this.min_cents);
+		this.max_balance = this.calculator.toMoney(this.max_cents);
+		
+		float dd_diff = this.calculator.round((float) 
+				((double) (this.balance_cents - this.max_cents) / 
+				 this.max_cents), 4);
+		this.drawdown = Math.abs(Math.min(0, dd_diff)) * 100;
+	}
+	
+	
 	/**
 	 * Check the initial values are defined properly.
 	 * 1. Account balance is valid
@@ -509,6 +592,52 @@ public class Account implements CandleViewer, RunHandler, Loggable {
 	public float getAccBalance() {
 		return acc_balance;
 	}
+	
+	
+	/**
+	 * @return Drawdown of the account balance, in %
+	 */
+	public float getDrawdown() {
+		return drawdown;
+	}
+	
+	
+	/**
+	 * @return Has a margin call been performed in the run?
+	 */
+	public boolean isMarginCalled() {
+		return margin_called;
+	}
+	
+	
+	/**
+	 * @return Net profit of the run so far, including the unrealized PnL
+	 */
+	public float getNetProfit() {
+		if(this.calculator.isPointsMode()) 
+			return((float) ((this.balance_cents + this.unrealized_pnl - 
+							 this.calculator.toCents(this.settings
+									.getAccSettings().getBalance())) / 100.0));
+		
+		return(this.acc_balance + this.getUnrealizedPnl() - 
+			   this.settings.getAccSettings().getBalance());
+	}
+	
+	
+	/**
+	 * @return Unrealized Pnl of the open-filled orders
+	 */
+	public float getUnrealizedPnl() {
+		return((float) (this.unrealized_pnl / 100.0));
+	}
+	
+	
+	/**
+	 * @return Number of open-filled orders
+	 */
+	public int getOpenFilledOrders() {
+		return open_filled_orders;
+	}
 
 
 	/**
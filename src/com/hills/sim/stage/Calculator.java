@@ -3,12 +3,19 @@ package com.hills.sim.stage;
 import com.hills.sim.settings.SESettings;
 import com.hills.sim.settings.SymbolSettings;
 import com.hills.sim.Constants;
+import com.hills.sim.Constants.PriceModeE;
 import com.hills.sim.exceptions.AccountExc;
 import com.hills.sim.exceptions.CalculatorExc;
 
 public class Calculator {
 
+//	10 to the power of 0 to 10, for rounding without Math.pow
+	private static final double[] SHIFTS = new double[] {
+						1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10
+					};
+	
 	private final SESettings settings;
+	private final PriceModeE price_mode;
 	
 	/**
 	 * Members, relating to the Symbol Settings
@@ -17,6 +24,7 @@ public class Calculator {
 	private final float distance;
 	private final float contract_size_min;
 	private final float contract_size_int;
+	private final double shift;
 	
 	
 	/**
@@ -30,6 +38,8 @@ public class Calculator {
 		
 //		Initialize all fields
 		try {
+			this.price_mode = this.settings.getGenSettings().getPriceMode();
+			
 			SymbolSettings sym_settings =
 								this.settings.getSymSettings();
 			
@@ -37,6 +47,7 @@ public class Calculator {
 			
 			int distance_dec = sym_settings.getDistance();
 			this.distance = (float) Math.pow(10, -distance_dec);
+			this.shift = Calculator.toShift(distance_dec);
 			
 			this.contract_size_min = sym_settings.getContractSizeMin();
 			
@@ -248,12 +259,69 @@ public class Calculator {
 	 * @return
 	 */
 	public float round(float number, int decimal_places) {
-	      double shift = Math.pow(10, decimal_places);
+	      double shift = Calculator.toShift(decimal_places);
 	      double result = Math.round(number * shift)/ shift;		
 	      return((float) result);
 	}
 	
 	
+	/**
+	 * 10 to the power of the number of decimal places, as a lookup
+	 * @param decimal_places Whole number, number of decimal places
+	 * @return
+	 */
+	public static double toShift(int decimal_places) {
+		if(decimal_places >= 0 && decimal_places < SHIFTS.length)
+			return(SHIFTS[decimal_places]);
+		
+		return(Math.pow(10, decimal_places));
+	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Converts a price into whole points, to the nearest point
+	 * @param price Decimal number
+	 * @return
+	 */
+	public int toPricePoints(float price) {
+		return((int) Math.round(price * this.shift));
+	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Converts whole points into the nearest decimal price
+	 * @param points Whole number
+	 * @return
+	 */
+	public float toPrice(int points) {
+		return((float) (points / this.shift));
+	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Converts an amount of money into whole cents
+	 * @param money Decimal number
+	 * @return
+	 */
+	public long toCents(double money) {
+		return(Math.round(money * 100.0));
+	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Converts whole cents into an amount of money
+	 * @param cents Whole number
+	 * @return
+	 */
+	public float toMoney(long cents) {
+		return((float) (cents / 100.0));
+	}
+	
+	
 	/**
 	 * Calculation method
 	 * Given a price, calculate the leveraged price per point 
@@ -282,6 +350,58 @@ public class Calculator {
 		
 		return(result);
 	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Given a price in points, calculate the leveraged price per point; 
+	 * The distance over the price is 1 over the points
+	 * @param price_points Whole number, ask/bid price in points
+	 * @return
+	 * @throws CalculatorExc
+	 */
+	public float calcPricePerPoint(int price_points) 
+								throws CalculatorExc {
+		
+//		Check that arguments > 0
+		if(price_points <= 0) {
+			String error_msg = "%s: Argument is <= 0, divisor is 0.\n";
+			String error_msg2 = "Price points: %d\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			System.err.printf(error_msg2, price_points);
+			throw new CalculatorExc();	
+		}
+		
+		return((float) (Constants.ACC_STD_LOT 
+						* (double) this.leverage / price_points));
+	}
+	
+	
+	/**
+	 * Calculation method, for the Points price mode
+	 * Calculate the required margin when the price in points and 
+	 * contract size are given
+	 * @param price_points Whole number, price to fill in, in points
+	 * @param contract_size Decimal number, size of contract
+	 * @return
+	 * @throws CalculatorExc
+	 */
+	public float calcRequiredMargin(int price_points, float contract_size)
+								throws CalculatorExc {
+		
+		float price_ppt = this.calcPricePerPoint(price_points);
+		
+//		Check that arguments > 0
+		if(contract_size <= 0) {
+			String error_msg = "%s: Value of argument(s) <= 0\n";
+			String error_msg2 = "Price points: %d, Contract size: %.2f\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			System.err.printf(error_msg2, price_points, contract_size);
+			throw new CalculatorExc();				
+		}
+		
+		return((float) ((double) price_points * price_ppt * contract_size));
+	}
 
 	
 	
@@ -322,6 +442,24 @@ public class Calculator {
 	}
 	
 	
+	/**
+	 * Get how the prices and money are held
+	 * @return
+	 */
+	public PriceModeE getPriceMode() {
+		return price_mode;
+	}
+	
+	
+	/**
+	 * Are the prices held in whole points, and the money in whole cents?
+	 * @return
+	 */
+	public boolean isPointsMode() {
+		return(this.price_mode == PriceModeE.POINTS);
+	}
+	
+	
 	
 	
 	
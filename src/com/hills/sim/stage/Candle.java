@@ -2,163 +2,49 @@ package com.hills.sim.stage;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.OptionalDouble;
-import java.util.stream.IntStream;
 
 import com.hills.sim.Constants.CandleDirectionE;
-import com.hills.sim.worker.CompactorCandle;
+import com.hills.sim.Constants.CandleFieldE;
+import com.hills.sim.worker.CandleBlock;
 
 public class Candle implements Comparable<Candle> {
 
-	private final CompactorCandle base_candle;
+	private final CandleBlock block;
+	private final int row;
 	private final int candle_id;
 	private final int total_candles;
 	private final int unit_pip;
 	private final int unit_distance;
 	
-	private final LocalDateTime time;
-	private final float spread;
-	private final float[] bid;
-	private final float[] ask;
-
-	private final float body;
-	private final float length;
-	private final CandleDirectionE direction;
-	
 	
 	/**
-	 * Make Candle
-	 * @param base_candle CompactorCandle
+	 * Make Candle; A view over 1 row of a CandleBlock. The spread, prices,
+	 * body, length and direction are derived once per block
+	 * @param block CandleBlock holding the candle
+	 * @param row Index of the candle in the block
 	 * @param candle_id whole number, id of the candle
 	 * @param total_candles whole number, total number of candles
 	 * @param pip whole number, pips in number of decimal places
 	 * @param distance whole number, distance in number of decimal places
 	 */
-	public Candle(CompactorCandle base_candle, 
+	public Candle(CandleBlock block,
+					int row,
 					int candle_id, 
 					int total_candles,
 					int pip, 
 					int distance) {
 		
-		this.base_candle = base_candle;
+		block.derive(distance);
+		this.block = block;
+		this.row = row;
 		
 		this.candle_id = candle_id;
 		this.total_candles = total_candles;
 		this.unit_pip = pip;
 		this.unit_distance = distance;
-		this.time = this.base_candle.getTime();
-		
-		this.spread = this.setSpread();
-		this.bid = this.setBid();
-		this.ask = this.setAsk();
-
-		this.body = this.setBody();
-		this.length = this.setLength();
-		this.direction = this.setDirection();
-	}
-	
-
-	/**
-	 * Setters
-	 */
-	
-	
-	/**
-	 * Get the spread for the candle 
-	 * Calculate the spread between OHLC for Ask and Bid
-	 * and choose the greatest value	  
-	 * @return
-	 */
-	private float setSpread() {
-		float result;
-		
-		float[] ask = this.base_candle.getAsk();
-		float[] bid = this.base_candle.getBid();
-		
-		OptionalDouble od = IntStream.range(0, 4)
-							.mapToDouble(i -> Math.abs(ask[i] - bid[i]))
-							.max();
-		
-		result = (float) od.getAsDouble();
-		result = this.round(result);
-		
-		return(result);
-	}
-	
-	
-	/**
-	 * Set the body of the candle, based on the bid price
-	 * @return body Float, positive number or 0.
-	 */
-	private float setBody() {
-		float result = Math.abs(this.getBidC() - this.getBidO());
-		result = this.round(result);
-		return(result);
-	}
-	
-	
-	/**
-	 * Set the length of the candle, based on the bid price
-	 * @return length Float, postive number or 0.
-	 */
-	private float setLength() {
-		float result = this.getBidH() - this.getBidL();
-		result = this.round(result);
-		return(result);
-	}
-
-
-	/**
-	 * Calculate, then set the direction of the candle
-	 * @return candle_direction CandleDirectionE
-	 */
-	private CandleDirectionE setDirection() {
-		CandleDirectionE result;
-		float body = this.getBidC() - this.getBidO();
-		
-		if(body > 0) result = CandleDirectionE.BULL;
-		else if(body < 0) result = CandleDirectionE.BEAR;
-		else result = CandleDirectionE.DOJI;
-		
-		return(result);
-	}
-	
-	
-	/**
-	 * Return the Bid candle, perform rounding based on Bid CompactorCandle
-	 * @return bid_candle array of float for bid prices
-	 */
-	private float[] setBid() {
-		float[] bid = new float[] {
-							   this.round(this.base_candle.getBidO()),
-							   this.round(this.base_candle.getBidH()),
-							   this.round(this.base_candle.getBidL()),
-							   this.round(this.base_candle.getBidC()),
-							 };
-		
-		return(bid);
-	}
-	
-	
-	/**
-	 * Return the Ask candle, based on the sum of the largest spread (between
-	 * Bid and Ask CompactorCandle) and Bid CompactorCandle.
-	 * Perform rounding.
-	 * @return ask_candle array of float for ask prices
-	 */
-	private float[] setAsk() {
-		float[] ask = new float[] {
-					   this.round(this.base_candle.getBidO() + this.spread),
-					   this.round(this.base_candle.getBidH() + this.spread),
-					   this.round(this.base_candle.getBidL() + this.spread),
-					   this.round(this.base_candle.getBidC() + this.spread),
-					 };
-		
-		return(ask);
 	}
 	
 
-	
 	/**
 	 * Calculator functions
 	 */
@@ -170,7 +56,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return result integer, value converted to pips
 	 */
 	public int toPip(float value) {
-		double result = (double) value * Math.pow(10d, this.unit_pip);
+		double result = (double) value * Calculator.toShift(this.unit_pip);
 		return((int) result);
 	}
 	
@@ -181,7 +67,8 @@ public class Candle implements Comparable<Candle> {
 	 * @return points Whole number, value converted to distance
 	 */
 	public int toPoints(float value) {
-		double result = (double) value * Math.pow(10d, this.unit_distance);
+		double result = (double) value 
+						* Calculator.toShift(this.unit_distance);
 		result = this.round((float) result, 0);
 		
 		return((int) result);
@@ -194,7 +81,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return rounded_value float
 	 */
 	public float round(float number) {
-	      double shift = Math.pow(10, this.unit_distance);
+	      double shift = Calculator.toShift(this.unit_distance);
 	      double result = Math.round(number * shift)/ shift;		
 	      return((float) result);
 	} 
@@ -207,7 +94,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return rounded_value float
 	 */
 	public float round(float number, int decimal_place) {
-	      double shift = Math.pow(10, decimal_place);
+	      double shift = Calculator.toShift(decimal_place);
 	      double result = Math.round(number * shift)/ shift;		
 	      return((float) result);
 	}
@@ -231,7 +118,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return ask_open price
 	 */
 	public float getAskO() {
-		return (this.ask[0]);
+		return (this.block.getAsk(0, this.row));
 	}
 	
 	
@@ -240,7 +127,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return ask_high price
 	 */
 	public float getAskH() {
-		return (this.ask[1]);
+		return (this.block.getAsk(1, this.row));
 	}
 	
 	
@@ -249,7 +136,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return ask_low price
 	 */
 	public float getAskL() {
-		return (this.ask[2]);
+		return (this.block.getAsk(2, this.row));
 	}
 	
 	
@@ -258,7 +145,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return ask_close price
 	 */
 	public float getAskC() {
-		return (this.ask[3]);
+		return (this.block.getAsk(3, this.row));
 	}
 	
 	
@@ -267,7 +154,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return bid_open price
 	 */
 	public float getBidO() {
-		return (this.bid[0]);
+		return (this.block.getBid(0, this.row));
 	}
 	
 	
@@ -276,7 +163,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return bid_high price
 	 */
 	public float getBidH() {
-		return (this.bid[1]);
+		return (this.block.getBid(1, this.row));
 	}
 	
 	
@@ -285,7 +172,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return bid_low price
 	 */
 	public float getBidL() {
-		return (this.bid[2]);
+		return (this.block.getBid(2, this.row));
 	}
 	
 	
@@ -294,7 +181,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return bid_close price
 	 */
 	public float getBidC() {
-		return (this.bid[3]);
+		return (this.block.getBid(3, this.row));
 	}
 	
 	/**
@@ -302,7 +189,16 @@ public class Candle implements Comparable<Candle> {
 	 * @return time LocalDateTime
 	 */
 	public LocalDateTime getTime() {
-		return time;
+		return(this.block.getDateTime(this.row));
+	}
+	
+	
+	/**
+	 * Get time of the candle, without making a LocalDateTime
+	 * @return Epoch milliseconds, in UTC
+	 */
+	public long getEpochMilli() {
+		return(this.block.getTime(this.row));
 	}
 	
 	
@@ -311,7 +207,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return direction CandleDirectionE
 	 */	
 	public CandleDirectionE getDirection() {
-		return direction;
+		return(this.block.getDirection(this.row));
 	}
 	
 	
@@ -320,7 +216,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return Volume, whole number
 	 */
 	public int getVolume() {
-		return(this.base_candle.getVolume());
+		return(this.block.getVolume(this.row));
 	}
 	
 
@@ -329,7 +225,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return spread, float rounded off by unit distance
 	 */
 	public float getSpread() {
-		return spread;
+		return(this.block.getSpread(this.row));
 	}
 
 
@@ -338,7 +234,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return body, float rounded off by unit distance
 	 */
 	public float getBody() {
-		return body;
+		return(this.block.getBody(this.row));
 	}
 
 
@@ -347,25 +243,85 @@ public class Candle implements Comparable<Candle> {
 	 * @return length, float rounded off by unit distance
 	 */
 	public float getLength() {
-		return length;
+		return(this.block.getLength(this.row));
+	}
+	
+	
+	/**
+	 * Get 1 field of the candle
+	 * @param field Field of the candle
+	 * @return value float, as its getter
+	 */
+	public float getValue(CandleFieldE field) {
+		switch(field) {
+			case ASK_O: return(this.getAskO());
+			case ASK_H: return(this.getAskH());
+			case ASK_L: return(this.getAskL());
+			case ASK_C: return(this.getAskC());
+			case BID_O: return(this.getBidO());
+			case BID_H: return(this.getBidH());
+			case BID_L: return(this.getBidL());
+			case BID_C: return(this.getBidC());
+			case SPREAD: return(this.getSpread());
+			case BODY: return(this.getBody());
+			case LENGTH: return(this.getLength());
+			default: return(0);
+		}
 	}
 	
 	
 	/**
-	 * Get Ask candle OHLC
+	 * Prices in whole points of the unit distance; The Ask points are 
+	 * the Bid points plus the spread points
+	 * @return
+	 */
+	
+	public int getAskHPoints() {
+		return(this.block.getAskPoints(1, this.row));
+	}
+	
+	public int getAskLPoints() {
+		return(this.block.getAskPoints(2, this.row));
+	}
+	
+	public int getAskCPoints() {
+		return(this.block.getAskPoints(3, this.row));
+	}
+	
+	public int getBidHPoints() {
+		return(this.block.getBidPoints(1, this.row));
+	}
+	
+	public int getBidLPoints() {
+		return(this.block.getBidPoints(2, this.row));
+	}
+	
+	public int getBidCPoints() {
+		return(this.block.getBidPoints(3, this.row));
+	}
+	
+	public int getSpreadPoints() {
+		return(this.block.getSpreadPoints(this.row));
+	}
+	
+	
+	/**
+	 * Get Ask candle OHLC, as a new array
 	 * @return ask Ask candles OHLC
 	 */
 	public float[] getAsk() {
-		return(this.ask);
+		return(new float[] {this.getAskO(), this.getAskH(), 
+							this.getAskL(), this.getAskC()});
 	}	
 	
 	
 	/**
-	 * Get Bid candle OHLC
+	 * Get Bid candle OHLC, as a new array
 	 * @return bid Bid candles OHLC
 	 */
 	public float[] getBid() {
-		return(this.bid);
+		return(new float[] {this.getBidO(), this.getBidH(), 
+							this.getBidL(), this.getBidC()});
 	}	
 	
 	
@@ -410,7 +366,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return is_bull boolean
 	 */
 	public boolean isBull() {
-		return(this.direction == CandleDirectionE.BULL);
+		return(this.getDirection() == CandleDirectionE.BULL);
 	}
 	
 	
@@ -419,7 +375,7 @@ public class Candle implements Comparable<Candle> {
 	 * @return is_bear boolean
 	 */
 	public boolean isBear() {
-		return(this.direction == CandleDirectionE.BEAR);
+		return(this.getDirection() == CandleDirectionE.BEAR);
 	}
 	
 	
@@ -428,20 +384,11 @@ public class Candle implements Comparable<Candle> {
 	 * @return is_doji boolean
 	 */
 	public boolean isDoji() {
-		return(this.direction == CandleDirectionE.DOJI);
+		return(this.getDirection() == CandleDirectionE.DOJI);
 	}
 	
 	
 	
-	/**
-	 * Return true when the candle is lit
-	 * @return is_lit boolean
-	 */
-	public boolean isLit() {
-		return(this.base_candle.isLit());
-	}
-	
-	
 	/**
 	 * Return true when the candle is the last candle
 	 * @return is_last_candle boolean
@@ -456,16 +403,16 @@ public class Candle implements Comparable<Candle> {
 			return "Candle "
 					+ "\n[ id=" + candle_id
 					+ "\n, total_candles=" + total_candles
-					+ "\n, time=" + time 
+					+ "\n, time=" + this.getTime() 
 					+ "\n, unit_pip=" + unit_pip 
 					+ "\n, unit_distance=" + unit_distance
-					+ "\n, direction=" + direction 
-					+ "\n, spread=" + spread 
-					+ "\n, body=" + body 
-					+ "\n, length=" + length
+					+ "\n, direction=" + this.getDirection() 
+					+ "\n, spread=" + this.getSpread() 
+					+ "\n, body=" + this.getBody() 
+					+ "\n, length=" + this.getLength()
 					+ "\n, volume=" + this.getVolume()
-					+ "\n, bid=" + Arrays.toString(bid) 
-					+ "\n, ask=" + Arrays.toString(ask) 
+					+ "\n, bid=" + Arrays.toString(this.getBid()) 
+					+ "\n, ask=" + Arrays.toString(this.getAsk()) 
 					+ "\n]\n";
 	}
 
@@ -478,28 +425,27 @@ public class Candle implements Comparable<Candle> {
 		return "Candle "
 				+ "\n[ id=" + candle_id	
 				+ "\n, total_candles=" + total_candles
-				+ "\n, time=" + time 
+				+ "\n, time=" + this.getTime() 
 				+ "\n, unit_pip=" + unit_pip 
 				+ "\n, unit_distance=" + unit_distance
-				+ "\n, direction=" + direction 
-				+ "\n, spread=" + spread 
-				+ "\n, body=" + body 
-				+ "\n, length=" + length 
+				+ "\n, direction=" + this.getDirection() 
+				+ "\n, spread=" + this.getSpread() 
+				+ "\n, body=" + this.getBody() 
+				+ "\n, length=" + this.getLength() 
 				+ "\n, volume=" + this.getVolume()
-				+ "\n, bid=" + Arrays.toString(bid) 
-				+ "\n, ask=" + Arrays.toString(ask) 
-				+ "\n, base_candle=" + base_candle 
+				+ "\n, bid=" + Arrays.toString(this.getBid()) 
+				+ "\n, ask=" + Arrays.toString(this.getAsk()) 
+				+ "\n, base_candle=" + this.block.toCompactorCandle(this.row) 
 				+ "]\n";
 	}
 	
 	
 	/**
-	 * Default method of comparing candle is via time (LocalDateTime)
+	 * Default method of comparing candle is via time (epoch milliseconds)
 	 */
 	@Override
 	public int compareTo(Candle o) {
-		LocalDateTime o_time = o.getTime();
-		return (this.time.compareTo(o_time));
+		return(Long.compare(this.getEpochMilli(), o.getEpochMilli()));
 	}
 
 
@@ -7,6 +7,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import com.hills.sim.Constants.CandleFieldE;
 import com.hills.sim.exceptions.CandlesHistoryExc;
 import com.hills.sim.exceptions.TimeSeriesExc;
 import com.hills.sim.logs.LogRow;
@@ -180,7 +181,7 @@ public class CandlesHistory implements
 	 */
 	public <T> List<T> getAll(Function<Candle, T> get_func) {
 		List<T> result = this.candles.toList()
-								.parallelStream()
+								.stream()
 								.map(get_func)
 								.collect(Collectors.toList());
 		return(result);
@@ -257,7 +258,7 @@ public class CandlesHistory implements
 								Function<T, R> map_func) {
 		
 		List<R> result = this.candles.toList()
-										.parallelStream()
+										.stream()
 										.map(get_func)
 										.map(map_func)
 										.collect(Collectors.toList());
@@ -278,7 +279,7 @@ public class CandlesHistory implements
 								Predicate<Candle> filter_cond) {
 		
 		List<T> result = this.candles.toList()
-									.parallelStream()
+									.stream()
 									.filter(filter_cond)
 									.map(get_func)
 									.collect(Collectors.toList());
@@ -296,7 +297,7 @@ public class CandlesHistory implements
 	public int reduceInt(Function<Candle, Integer> get_func) {
 		
 		int result = this.candles.toList()
-								.parallelStream()
+								.stream()
 								.map(get_func)
 								.reduce(0, Integer::sum);
 					
@@ -313,7 +314,7 @@ public class CandlesHistory implements
 	public float reduceFloat(Function<Candle, Float> get_func) {
 		
 		float result = this.candles.toList()
-								.parallelStream()
+								.stream()
 								.map(get_func)
 								.reduce(0F, Float::sum);
 					
@@ -333,7 +334,7 @@ public class CandlesHistory implements
 								Comparator<Candle> cmp_func) {
 		
 		List<T> result = this.candles.toList()
-									.parallelStream()
+									.stream()
 									.sorted(cmp_func)
 									.map(get_func)
 									.collect(Collectors.toList());
@@ -349,11 +350,7 @@ public class CandlesHistory implements
 	 * @return count Number of items that meet the count condition
 	 */
 	public int countBy(Predicate<Candle> count_cond) {
-		int result = (int) this.candles.toList()
-									 .parallelStream()
-									 .filter(count_cond)
-									 .count();
-		return(result);
+		return(this.count(count_cond));
 	}
 	
 	
@@ -369,7 +366,7 @@ public class CandlesHistory implements
 							Comparator<Candle> cmp_func) {
 		
 		Optional<Candle> result = this.candles.toList()
-									.parallelStream()
+									.stream()
 									.max(cmp_func);
 		
 		if(result.isPresent() == false) return(null);
@@ -392,7 +389,7 @@ public class CandlesHistory implements
 							Comparator<Candle> cmp_func) {
 		
 		Optional<Candle> result = this.candles.toList()
-									.parallelStream()
+									.stream()
 									.min(cmp_func);
 
 		if(result.isPresent() == false) return(null);
@@ -403,6 +400,152 @@ public class CandlesHistory implements
 	}
 
 
+	/**
+	 * Primitive aggregates of 1 field of the candles, selected by
+	 * CandleFieldE; Sequential, over the candles newest first, without
+	 * allocating
+	 */
+	
+	
+	/**
+	 * Sum a field, for all candles; The sum is in double, then rounded 
+	 * once to float, so the last bits may differ from a float reduction 
+	 * such as reduceFloat
+	 * @param field Field of the candle
+	 * @return result Sum, 0 when empty
+	 */
+	public float sum(CandleFieldE field) {
+		List<Candle> candles = this.candles.toList();
+		double result = 0;
+		
+		for(int i = 0; i < candles.size(); i++) 
+			result += candles.get(i).getValue(field);
+		
+		return((float) result);
+	}
+	
+	
+	/**
+	 * Mean of a field, for all candles
+	 * @param field Field of the candle
+	 * @return result Mean, NaN when empty
+	 */
+	public float mean(CandleFieldE field) {
+		int size = this.candles.size();
+		if(size == 0) return(Float.NaN);
+		
+		return(this.sum(field) / size);
+	}
+	
+	
+	/**
+	 * Max value of a field, for all candles
+	 * @param field Field of the candle
+	 * @return result Max value, NaN when empty
+	 */
+	public float max(CandleFieldE field) {
+		int index = this.argmax(field);
+		if(index < 0) return(Float.NaN);
+		
+		return(this.candles.toList().get(index).getValue(field));
+	}
+	
+	
+	/**
+	 * Min value of a field, for all candles
+	 * @param field Field of the candle
+	 * @return result Min value, NaN when empty
+	 */
+	public float min(CandleFieldE field) {
+		int index = this.argmin(field);
+		if(index < 0) return(Float.NaN);
+		
+		return(this.candles.toList().get(index).getValue(field));
+	}
+	
+	
+	/**
+	 * Index of the max value of a field; Ties keep the newest candle
+	 * @param field Field of the candle
+	 * @return result Index, as in getNth; -1 when empty
+	 */
+	public int argmax(CandleFieldE field) {
+		List<Candle> candles = this.candles.toList();
+		if(candles.isEmpty()) return(-1);
+		
+		int result = 0;
+		float max = candles.get(0).getValue(field);
+		
+		for(int i = 1; i < candles.size(); i++) {
+			float value = candles.get(i).getValue(field);
+			if(value > max) {
+				max = value;
+				result = i;
+			}
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Index of the min value of a field; Ties keep the newest candle
+	 * @param field Field of the candle
+	 * @return result Index, as in getNth; -1 when empty
+	 */
+	public int argmin(CandleFieldE field) {
+		List<Candle> candles = this.candles.toList();
+		if(candles.isEmpty()) return(-1);
+		
+		int result = 0;
+		float min = candles.get(0).getValue(field);
+		
+		for(int i = 1; i < candles.size(); i++) {
+			float value = candles.get(i).getValue(field);
+			if(value < min) {
+				min = value;
+				result = i;
+			}
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Count the candles which match the count condition, sequentially
+	 * @param count_cond Count condition
+	 * @return count Number of candles that meet the count condition
+	 */
+	public int count(Predicate<Candle> count_cond) {
+		List<Candle> candles = this.candles.toList();
+		int result = 0;
+		
+		for(int i = 0; i < candles.size(); i++) 
+			if(count_cond.test(candles.get(i))) result++;
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Copy a field of the candles into an array, newest first
+	 * @param field Field of the candle
+	 * @param result Array to copy into; Only as many candles as fit
+	 * are copied
+	 * @return Number of candles copied
+	 */
+	public int copy(CandleFieldE field, float[] result) {
+		List<Candle> candles = this.candles.toList();
+		int n = Math.min(candles.size(), result.length);
+		
+		for(int i = 0; i < n; i++) 
+			result[i] = candles.get(i).getValue(field);
+		
+		return(n);
+	}
+
+
 	@Override
 	public String toString() {
 		return "CandlesHistory "
@@ -65,6 +65,42 @@ public class Order implements CandleViewer, Loggable {
 	protected float closed_price;
 	protected float pnl;
 	protected float req_margin;
+	
+	
+	/**
+	 * Pnl in cents, as computed: Booked into the Account as is; The Pnl 
+	 * above is for display and the logs
+	 */
+	protected long pnl_cents;
+	
+	
+	/**
+	 * Points price mode: The price levels in whole points, set along with 
+	 * the prices; The prices are snapped to the points
+	 */
+	private boolean points_mode;
+	protected int entry_points;
+	protected int stop_loss_points;
+	protected int take_profit_points;
+	protected int filled_points;
+	protected int closed_points;
+	
+	
+	/**
+	 * Parking: OrderBook holding the pending order in its TriggerIndex,
+	 * and the candles viewed by the OrderBook when parked
+	 */
+	private OrderBook parked_in;
+	private int parked_at;
+	
+	
+	/**
+	 * Booked into the Account totals: Open-filled status, and the Pnl and 
+	 * required margin of the open-filled order, in cents
+	 */
+	private boolean booked_filled;
+	private long booked_pnl;
+	private long booked_margin;
 
 	
 	public Order(Account account, Calculator calculator) 
@@ -72,6 +108,7 @@ public class Order implements CandleViewer, Loggable {
 		try {
 			this.account = account;
 			this.calculator = calculator;
+			this.points_mode = calculator.isPointsMode();
 			
 		} catch (Exception e) {
 			String error_msg = "%s: Error making Order\n";
@@ -106,6 +143,20 @@ public class Order implements CandleViewer, Loggable {
 		this.closed_price = 0;
 		this.pnl = 0;
 		this.req_margin = 0;
+		this.pnl_cents = 0;
+		
+		this.entry_points = 0;
+		this.stop_loss_points = 0;
+		this.take_profit_points = 0;
+		this.filled_points = 0;
+		this.closed_points = 0;
+		
+		this.parked_in = null;
+		this.parked_at = 0;
+		
+		this.booked_filled = false;
+		this.booked_pnl = 0;
+		this.booked_margin = 0;
 	}
 	
 	
@@ -132,6 +183,78 @@ public class Order implements CandleViewer, Loggable {
 	}
 	
 	
+	/**
+	 * Park the pending order in the TriggerIndex of the OrderBook; 
+	 * The order skips the candles until its entry price is within range
+	 * @param order_book OrderBook parking the order
+	 * @param views Candles viewed by the OrderBook so far
+	 */
+	void park(OrderBook order_book, int views) {
+		this.parked_in = order_book;
+		this.parked_at = views;
+	}
+	
+	
+	/**
+	 * Catch up with the candles skipped while parked, as if each candle 
+	 * was viewed without filling the entry price
+	 * @param candle Last candle skipped; Null when the OrderBook dropped 
+	 * the order, i.e. for the next run
+	 * @param views Candles viewed by the OrderBook so far
+	 */
+	void unpark(Candle candle, int views) {
+		if(candle != null) {
+			this.candle_count += views - this.parked_at;
+			this.current_candle = candle;
+		}
+		
+		this.parked_in = null;
+		this.parked_at = 0;
+	}
+	
+	
+	/**
+	 * Leave the TriggerIndex before the order is used outside of the
+	 * OrderBook, i.e. by the EA
+	 */
+	private void leavePark() {
+		if(this.parked_in != null) this.parked_in.unpark(this);
+	}
+	
+	
+	/**
+	 * Book the changes of the open-filled status, Pnl and required margin
+	 * into the Account totals; Called after each of them is set
+	 */
+	protected void book() {
+		if(this.account == null) return;
+		
+		boolean filled = this.isOpen() && this.isFilled();
+		long pnl = filled ? this.pnl_cents : 0;
+		long margin = filled ? Math.round(this.req_margin * 100.0) : 0;
+		
+		if(filled == this.booked_filled && pnl == this.booked_pnl && 
+		   margin == this.booked_margin) return;
+		
+		this.account.bookOrder((filled ? 1 : 0) - (this.booked_filled ? 1 : 0),
+							   pnl - this.booked_pnl,
+							   margin - this.booked_margin);
+		
+		this.booked_filled = filled;
+		this.booked_pnl = pnl;
+		this.booked_margin = margin;
+	}
+	
+	
+	/**
+	 * Is the order parked in the TriggerIndex of an OrderBook?
+	 * @return True: Parked
+	 */
+	public boolean isParked() {
+		return(this.parked_in != null);
+	}
+	
+	
 	/**
 	 * Get the LogHeader for Order class
 	 * @return header LogRow
@@ -149,6 +272,8 @@ public class Order implements CandleViewer, Loggable {
 	@Override
 	public LogRow toLogRow() {
 		
+		this.leavePark();
+		
 		String ord_id = Integer.toString(this.order_id);
 		String can_id = Integer.toString(this.current_candle.getId());
 		String ord_type = this.type.toString();
@@ -337,6 +462,11 @@ public class Order implements CandleViewer, Loggable {
 	 * @return
 	 */
 	private boolean canCloseTakeProfit() {
+		if(this.points_mode)
+			return(this.isBuyOrder()
+					? this.take_profit_points <= this.getBidHighPoints()
+					: this.take_profit_points >= this.getAskLowPoints());
+		
 		boolean result = this.isBuyOrder()
 						? this.take_profit <= this.getBidHigh()
 						: this.take_profit >= this.getAskLow();
@@ -384,6 +514,11 @@ public class Order implements CandleViewer, Loggable {
 	 * @return
 	 */
 	private boolean canCloseStopLoss() {
+		if(this.points_mode)
+			return(this.isBuyOrder()
+					? this.stop_loss_points >= this.getBidLowPoints()
+					: this.stop_loss_points <= this.getAskHighPoints());
+		
 		boolean result = this.isBuyOrder()
 						? this.stop_loss >= this.getBidLow()
 						: this.stop_loss <= this.getAskHigh();
@@ -431,6 +566,20 @@ public class Order implements CandleViewer, Loggable {
 	private boolean canFillEntryPrice() {
 		boolean result = false;
 		
+		if(this.points_mode) {
+			if(this.isMarketOrder() || this.isStopOrder())
+				result = this.isBuyOrder()
+					    ? this.entry_points <= this.getAskHighPoints()
+					    : this.entry_points >= this.getBidLowPoints();
+			
+			if(this.isLimitOrder())
+				result = this.isBuyOrder()
+						? this.entry_points >= this.getAskLowPoints()
+						: this.entry_points <= this.getBidHighPoints();
+			
+			return(result);
+		}
+		
 		if(this.isMarketOrder() || this.isStopOrder())
 			result = this.isBuyOrder()
 				    ? this.entry_price <= this.getAskHigh()
@@ -486,6 +635,9 @@ public class Order implements CandleViewer, Loggable {
 	private boolean isValidStopLoss(float sl) {
 		boolean result = false;
 		
+		if(this.points_mode) 
+			return(this.isValidStopLoss(this.calculator.toPricePoints(sl)));
+		
 		if(this.isFilled()) 
 			result = this.isBuyOrder()
 				   ? sl <= this.getBidClose()
@@ -505,6 +657,32 @@ public class Order implements CandleViewer, Loggable {
 	}
 	
 	
+	/**
+	 * Helper function to determine if the stop loss price is valid,
+	 * in the Points price mode
+	 * @param sl_points Whole number, Stop loss price in points
+	 * @return
+	 */
+	private boolean isValidStopLoss(int sl_points) {
+		boolean result = false;
+		
+		if(this.isFilled()) 
+			result = this.isBuyOrder()
+				   ? sl_points <= this.getBidClosePoints()
+				   : sl_points >= this.getAskClosePoints();
+		
+		if(this.isUnfilled()) {
+			if(this.isEntryPriceSet() == false) return(false);
+
+			result = this.isBuyOrder()
+				   ? sl_points <= this.entry_points
+				   : sl_points >= this.entry_points;
+		}
+		
+		return(result);
+	}
+	
+	
 	/**
 	 * Set the Stop loss for all order types
 	 * Stop loss can be set many times, regardless if the order 
@@ -521,8 +699,14 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isValidStopLoss(sl));
  
 		
-		if(isvalid)
+		if(isvalid) {
 			this.stop_loss = sl;
+			
+			if(this.points_mode) {
+				this.stop_loss_points = this.calculator.toPricePoints(sl);
+				this.stop_loss = this.calculator.toPrice(this.stop_loss_points);
+			}
+		}
 		
 		else {
 			String error_msg = 
@@ -543,6 +727,9 @@ public class Order implements CandleViewer, Loggable {
 	private boolean isValidTakeProfit(float tp) {
 		boolean result = false;
 		
+		if(this.points_mode) 
+			return(this.isValidTakeProfit(this.calculator.toPricePoints(tp)));
+		
 		if(this.isFilled()) 
 			result = this.isBuyOrder()
 				   ? tp >= this.getBidClose()
@@ -561,6 +748,32 @@ public class Order implements CandleViewer, Loggable {
 	}
 	
 	
+	/**
+	 * Helper function to determine if the take profit price is valid,
+	 * in the Points price mode
+	 * @param tp_points Whole number, Take profit price in points
+	 * @return
+	 */
+	private boolean isValidTakeProfit(int tp_points) {
+		boolean result = false;
+		
+		if(this.isFilled()) 
+			result = this.isBuyOrder()
+				   ? tp_points >= this.getBidClosePoints()
+				   : tp_points <= this.getAskClosePoints();
+		
+		if(this.isUnfilled()) {
+			if(this.isEntryPriceSet() == false) return(false);
+
+			result = this.isBuyOrder()
+				   ? tp_points >= this.entry_points
+				   : tp_points <= this.entry_points;
+		}
+		
+		return(result);
+	}
+	
+	
 	/**
 	 * Set the Take profit for all order types
 	 * Take profit can be set many times, regardless if the order 
@@ -577,8 +790,15 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isValidTakeProfit(tp));
  
 		
-		if(isvalid)
+		if(isvalid) {
 			this.take_profit = tp;
+			
+			if(this.points_mode) {
+				this.take_profit_points = this.calculator.toPricePoints(tp);
+				this.take_profit = this.calculator.toPrice
+												(this.take_profit_points);
+			}
+		}
 		
 		else {
 			String error_msg = 
@@ -601,6 +821,10 @@ public class Order implements CandleViewer, Loggable {
 	private boolean isValidEntryPrice(float entry) {
 		boolean result = false;
 		
+		if(this.points_mode) 
+			return(this.isValidEntryPrice(this.calculator
+												.toPricePoints(entry)));
+		
 		
 		if(this.isMarketOrder()) {
 			if(this.isEntryPriceSet()) return(false);
@@ -626,6 +850,37 @@ public class Order implements CandleViewer, Loggable {
 	}
 	
 	
+	/**
+	 * Helper function to determine if the entry price is valid,
+	 * in the Points price mode
+	 * @param entry_points Whole number, Entry price in points
+	 * @return
+	 */
+	private boolean isValidEntryPrice(int entry_points) {
+		boolean result = false;
+		
+		if(this.isMarketOrder()) {
+			if(this.isEntryPriceSet()) return(false);
+
+			result = this.isBuyOrder()
+				   ? entry_points == this.getAskClosePoints()
+				   : entry_points == this.getBidClosePoints();
+		}
+		
+		if(this.isStopOrder()) 
+			result = this.isBuyOrder()
+				   ? entry_points >= this.getAskClosePoints()
+				   : entry_points <= this.getBidClosePoints();
+		
+		if(this.isLimitOrder()) 
+			result = this.isBuyOrder()
+				   ? entry_points <= this.getAskClosePoints()
+				   : entry_points >= this.getBidClosePoints();
+		
+		return(result);
+	}
+	
+	
 	/**
 	 * Set the Entry price for all order types
 	 * @param entry Decimal number, Entry price without slippage
@@ -635,6 +890,9 @@ public class Order implements CandleViewer, Loggable {
 										throws OrderExc {
 		boolean isvalid = true;
 		
+//		The parked order is indexed by the entry price
+		this.leavePark();
+		
 //		Entry price argument must be valid
 //		Entry price must be unset
 //		FOK status must be unfilled
@@ -643,8 +901,14 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isValidEntryPrice(entry));
  
 		
-		if(isvalid)
+		if(isvalid) {
 			this.entry_price = entry;
+			
+			if(this.points_mode) {
+				this.entry_points = this.calculator.toPricePoints(entry);
+				this.entry_price = this.calculator.toPrice(this.entry_points);
+			}
+		}
 		
 		else {
 			String error_msg = 
@@ -664,6 +928,13 @@ public class Order implements CandleViewer, Loggable {
 	 * @return
 	 */
 	public float calcFilledPrice(float entry_price) {
+		if(this.points_mode) {
+			int points = this.calculator.toPricePoints(entry_price);
+			return(this.calculator.toPrice(this.isBuyOrder()
+											? points + this.slippage
+											: points - this.slippage));
+		}
+		
 		float slippage_dec = this.calculator.toDecimal(this.slippage);
 		float result = (this.isBuyOrder())
 						? entry_price + slippage_dec
@@ -681,6 +952,13 @@ public class Order implements CandleViewer, Loggable {
 	 * @return
 	 */
 	public float calcClosedPrice(float exit_price) {
+		if(this.points_mode) {
+			int points = this.calculator.toPricePoints(exit_price);
+			return(this.calculator.toPrice(this.isBuyOrder()
+											? points - this.slippage
+											: points + this.slippage));
+		}
+		
 		float slippage_dec = this.calculator.toDecimal(this.slippage);
 		float result = (this.isBuyOrder())
 						? exit_price - slippage_dec
@@ -756,6 +1034,8 @@ public class Order implements CandleViewer, Loggable {
 	 */
 	public void kill() {
 		
+		this.leavePark();
+		
 		if(this.isOpen() && this.isUnfilled()) 
 			try {
 				this.setClose();
@@ -778,6 +1058,7 @@ public class Order implements CandleViewer, Loggable {
 	public void close() throws OrderExc {
 		float closed_price;
 		
+		this.leavePark();
 		
 		if(this.current_candle == null) {
 			String error_msg = "%s: Current candle is null";
@@ -845,7 +1126,7 @@ public class Order implements CandleViewer, Loggable {
 			this.setClosedPrice(closed_price);
 			this.setRealizedPnl();
 			
-			this.account.recordRealizedPnl(this.pnl);
+			this.account.recordRealizedPnl(this);
 			
 			this.setClose();
 			this.setTimeClosed();
@@ -893,7 +1174,10 @@ public class Order implements CandleViewer, Loggable {
 		
 //		Calculate the required margin
 		try {
-			result = this.calculator.calcRequiredMargin
+			result = this.points_mode
+				   ? this.calculator.calcRequiredMargin
+						(this.calculator.toPricePoints(fill), this.contract_size)
+				   : this.calculator.calcRequiredMargin
 						(fill, fill, this.contract_size);
 			result = this.calculator.round(result, 2);
 			
@@ -1039,8 +1323,10 @@ public class Order implements CandleViewer, Loggable {
 									throws OrderExc {
 		
 		if(this.isOpen() 
-				&& (status == OrderStatusE.CLOSE)) 
+				&& (status == OrderStatusE.CLOSE)) {
 			this.status = status;
+			this.book();
+		}
  	
 		else {
 			String error_msg = 
@@ -1061,8 +1347,10 @@ public class Order implements CandleViewer, Loggable {
 									throws OrderExc {
 		
 		if(this.isUnfilled() 
-				&& (fill_status != OrderFillE.UNFILLED))
+				&& (fill_status != OrderFillE.UNFILLED)) {
 			this.fill_status = fill_status;
+			this.book();
+		}
  		
 		else {
 			String error_msg = 
@@ -1186,8 +1474,16 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isFilledPriceSet() == false);
 		isvalid = isvalid && (this.isUnfilled());
 		
-		if(isvalid == true)
+		if(isvalid == true) {
 			this.filled_price = filled_price;
+			
+			if(this.points_mode) {
+				this.filled_points = this.calculator.toPricePoints
+														(filled_price);
+				this.filled_price = this.calculator.toPrice
+														(this.filled_points);
+			}
+		}
 		
 		else {
 			String error_msg = 
@@ -1214,8 +1510,16 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isFilled());
 
 
-		if(isvalid == true)
+		if(isvalid == true) {
 			this.closed_price = closed_price;
+			
+			if(this.points_mode) {
+				this.closed_points = this.calculator.toPricePoints
+														(closed_price);
+				this.closed_price = this.calculator.toPrice
+														(this.closed_points);
+			}
+		}
 		
 		else {
 			String error_msg = 
@@ -1320,6 +1624,12 @@ public class Order implements CandleViewer, Loggable {
 		}
 		
 		
+		if(this.points_mode) {
+			this.setPnl(this.calculator.toPricePoints(closed_price));
+			return;
+		}
+		
+		
 //		Calculate the total distance
 //		Buy: Close - Filled price
 //		Sell: Filled price - Close
@@ -1341,6 +1651,8 @@ public class Order implements CandleViewer, Loggable {
 			this.pnl = price_ppt * total_distance * this.contract_size;
 			this.pnl -= this.commission;
 			this.pnl = this.calculator.round(this.pnl, 2);
+			this.pnl_cents = Math.round(this.pnl * 100.0);
+			this.book();
 			
 		} catch (CalculatorExc e) {
 			String error_msg = "%s: Error using calculator for calculating Pnl\n";
@@ -1354,6 +1666,47 @@ public class Order implements CandleViewer, Loggable {
 	}
 	
 	
+	/**
+	 * Set the Pnl for the order, in the Points price mode: The total 
+	 * distance is the exact difference of the points, and the Pnl is 
+	 * rounded once, in cents
+	 * @param closed_points Whole number, bid/ask price in points, 
+	 * includes slippage
+	 * @throws OrderExc
+	 */
+	private void setPnl(int closed_points) throws OrderExc {
+		float price_ppt = 0;
+		
+//		Buy: Close - Filled price
+//		Sell: Filled price - Close
+		int total_distance = this.isBuyOrder() 
+						   ? closed_points - this.filled_points
+						   : this.filled_points - closed_points;
+		
+		try {
+			price_ppt = this.calculator.calcPricePerPoint(this.filled_points);
+			
+			long pnl = this.calculator.toCents((double) price_ppt 
+												* total_distance 
+												* this.contract_size);
+			pnl -= this.calculator.toCents(this.commission);
+			
+			this.pnl_cents = pnl;
+			this.pnl = this.calculator.toMoney(pnl);
+			this.book();
+			
+		} catch (CalculatorExc e) {
+			String error_msg = "%s: Error using calculator for calculating Pnl\n";
+			String error_msg2 = 
+			"Price p/pt: %.2f, total distance: %d, size: %.2f\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			System.err.printf(error_msg2, price_ppt, total_distance, 
+								this.contract_size);
+			throw new OrderExc();
+		}
+	}
+	
+	
 	/**
 	 * Set the required margin once, when the FOK status is unfilled
 	 * and the required margin is valid
@@ -1369,8 +1722,10 @@ public class Order implements CandleViewer, Loggable {
 		isvalid = isvalid && (this.isReqMarginSet() == false);
 		isvalid = isvalid && (this.isUnfilled());
 		
-		if(isvalid == true)
+		if(isvalid == true) {
 			this.req_margin = req_margin;
+			this.book();
+		}
 		
 		else {
 			String error_msg = 
@@ -1590,9 +1945,10 @@ public class Order implements CandleViewer, Loggable {
 	public float getBidHigh() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getBid()[1];
+		result = this.current_candle.getBidH();
 		
 		return(result);
 	}
@@ -1605,9 +1961,10 @@ public class Order implements CandleViewer, Loggable {
 	public float getBidLow() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getBid()[2];
+		result = this.current_candle.getBidL();
 		
 		return(result);
 	}
@@ -1620,9 +1977,10 @@ public class Order implements CandleViewer, Loggable {
 	public float getBidClose() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getBid()[3];
+		result = this.current_candle.getBidC();
 		
 		return(result);
 	}
@@ -1635,9 +1993,10 @@ public class Order implements CandleViewer, Loggable {
 	public float getAskHigh() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getAsk()[1];
+		result = this.current_candle.getAskH();
 		
 		return(result);
 	}
@@ -1650,9 +2009,10 @@ public class Order implements CandleViewer, Loggable {
 	public float getAskLow() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getAsk()[2];
+		result = this.current_candle.getAskL();
 		
 		return(result);
 	}
@@ -1665,15 +2025,67 @@ public class Order implements CandleViewer, Loggable {
 	public float getAskClose() {
 		float result = 0;
 		
+		this.leavePark();
 		if(this.current_candle == null) return(result);
 		
-		result = this.current_candle.getBid()[3];
+		if(this.points_mode) return(this.current_candle.getAskC());
+		
+		result = this.current_candle.getBidC();
 		result += this.current_candle.getSpread();
 		
 		return(result);
 	}
 	
 	
+	/**
+	 * Price levels of the current candle in whole points, for the Points
+	 * price mode
+	 * @return
+	 */
+	
+	private int getBidHighPoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getBidHPoints());
+	}
+	
+	private int getBidLowPoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getBidLPoints());
+	}
+	
+	private int getBidClosePoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getBidCPoints());
+	}
+	
+	private int getAskHighPoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getAskHPoints());
+	}
+	
+	private int getAskLowPoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getAskLPoints());
+	}
+	
+	private int getAskClosePoints() {
+		this.leavePark();
+		if(this.current_candle == null) return(0);
+		
+		return(this.current_candle.getAskCPoints());
+	}
+	
+	
 	/**
 	 * Getters
 	 */
@@ -1683,6 +2095,10 @@ public class Order implements CandleViewer, Loggable {
 		return pnl;
 	}
 
+	public long getPnlCents() {
+		return pnl_cents;
+	}
+
 	public float getRequiredMargin() {
 		return req_margin;
 	}
@@ -1693,10 +2109,12 @@ public class Order implements CandleViewer, Loggable {
 
 
 	public int getCandleCount() {
+		this.leavePark();
 		return candle_count;
 	}
 
 	public Candle getCurrentCandle() {
+		this.leavePark();
 		return current_candle;
 	}
 
@@ -1739,6 +2157,7 @@ public class Order implements CandleViewer, Loggable {
 	 */
 	@Override
 	public String toString() {
+		this.leavePark();
 		return "\nOrder [order_id=" + order_id 
 				+ "\n, direction=" + direction 
 				+ "\n, type=" + type 
@@ -1,7 +1,9 @@
 package com.hills.sim.stage;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.hills.sim.settings.Run;
@@ -19,12 +21,23 @@ public class OrderBook implements
 								CandleViewer, RunHandler, Loggable {
 
 	private final Calculator calculator;
-	private final List<Order> open_orders;
+	private final Set<Order> open_orders;
 	private final List<Order> closed_orders;
 	private Account account;
 	
+	/**
+	 * Open orders are either active, viewing every candle, or pending 
+	 * orders parked in the TriggerIndex until the candle reaches their 
+	 * entry price; Active orders are sorted by order ID
+	 */
+	private final TriggerIndex triggers;
+	private List<Order> active_orders;
+	private int views;
+	private int viewing_id;
+	
 	private Run run;
 	private Candle current_candle;
+	private Candle previous_candle;
 	private int order_id;
 	private long order_log_id;
 	
@@ -36,8 +49,11 @@ public class OrderBook implements
 	public OrderBook(SESettings settings) throws OrderBookExc {
 		this.run = null;
 		this.current_candle = null;
+		this.previous_candle = null;
 		this.order_id = 1;
 		this.order_log_id = 1;
+		this.views = 0;
+		this.viewing_id = Integer.MAX_VALUE;
 		
 //		Make Calculator object
 		try {
@@ -53,8 +69,10 @@ public class OrderBook implements
 		
 //		Make new lists
 		try {
-			this.open_orders = new ArrayList<Order>();
+			this.open_orders = new LinkedHashSet<Order>();
 			this.closed_orders = new ArrayList<Order>();
+			this.active_orders = new ArrayList<Order>();
+			this.triggers = new TriggerIndex();
 			
 		} catch (Exception e) {
 			String error_msg = "%s: Error making lists for orders\n";
@@ -82,7 +100,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -107,7 +125,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -118,6 +136,19 @@ public class OrderBook implements
 	
 	
 	
+	/**
+	 * Add a new order to the open orders; The order is active until
+	 * it is viewed once
+	 * @param order Order, or null when not opened
+	 */
+	private void addOpenOrder(Order order) {
+		if(order == null) return;
+		
+		this.open_orders.add(order);
+		this.active_orders.add(order);
+	}
+	
+	
 	/**
 	 * Helper method to create a new MarketOrder
 	 * @param direction Direction of the order
@@ -235,7 +266,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -263,7 +294,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -360,7 +391,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -388,7 +419,7 @@ public class OrderBook implements
 										contract_size, 
 										slippage, 
 										commission);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -473,7 +504,7 @@ public class OrderBook implements
 	public Order openTestOrder() throws OrderExc {
 		try {
 			Order order = new TestOrder(this.account, this.calculator);
-			open_orders.add(order);
+			this.addOpenOrder(order);
 			return(order);
 			
 		} catch (OrderExc e) {
@@ -514,6 +545,9 @@ public class OrderBook implements
 		this.order_id = 1;
 		this.open_orders.clear();
 		this.closed_orders.clear();
+		this.active_orders.clear();
+		this.triggers.clear();
+		this.previous_candle = null;
 	}
 	
 	
@@ -542,54 +576,6 @@ public class OrderBook implements
 	}
 	
 	
-	/**
-	 * Counts the total Open-Filled orders
-	 * @return
-	 */
-	public int totalOpenFilledOrders() {
-		int result = 0;
-		
-		for(Order order: this.open_orders) 
-			if(order.isOpen() && order.isFilled()) 
-				result++;
-		
-		return(result);
-	}
-	
-	
-	/**
-	 * Also known as totalUsedMargin for all Open-Filled orders.
-	 * Add all the required margin for Open-Filled orders	  
-	 * @return
-	 */
-	public float totalRequiredMargin() {
-		float result = 0;
-		
-		for(Order order: this.open_orders) 
-			if(order.isOpen() && order.isFilled()) 
-				result += order.getRequiredMargin();
-		
-		
-		return(result);
-	}
-	
-	
-	/**
-	 * Add all the unrealized PnL for Open-Filled orders
-	 * @return
-	 */
-	public float totalUnrealizedPnL() {
-		float result = 0;
-		
-		for(Order order: this.open_orders) 
-			if(order.isOpen() && order.isFilled()) 
-				result += order.getPnl();
-		
-		
-		return(result);
-	}
-	
-	
 	/**
 	 * Add all the unrealized PnL for Open-Filled orders
 	 * @return
@@ -597,7 +583,7 @@ public class OrderBook implements
 	public float totalRealizedPnL() {
 		float result = 0;
 		
-		for(Order order: this.open_orders) 
+		for(Order order: this.active_orders) 
 			if(order.isClose() && order.isFilled()) 
 				result += order.getPnl();
 		
@@ -614,6 +600,9 @@ public class OrderBook implements
 	 * If the margin level has dropped below the stop out level, after an order,
 	 * perform a margin call.
 	 * Flush all closed orders for logging
+	 * Parked orders are traversed only when the candle reaches their 
+	 * entry price; Otherwise, the order and the margin information would
+	 * not change
 	 * @param candle Candle to listen to
 	 */
 	@Override
@@ -621,15 +610,40 @@ public class OrderBook implements
 							throws OrderBookExc {
 		
 //		Save the current candle
+		this.previous_candle = this.current_candle;
 		this.current_candle = candle;
+		this.views++;
 		
 //		Listen only when there are orders
 		if(this.open_orders.size() == 0) return;
+		
+//		Unpark the orders which the candle can fill, into the active 
+//		orders; They skipped the candles until the previous candle
+		List<Order> triggered = this.triggers.poll(candle);
+		for(Order order: triggered) 
+			order.unpark(this.previous_candle, this.views - 1);
+		
+		this.active_orders = this.merge(this.active_orders, triggered);
+		List<Order> orders = new ArrayList<>(this.active_orders);
+		
+//		A parked order before the first active order would have updated
+//		the margin info first
+		int first_id = orders.size() > 0 
+					 ? orders.get(0).getOrderID() 
+					 : Integer.MAX_VALUE;
+		
+		if(this.triggers.getFirstId() < first_id) {
+			this.viewing_id = this.triggers.getFirstId() + 1;
+			this.account.updateMarginInfo();
+			this.performMarginCall();
+		}
 	
 //		Update all orders
 //		update the margin info after listening to the candle 
 //		Perform margin call, if necessary
-		for(Order order: this.open_orders) {
+		for(Order order: orders) {
+			this.viewing_id = order.getOrderID();
+			
 			try {
 				order.viewCandle(candle);
 				
@@ -645,17 +659,11 @@ public class OrderBook implements
 //		When margin calculations are enabled, always see if margin call
 //		should be called after the margin information is updated after
 //		each order is traversed.
-			try {
-				this.account.performMarginCall();
-				
-			} catch (OrderExc e) {
-				String error_msg = "%s: Error performing margin call\n";
-				System.err.printf(error_msg, this.getClass().getName());
-				e.printStackTrace();
-				throw new OrderBookExc();
-			}
+			this.performMarginCall();
 		}
 		
+		this.viewing_id = Integer.MAX_VALUE;
+		
 //		Close all open orders when the last candle is encountered
 		if(this.current_candle.isLastCandle())
 			try {
@@ -672,19 +680,114 @@ public class OrderBook implements
 	}
 	
 	
+	/**
+	 * Perform the margin call of the Account, if necessary
+	 * @throws OrderBookExc
+	 */
+	private void performMarginCall() throws OrderBookExc {
+		try {
+			this.account.performMarginCall();
+			
+		} catch (OrderExc e) {
+			String error_msg = "%s: Error performing margin call\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			e.printStackTrace();
+			throw new OrderBookExc();
+		}
+	}
+	
+	
 	/**
 	 * Flush out all closed orders from the list of open orders
 	 * Save all the closed orders for logging
+	 * Park the pending orders, which viewed the candle
 	 */
 	private void flushClosedOrders() {
-		List<Order> closed_orders = this.open_orders.stream()
-												.filter(Order::isClose)
-												.collect(Collectors.toList());
+		List<Order> active_orders = new ArrayList<>();
 		
-		for(Order order: closed_orders) this.open_orders.remove((Object) order);
+		for(Order order: this.active_orders) {
+			if(order.isClose()) {
+				this.open_orders.remove(order);
+				this.closed_orders.add(order);
+			}
+			
+			else if(this.triggers.put(order)) 
+				order.park(this, this.views);
+			
+			else 
+				active_orders.add(order);
+		}
 		
-		this.closed_orders.addAll(closed_orders);
+		this.active_orders = active_orders;
+	}
+	
+	
+	/**
+	 * Unpark the order from the TriggerIndex, into the active orders; 
+	 * The order catches up with the candles skipped. During the 
+	 * traversal of the orders, only the orders before the current order 
+	 * viewed the current candle
+	 * @param order Parked order
+	 */
+	void unpark(Order order) {
+		if(this.triggers.remove(order) == false) {
+			order.unpark(null, 0);
+			return;
+		}
+		
+		if(order.getOrderID() < this.viewing_id)
+			order.unpark(this.current_candle, this.views);
+		else
+			order.unpark(this.previous_candle, this.views - 1);
+		
+		this.active_orders.add(this.findActive(order.getOrderID()), order);
+	}
+	
+	
+	/**
+	 * Find the position of an order ID among the active orders
+	 * @param order_id Order ID
+	 * @return Position after the active orders of lower IDs
+	 */
+	private int findActive(int order_id) {
+		int low = 0;
+		int high = this.active_orders.size();
+		
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(this.active_orders.get(mid).getOrderID() <= order_id) 
+				low = mid + 1;
+			else 
+				high = mid;
+		}
+		
+		return(low);
+	}
+	
+	
+	/**
+	 * Merge 2 lists of orders, sorted by order ID
+	 * @param orders Orders
+	 * @param others Other orders
+	 * @return Merged orders, sorted by order ID
+	 */
+	private List<Order> merge(List<Order> orders, List<Order> others) {
+		if(others.size() == 0) return(orders);
+		
+		List<Order> result = new ArrayList<>(orders.size() + others.size());
+		int i = 0;
+		int j = 0;
 		
+		while(i < orders.size() && j < others.size()) 
+			if(orders.get(i).getOrderID() <= others.get(j).getOrderID())
+				result.add(orders.get(i++));
+			else 
+				result.add(others.get(j++));
+		
+		while(i < orders.size()) result.add(orders.get(i++));
+		while(j < others.size()) result.add(others.get(j++));
+		
+		return(result);
 	}
 	
 	
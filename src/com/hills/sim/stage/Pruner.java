@@ -0,0 +1,118 @@
+package com.hills.sim.stage;
+
+import com.hills.sim.Constants.ObjectiveE;
+import com.hills.sim.Constants.PruneE;
+import com.hills.sim.settings.OptimizerSettings;
+
+/**
+ * Rules to stop a run early, once it cannot be among the best runs;
+ * Shared by the RunLanes of every RunGroup
+ * @author Mark L
+ *
+ */
+public class Pruner {
+
+	private final float drawdown;
+	private final boolean margin_call;
+	private final int no_trades;
+	private final float max_gain;
+
+	private int from;
+	private int candles;
+	private volatile boolean has_best;
+	private volatile float best_net_profit;
+
+	/**
+	 * Make Pruner
+	 * @param opt_settings Optimizer settings, with the pruning rules
+	 */
+	public Pruner(OptimizerSettings opt_settings) {
+		this.drawdown = opt_settings.getPruneDrawdown();
+		this.margin_call = opt_settings.isPruneMarginCall();
+		this.no_trades = opt_settings.getPruneNoTrades();
+
+//		The bound is on the net profit; Other objectives rank by other metrics
+		this.max_gain = opt_settings.getObjective() == ObjectiveE.NET_PROFIT
+					  ? opt_settings.getPruneMaxGain()
+					  : 0;
+
+		this.from = 0;
+		this.candles = 0;
+		this.has_best = false;
+		this.best_net_profit = 0;
+	}
+
+
+	/**
+	 * Is any pruning rule enabled?
+	 * @return True: At least 1 rule
+	 */
+	public boolean isEnabled() {
+		return(this.drawdown > 0 || this.margin_call ||
+			   this.no_trades > 0 || this.max_gain > 0);
+	}
+
+
+	/**
+	 * Set the slice of the period of the next runs; The best net profit
+	 * is only comparable between runs of the same slice
+	 * @param from Number of candles skipped from the start of the period; 
+	 * Negative for runs over several slices, without the bound
+	 * @param candles Number of candles of the slice
+	 */
+	public synchronized void setSlice(int from, int candles) {
+		if(this.from == from && this.candles == candles) return;
+
+		this.from = from;
+		this.candles = candles;
+		this.has_best = false;
+		this.best_net_profit = 0;
+	}
+
+
+	/**
+	 * Save the net profit of a run that was performed to the end
+	 * @param net_profit Net profit of the run
+	 */
+	public synchronized void putNetProfit(float net_profit) {
+		if(this.from < 0) return;
+		if(this.has_best && net_profit <= this.best_net_profit) return;
+
+		this.best_net_profit = net_profit;
+		this.has_best = true;
+	}
+
+
+	/**
+	 * Check the run against the pruning rules, after the Stage viewed
+	 * the candle
+	 * @param stage Stage of the run
+	 * @param candle Candle viewed
+	 * @return Rule that prunes the run, or null to continue the run
+	 */
+	public PruneE check(Stage stage, Candle candle) {
+		Account account = stage.getAccount();
+
+		if(this.margin_call && account.isMarginCalled())
+			return(PruneE.MARGIN_CALL);
+
+		if(this.drawdown > 0 && account.getDrawdown() >= this.drawdown)
+			return(PruneE.DRAWDOWN);
+
+		if(this.no_trades > 0 && candle.getId() >= this.no_trades &&
+		   stage.hasTrades() == false)
+			return(PruneE.NO_TRADES);
+
+//		Best case: Gaining the maximum on every candle left
+		if(this.max_gain > 0 && this.has_best) {
+			int candles_left = candle.getTotalCandles() - candle.getId();
+			float best_case = account.getNetProfit() +
+							  candles_left * this.max_gain;
+
+			if(best_case < this.best_net_profit) return(PruneE.BOUND);
+		}
+
+		return(null);
+	}
+
+}
@@ -172,6 +172,32 @@ public class Stage implements
 	}
 	
 	
+	/**
+	 * Update the Reporter only, without the Candle Log Row; 
+	 * When the detailed logs are disabled
+	 * @return LogRow of the report at the last candle, else null
+	 */
+	public LogRow toReportLogRow() {
+		LogRow account = this.account.toLogRow();
+		List<LogRow> orders = this.orders.toLogRows();
+		
+		this.reporter.updateLogs(account, orders);
+		
+		if(this.is_last_candle == false) return(null);
+		return(this.reporter.toLogRow());
+	}
+	
+	
+	/**
+	 * Has the run traded so far, closed or open filled orders?
+	 * @return True: At least 1 trade
+	 */
+	public boolean hasTrades() {
+		return(this.reporter.getTotalTrades() > 0 || 
+			   this.account.getOpenFilledOrders() > 0);
+	}
+	
+	
 	@Override
 	public void setRun(Run run) {
 		this.orders.setRun(run);
@@ -215,6 +241,11 @@ public class Stage implements
 	}
 	
 	
+	public Reporter getReporter() {
+		return this.reporter;
+	}
+	
+	
 //	Functions related to opening an Order
 	
 	/**
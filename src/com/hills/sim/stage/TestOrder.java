@@ -8,6 +8,7 @@ import com.hills.sim.exceptions.OrderExc;
 /**
  * TestOrder is the Order class, to assist in testing margin calls
  * and other calculations where margin calculations are enabled.
+ * Each setter books its change into the Account totals.
  * The TestOrder class can be called from its native package (i.e. test)
  * @author Mark L
  *
@@ -37,6 +38,8 @@ public class TestOrder extends Order {
 	 */
 	public void setPnl(float pnl) {
 		this.pnl = pnl;
+		this.pnl_cents = Math.round(pnl * 100.0);
+		this.book();
 	}	
 	
 	
@@ -46,6 +49,7 @@ public class TestOrder extends Order {
 	 */
 	public void setRequiredMargin(float req_margin) {
 		this.req_margin = req_margin;
+		this.book();
 	}	
 	
 	
@@ -55,6 +59,7 @@ public class TestOrder extends Order {
 	 */
 	public void setOpen() {
 		this.status = OrderStatusE.OPEN;
+		this.book();
 	}
 	
 	
@@ -63,6 +68,7 @@ public class TestOrder extends Order {
 	 */
 	public void setClose() {
 		this.status = OrderStatusE.CLOSE;
+		this.book();
 	}
 	
 	
@@ -71,6 +77,7 @@ public class TestOrder extends Order {
 	 */
 	public void setUnfilled() {
 		this.fill_status = OrderFillE.UNFILLED;
+		this.book();
 	} 
 	
 	
@@ -79,6 +86,7 @@ public class TestOrder extends Order {
 	 */
 	public void setFilled() {
 		this.fill_status = OrderFillE.FILLED;
+		this.book();
 	} 	
 	
 	
@@ -1,18 +1,31 @@
 package com.hills.sim.stage;
 
-import java.util.ArrayDeque;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
 
 import com.hills.sim.exceptions.TimeSeriesExc;
 
+/**
+ * Elements in a ring buffer of fixed capacity, newest first: Index 0 is
+ * the last element added. Once the capacity is met, each element added 
+ * overwrites the oldest element
+ * @author Mark L
+ *
+ * @param <E>
+ */
 public class TimeSeries<E> implements Iterable<E> {
 	
 	private int update;
 	private final int capacity;
-	private final ArrayDeque<E> dequeue;
-	private List<E> reference_list;
+	private final Object[] buffer;
+	private final List<E> reference_list;
+	
+//	Slot of the newest element in the buffer, and the number of elements
+	private int head;
+	private int size;
 	
 	/**
 	 * Construct the TimeSeries. Capacity is the maximum limit.
@@ -31,10 +44,13 @@ public class TimeSeries<E> implements Iterable<E> {
 		}
 		
 		try {
-			this.dequeue = new ArrayDeque<>(this.capacity);
+			this.buffer = new Object[this.capacity];
+			this.reference_list = new View();
+			this.head = this.capacity - 1;
+			this.size = 0;
 			
 		} catch (Exception e) {
-			String error_msg = "%s: Error making ArrayDeque in TimeSeries\n";
+			String error_msg = "%s: Error making buffer in TimeSeries\n";
 			e.printStackTrace();
 			System.err.printf("Capacity: %s\n", capacity);
 			System.err.printf(error_msg, this.getClass().getName());
@@ -64,23 +80,37 @@ public class TimeSeries<E> implements Iterable<E> {
 		}
 		
 //		Check that 'get' method is within bounds, of used capacity
-		else if(index >= this.update && this.update <= this.capacity) {
+		else if(index >= this.size) {
 			String error_msg = 
 				"%s: Error as index is out of bounds of current capacity\n";
 			System.err.printf("Current capacity: %d, index: %d\n", 
-											this.update, index);
+											this.size, index);
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new TimeSeriesExc();		
 		}
 		
 		else 
-			result = this.reference_list.get(index);
+			result = this.elementAt(index);
 		
 		
 		return(result);
 	}
 	
 	
+	/**
+	 * Get a single element, without checking the bounds
+	 * @param index Index within the used capacity; 0 is the newest
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private E elementAt(int index) {
+		int slot = this.head - index;
+		if(slot < 0) slot += this.capacity;
+		
+		return((E) this.buffer[slot]);
+	}
+	
+	
 	/**
 	 * Insert a new record into the TimeSeries
 	 * @param element New record
@@ -88,25 +118,13 @@ public class TimeSeries<E> implements Iterable<E> {
 	 */
 	public void add(E element) throws TimeSeriesExc {
 		
-		try {
-//			Remove the last element only when the capacity is met
-			if(this.update >= this.capacity) 
-				this.dequeue.removeLast();
-			this.dequeue.addFirst(element);
-			
-		} catch (Exception e) {
-			String error_msg = "%s: Error adding element to TimeSeries\n";
-			e.printStackTrace();
-			System.err.printf("Element: %s\n", element);
-			System.err.printf(error_msg, this.getClass().getName());
-			throw new TimeSeriesExc();
-		}
+//		Overwrite the oldest element only when the capacity is met
+		this.head = (this.head + 1 == this.capacity) ? 0 : this.head + 1;
+		this.buffer[this.head] = element;
+		if(this.size < this.capacity) this.size++;
 		
 //		Update the counter
-//		Create the reference list
 		this.update++;
-		this.reference_list = this.dequeue.stream()
-										.collect(Collectors.toList());
 	}
 
 	
@@ -115,7 +133,9 @@ public class TimeSeries<E> implements Iterable<E> {
 	 */
 	public void clear() {
 		this.update = 0;
-		this.dequeue.clear();
+		this.head = this.capacity - 1;
+		this.size = 0;
+		Arrays.fill(this.buffer, null);
 	}
 	
 	
@@ -124,21 +144,22 @@ public class TimeSeries<E> implements Iterable<E> {
 	 * @return
 	 */
 	public int size() {
-		return(this.dequeue.size());
+		return(this.size);
 	}
 	
 	
 	/**
-	 * Returns an Iterator<E> for the TimeSeries
+	 * Returns an Iterator<E> for the TimeSeries, newest first
 	 */
 	@Override
 	public Iterator<E> iterator() {
-		return(this.dequeue.iterator());
+		return(this.reference_list.iterator());
 	}
 	
 
 	/**
-	 * Returns a List<E> from the TimeSeries
+	 * Returns a List<E> view of the TimeSeries, newest first; The view 
+	 * is not a copy, and follows the elements added afterwards
 	 * @return
 	 */
 	public List<E> toList() {
@@ -151,7 +172,28 @@ public class TimeSeries<E> implements Iterable<E> {
 		return "TimeSeries "
 				+ "\n[ update=" + update 
 				+ "\n, capacity=" + capacity 
-				+ "\n, dequeue=\n" + dequeue + "]\n";
+				+ "\n, buffer=\n" + reference_list + "]\n";
+	}
+	
+	
+	/**
+	 * Read-only List over the ring buffer, newest first
+	 */
+	private class View extends AbstractList<E> implements RandomAccess {
+		
+		@Override
+		public E get(int index) {
+			if(index < 0 || index >= TimeSeries.this.size)
+				throw new IndexOutOfBoundsException("Index: " + index 
+										+ ", Size: " + TimeSeries.this.size);
+			
+			return(TimeSeries.this.elementAt(index));
+		}
+		
+		@Override
+		public int size() {
+			return(TimeSeries.this.size);
+		}
 	}
 	
 
@@ -0,0 +1,171 @@
+package com.hills.sim.stage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pending Stop and Limit orders of the OrderBook, sorted by entry price;
+ * A candle only reaches the orders whose entry price is within its
+ * high-low range, as in Order.canFillEntryPrice:
+ * Buy Stop: Entry price <= Ask high
+ * Sell Stop: Entry price >= Bid low
+ * Buy Limit: Entry price >= Ask low
+ * Sell Limit: Entry price <= Bid high
+ * @author Mark L
+ *
+ */
+public class TriggerIndex {
+
+	private final TreeMap<Float, List<Order>> buy_stops;
+	private final TreeMap<Float, List<Order>> sell_stops;
+	private final TreeMap<Float, List<Order>> buy_limits;
+	private final TreeMap<Float, List<Order>> sell_limits;
+	private final TreeSet<Integer> order_ids;
+
+	/**
+	 * Make TriggerIndex
+	 */
+	public TriggerIndex() {
+		this.buy_stops = new TreeMap<>();
+		this.sell_stops = new TreeMap<>();
+		this.buy_limits = new TreeMap<>();
+		this.sell_limits = new TreeMap<>();
+		this.order_ids = new TreeSet<>();
+	}
+
+
+	/**
+	 * Put a pending order into the index; Only Open-Unfilled Stop and
+	 * Limit orders with an entry price can be put
+	 * @param order Order
+	 * @return True: The order was put; False: The order is not pending
+	 */
+	public boolean put(Order order) {
+		if(order.isOpen() == false || order.isUnfilled() == false)
+			return(false);
+		if(order.isEntryPriceSet() == false || order.isOrderIDSet() == false)
+			return(false);
+
+		TreeMap<Float, List<Order>> triggers = this.getTriggers(order);
+		if(triggers == null) return(false);
+
+		triggers.computeIfAbsent(order.getEntryPrice(),
+								 k -> new ArrayList<>(1))
+				.add(order);
+		this.order_ids.add(order.getOrderID());
+
+		return(true);
+	}
+
+
+	/**
+	 * Remove an order from the index; The entry price of the order must
+	 * not have changed since it was put
+	 * @param order Order
+	 * @return True: The order was removed; False: Not in the index
+	 */
+	public boolean remove(Order order) {
+		TreeMap<Float, List<Order>> triggers = this.getTriggers(order);
+		if(triggers == null) return(false);
+
+		List<Order> orders = triggers.get(order.getEntryPrice());
+		if(orders == null || orders.remove(order) == false) return(false);
+
+		if(orders.isEmpty()) triggers.remove(order.getEntryPrice());
+		this.order_ids.remove(order.getOrderID());
+
+		return(true);
+	}
+
+
+	/**
+	 * Remove the orders that the candle can fill
+	 * @param candle Candle
+	 * @return Orders, sorted by order ID (i.e. the order of the OrderBook)
+	 */
+	public List<Order> poll(Candle candle) {
+		List<Order> result = new ArrayList<>();
+		if(this.order_ids.isEmpty()) return(result);
+
+		this.poll(this.buy_stops.headMap(candle.getAskH(), true), result);
+		this.poll(this.sell_stops.tailMap(candle.getBidL(), true), result);
+		this.poll(this.buy_limits.tailMap(candle.getAskL(), true), result);
+		this.poll(this.sell_limits.headMap(candle.getBidH(), true), result);
+
+		if(result.size() > 1)
+			result.sort(Comparator.comparingInt(Order::getOrderID));
+
+		return(result);
+	}
+
+
+	/**
+	 * Remove all orders of a price range into the result
+	 * @param range View of the price range
+	 * @param result Orders removed
+	 */
+	private void poll(NavigableMap<Float, List<Order>> range,
+					  List<Order> result) {
+		if(range.isEmpty()) return;
+
+		for(List<Order> orders: range.values())
+			for(Order order: orders) {
+				result.add(order);
+				this.order_ids.remove(order.getOrderID());
+			}
+
+		range.clear();
+	}
+
+
+	/**
+	 * Get the index of the order, by its type and direction
+	 * @param order Order
+	 * @return Index, or null for other orders
+	 */
+	private TreeMap<Float, List<Order>> getTriggers(Order order) {
+		if(order.isStopOrder())
+			return(order.isBuyOrder() ? this.buy_stops : this.sell_stops);
+
+		if(order.isLimitOrder())
+			return(order.isBuyOrder() ? this.buy_limits : this.sell_limits);
+
+		return(null);
+	}
+
+
+	/**
+	 * Remove all orders
+	 */
+	public void clear() {
+		this.buy_stops.clear();
+		this.sell_stops.clear();
+		this.buy_limits.clear();
+		this.sell_limits.clear();
+		this.order_ids.clear();
+	}
+
+
+	/**
+	 * Getters
+	 * @return
+	 */
+
+	public int size() {
+		return(this.order_ids.size());
+	}
+
+	/**
+	 * @return Smallest order ID in the index, i.e. the first order of
+	 * the OrderBook; Integer.MAX_VALUE when empty
+	 */
+	public int getFirstId() {
+		return(this.order_ids.isEmpty()
+				? Integer.MAX_VALUE : this.order_ids.first());
+	}
+
+}
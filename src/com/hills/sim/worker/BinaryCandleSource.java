@@ -0,0 +1,87 @@
+package com.hills.sim.worker;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CandleCacheExc;
+import com.hills.sim.exceptions.FileCandleSourceExc;
+
+/**
+ * CandleSource over a binary candle file, in the columnar format of 
+ * CandleCache (i.e. a cache file copied off another machine), or over 
+ * the directory of a CandleStore, segment by segment. 
+ * The rows outside the period are skipped
+ * @author Mark L
+ *
+ */
+public class BinaryCandleSource extends FileCandleSource {
+	
+	private final List<CandleCache> caches;
+	
+	/**
+	 * Make BinaryCandleSource; Map the file(s) and check their headers
+	 * @param filename Path of the binary candle file, or store directory
+	 * @param period_range Start and end of the period
+	 * @throws FileCandleSourceExc
+	 */
+	public BinaryCandleSource(String filename, LocalDateTime[] period_range) 
+											throws FileCandleSourceExc {
+		super(filename, period_range);
+		
+		List<File> files = new ArrayList<>();
+		if(this.file.isDirectory()) files.addAll(CandleStore.listSegments(this.file));
+		else files.add(this.file);
+		
+		this.caches = new ArrayList<>();
+		try {
+			for(File f: files) this.caches.add(new CandleCache(f));
+			
+		} catch (CandleCacheExc e) {
+			String error_msg = "%s: Error mapping binary candle file\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new FileCandleSourceExc();
+		}
+	}
+	
+	
+	@Override
+	public void streamCandles(CandleBlockSink sink) 
+						throws FileCandleSourceExc, InterruptedException {
+		float[] prices = new float[CandleBlock.PRICE_COLUMNS];
+		CandleBlock block = new CandleBlock(Constants.BLOCK_SIZE);
+		
+//		Read the files in sequence, block by block
+		for(CandleCache cache: this.caches) {
+			for(int i = 0; i < cache.getBlockCount(); i++) {
+				CandleBlock mapped = cache.getBlock(i);
+				
+				for(int row = 0; row < mapped.size(); row++) {
+					long time = mapped.getTime(row);
+					int vol = mapped.getVolume(row);
+					if(this.isAfterPeriod(time)) {
+						if(block.size() > 0) sink.put(block);
+						return;
+					}
+					if(!this.isWanted(time, vol)) continue;
+					
+					for(int k = 0; k < prices.length; k++) 
+						prices[k] = mapped.getPrice(k, row);
+					block.add(time, mapped.getId(row), mapped.getContentID(row), 
+							  vol, prices);
+					
+					if(block.isFull()) {
+						sink.put(block);
+						block = new CandleBlock(Constants.BLOCK_SIZE);
+					}
+				}
+			}
+		}
+		
+		if(block.size() > 0) sink.put(block);
+	}
+	
+}
@@ -0,0 +1,300 @@
+package com.hills.sim.worker;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.hills.sim.Constants.CandleDirectionE;
+import com.hills.sim.Constants.PriceModeE;
+import com.hills.sim.stage.Calculator;
+
+public class CandleBlock {
+	
+//	Price columns: Ask OHLC (0-3), Bid OHLC (4-7), Mid OHLC (8-11)
+	public static final int PRICE_COLUMNS = 12;
+	
+	private static final CandleDirectionE[] DIRECTIONS = 
+												CandleDirectionE.values();
+	
+	private final long[] time;
+	private final int[] id;
+	private final int[] content_id;
+	private final int[] vol;
+	private final float[][] prices;
+	
+	private int size;
+	
+//	Derived columns, rounded to the unit distance: 
+//	Bid OHLC, Ask OHLC (bid + spread), spread, body, length and direction;
+//	Bid OHLC, Ask OHLC and spread in whole points, only in the Points 
+//	price mode
+	private int unit_distance;
+	private PriceModeE price_mode;
+	private float[][] bid;
+	private float[][] ask;
+	private float[] spread;
+	private float[] body;
+	private float[] length;
+	private byte[] direction;
+	private int[][] bid_points;
+	private int[][] ask_points;
+	private int[] spread_points;
+	
+	/**
+	 * Make CandleBlock; A batch of candles, held as parallel primitive 
+	 * columns
+	 * @param capacity Maximum number of candles in the block
+	 */
+	public CandleBlock(int capacity) {
+		this.time = new long[capacity];
+		this.id = new int[capacity];
+		this.content_id = new int[capacity];
+		this.vol = new int[capacity];
+		this.prices = new float[PRICE_COLUMNS][capacity];
+		this.size = 0;
+		this.unit_distance = -1;
+		this.price_mode = PriceModeE.FLOAT;
+	}
+	
+	
+	/**
+	 * Add 1 candle at the end of the block
+	 * @param time Epoch milliseconds of the candle, in UTC
+	 * @param id Compactor ID
+	 * @param content_id ContentID
+	 * @param vol Volume
+	 * @param prices Ask, Bid and Mid OHLC, in the order of the columns
+	 */
+	public void add(long time, int id, int content_id, int vol, 
+					float[] prices) {
+		int row = this.size;
+		
+		this.time[row] = time;
+		this.id[row] = id;
+		this.content_id[row] = content_id;
+		this.vol[row] = vol;
+		for(int k = 0; k < PRICE_COLUMNS; k++) 
+			this.prices[k][row] = prices[k];
+		
+		this.size++;
+	}
+	
+	
+	/**
+	 * Compute the derived columns read by Candle, once per block, in the
+	 * price mode the block was last derived in
+	 * @param unit_distance Distance in number of decimal places
+	 */
+	public void derive(int unit_distance) {
+		this.derive(unit_distance, this.price_mode);
+	}
+	
+	
+	/**
+	 * Compute the derived columns read by Candle, once per block. 
+	 * Does nothing when the block is already derived for the unit distance
+	 * and price mode. In the Points price mode, the Ask prices are the Bid
+	 * points plus the spread points, exactly; The columns in points are 
+	 * only kept in the Points price mode
+	 * @param unit_distance Distance in number of decimal places
+	 * @param price_mode How the prices are held
+	 */
+	public void derive(int unit_distance, PriceModeE price_mode) {
+		if(this.unit_distance == unit_distance && 
+		   this.price_mode == price_mode) return;
+		
+		int n = this.size;
+		double shift = Calculator.toShift(unit_distance);
+		boolean points = price_mode == PriceModeE.POINTS;
+		float[][] p = this.prices;
+		
+		float[][] bid = new float[4][n];
+		float[][] ask = new float[4][n];
+		float[] spread = new float[n];
+		float[] body = new float[n];
+		float[] length = new float[n];
+		byte[] direction = new byte[n];
+		int[][] bid_points = points ? new int[4][n] : null;
+		int[][] ask_points = points ? new int[4][n] : null;
+		int[] spread_points = points ? new int[n] : null;
+		
+		for(int i = 0; i < n; i++) {
+			
+//			Spread is the greatest difference between Ask and Bid OHLC
+			double max = 0;
+			for(int k = 0; k < 4; k++) 
+				max = Math.max(max, Math.abs(p[k][i] - p[4 + k][i]));
+			int spread_pts = (int) Math.round((float) max * shift);
+			spread[i] = (float) (spread_pts / shift);
+			if(points) spread_points[i] = spread_pts;
+			
+			for(int k = 0; k < 4; k++) {
+				int bid_pts = (int) Math.round(p[4 + k][i] * shift);
+				bid[k][i] = (float) (bid_pts / shift);
+				if(points == false) {
+					ask[k][i] = this.round(p[4 + k][i] + spread[i], shift);
+					continue;
+				}
+				
+				bid_points[k][i] = bid_pts;
+				ask_points[k][i] = bid_pts + spread_pts;
+				ask[k][i] = (float) (ask_points[k][i] / shift);
+			}
+			
+			float signed_body = bid[3][i] - bid[0][i];
+			body[i] = this.round(Math.abs(signed_body), shift);
+			length[i] = this.round(bid[1][i] - bid[2][i], shift);
+			
+			CandleDirectionE d = CandleDirectionE.DOJI;
+			if(signed_body > 0) d = CandleDirectionE.BULL;
+			else if(signed_body < 0) d = CandleDirectionE.BEAR;
+			direction[i] = (byte) d.ordinal();
+		}
+		
+		this.bid = bid;
+		this.ask = ask;
+		this.spread = spread;
+		this.body = body;
+		this.length = length;
+		this.direction = direction;
+		this.bid_points = bid_points;
+		this.ask_points = ask_points;
+		this.spread_points = spread_points;
+		this.unit_distance = unit_distance;
+		this.price_mode = price_mode;
+	}
+	
+	
+	/**
+	 * Round float number to the nearest unit distance, as in Candle
+	 * @param number Value to be rounded off
+	 * @param shift 10 to the power of the unit distance
+	 * @return
+	 */
+	private float round(float number, double shift) {
+		double result = Math.round(number * shift) / shift;
+		return((float) result);
+	}
+	
+	
+	/**
+	 * Make a CompactorCandle out of 1 candle of the block
+	 * @param row Index of the candle
+	 * @return
+	 */
+	public CompactorCandle toCompactorCandle(int row) {
+		float[][] p = this.prices;
+		
+		int[] id_cid_vol = new int[] 
+				{this.id[row], this.content_id[row], this.vol[row]};
+		
+		float[] ask = new float[] {p[0][row], p[1][row], p[2][row], p[3][row]};
+		float[] bid = new float[] {p[4][row], p[5][row], p[6][row], p[7][row]};
+		float[] mid = new float[] {p[8][row], p[9][row], p[10][row], p[11][row]};
+		
+		return(new CompactorCandle
+						(this.getDateTime(row), id_cid_vol, ask, bid, mid));
+	}
+	
+	
+//	Getters
+	
+	
+	public int size() {
+		return(this.size);
+	}
+	
+	public boolean isFull() {
+		return(this.size == this.time.length);
+	}
+	
+	public long getTime(int row) {
+		return(this.time[row]);
+	}
+	
+	public LocalDateTime getDateTime(int row) {
+		return(LocalDateTime.ofEpochSecond
+				(Math.floorDiv(this.time[row], 1000L), 0, ZoneOffset.UTC));
+	}
+	
+	public int getId(int row) {
+		return(this.id[row]);
+	}
+	
+	public int getContentID(int row) {
+		return(this.content_id[row]);
+	}
+	
+	public int getVolume(int row) {
+		return(this.vol[row]);
+	}
+	
+	/**
+	 * @param column Index of the price column
+	 * @param row Index of the candle
+	 * @return
+	 */
+	public float getPrice(int column, int row) {
+		return(this.prices[column][row]);
+	}
+	
+	
+//	Getters of the derived columns
+	
+	
+	/**
+	 * @param k Index of the price: Open (0), High (1), Low (2), Close (3)
+	 * @param row Index of the candle
+	 * @return Rounded Bid price
+	 */
+	public float getBid(int k, int row) {
+		return(this.bid[k][row]);
+	}
+	
+	/**
+	 * @param k Index of the price: Open (0), High (1), Low (2), Close (3)
+	 * @param row Index of the candle
+	 * @return Rounded Ask price, Bid price plus spread
+	 */
+	public float getAsk(int k, int row) {
+		return(this.ask[k][row]);
+	}
+	
+	public float getSpread(int row) {
+		return(this.spread[row]);
+	}
+	
+	public float getBody(int row) {
+		return(this.body[row]);
+	}
+	
+	public float getLength(int row) {
+		return(this.length[row]);
+	}
+	
+	public CandleDirectionE getDirection(int row) {
+		return(DIRECTIONS[this.direction[row]]);
+	}
+	
+	/**
+	 * @param k Index of the price: Open (0), High (1), Low (2), Close (3)
+	 * @param row Index of the candle
+	 * @return Bid price in whole points
+	 */
+	public int getBidPoints(int k, int row) {
+		return(this.bid_points[k][row]);
+	}
+	
+	/**
+	 * @param k Index of the price: Open (0), High (1), Low (2), Close (3)
+	 * @param row Index of the candle
+	 * @return Ask price in whole points, Bid points plus spread points
+	 */
+	public int getAskPoints(int k, int row) {
+		return(this.ask_points[k][row]);
+	}
+	
+	public int getSpreadPoints(int row) {
+		return(this.spread_points[row]);
+	}
+	
+}
@@ -0,0 +1,17 @@
+package com.hills.sim.worker;
+
+/**
+ * Receives the CandleBlocks copied out by the Compactor, as they fill
+ * @author Mark L
+ *
+ */
+public interface CandleBlockSink {
+
+	/**
+	 * Receive the next block of candles, in time order
+	 * @param block CandleBlock received
+	 * @throws InterruptedException
+	 */
+	public void put(CandleBlock block) throws InterruptedException;
+	
+}
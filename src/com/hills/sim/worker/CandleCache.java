@@ -0,0 +1,400 @@
+package com.hills.sim.worker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CandleCacheExc;
+import com.hills.sim.exceptions.CompactorExc;
+
+public class CandleCache implements CandleSeries {
+	
+//	Header: magic, version, table rows, table max time, total candles
+	private static final int HEADER_BYTES = 32;
+	
+//	Columns: time (long), then id, content id, vol, 
+//	ask OHLC, bid OHLC and mid OHLC (int/float)
+	private static final int TIME_BYTES = 8;
+	private static final int COLUMNS = 15;
+	private static final int ROW_BYTES = TIME_BYTES + (COLUMNS * 4);
+	
+	private final DateTimeFormatter file_format = 
+			DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+	
+	private final File file;
+	private final long table_rows;
+	private final long table_max_time;
+	
+	private final MappedByteBuffer buffer;
+	private final int total;
+	
+	/**
+	 * Make CandleCache; Map the cache file of the table and period,
+	 * rebuilding it when the table has changed since it was written
+	 * @param compactor Compactor of the table and period
+	 * @param cache_dir Directory of the cache files
+	 * @throws CandleCacheExc
+	 */
+	public CandleCache(Compactor compactor, String cache_dir) 
+												throws CandleCacheExc {
+		
+//		Name the file after the table and the period
+		LocalDateTime[] period = compactor.getPeriodRange();
+		String filename = String.format(Constants.CACHE_FILE_FMT, 
+										compactor.getTableName(),
+										period[0].format(this.file_format),
+										period[1].format(this.file_format));
+		this.file = new File(cache_dir + File.separator + filename);
+		
+//		Get the signature of the table (from the catalog), to verify 
+//		the cache file
+		this.table_rows = compactor.getTableRowCount();
+		this.table_max_time = this.toEpochMilli(compactor.getTableMaxTime());
+		
+//		Rebuild the stale cache file, then map it
+		if(!this.isValid()) this.write(compactor);
+		
+		this.buffer = this.map();
+		this.total = this.buffer.getInt(24);
+	}
+	
+	
+	/**
+	 * Make CandleCache; Map an existing cache file as it is, without a 
+	 * table to verify it against (i.e. BinaryCandleSource)
+	 * @param file Cache file
+	 * @throws CandleCacheExc
+	 */
+	public CandleCache(File file) throws CandleCacheExc {
+		this.file = file;
+		
+		if(!this.file.isFile() || this.file.length() < HEADER_BYTES) {
+			String error_msg = "%s: Cache file is missing or incomplete: %s\n";
+			System.err.printf(error_msg, this.getClass().getName(), file);
+			throw new CandleCacheExc();
+		}
+		
+		this.buffer = this.map();
+		this.table_rows = this.buffer.getLong(8);
+		this.table_max_time = this.buffer.getLong(16);
+		this.total = this.buffer.getInt(24);
+		
+		long length = HEADER_BYTES + ((long) this.total * ROW_BYTES);
+		if(this.buffer.getInt(0) != Constants.CACHE_MAGIC ||
+		   this.buffer.getInt(4) != Constants.CACHE_VERSION ||
+		   this.file.length() != length) {
+			String error_msg = "%s: Not a cache file, or wrong version: %s\n";
+			System.err.printf(error_msg, this.getClass().getName(), file);
+			throw new CandleCacheExc();
+		}
+	}
+	
+	
+	/**
+	 * Map the cache file, read only
+	 * @return Little-endian MappedByteBuffer of the whole file
+	 * @throws CandleCacheExc
+	 */
+	private MappedByteBuffer map() throws CandleCacheExc {
+		
+		try(FileChannel channel = FileChannel.open
+								(this.file.toPath(), StandardOpenOption.READ)) {
+			MappedByteBuffer result = channel.map
+								(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			result.order(ByteOrder.LITTLE_ENDIAN);
+			return(result);
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error mapping cache file\n";
+			e.printStackTrace();
+			System.err.printf("Cache file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CandleCacheExc();
+		}
+	}
+	
+	
+	/**
+	 * True: Cache file is complete and matches the table signature
+	 * @return
+	 * @throws CandleCacheExc
+	 */
+	private boolean isValid() throws CandleCacheExc {
+		if(!this.file.isFile() || this.file.length() < HEADER_BYTES) 
+			return(false);
+		
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+									  .order(ByteOrder.LITTLE_ENDIAN);
+		
+		try(FileChannel channel = FileChannel.open
+								(this.file.toPath(), StandardOpenOption.READ)) {
+			while(header.hasRemaining())
+				if(channel.read(header, header.position()) < 0) break;
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error reading cache file header\n";
+			e.printStackTrace();
+			System.err.printf("Cache file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CandleCacheExc();
+		}
+		
+		int total = header.getInt(24);
+		long length = HEADER_BYTES + ((long) total * ROW_BYTES);
+		
+		return(header.getInt(0) == Constants.CACHE_MAGIC &&
+			   header.getInt(4) == Constants.CACHE_VERSION &&
+			   header.getLong(8) == this.table_rows &&
+			   header.getLong(16) == this.table_max_time &&
+			   this.file.length() == length);
+	}
+	
+	
+	/**
+	 * Write the cache file, column by column, from the Compactor.
+	 * The header is written last, so an incomplete file is never valid
+	 * @param compactor Compactor of the table and period
+	 * @throws CandleCacheExc
+	 */
+	private void write(Compactor compactor) throws CandleCacheExc {
+		int[] row = new int[] {0};
+		
+		File dir = this.file.getParentFile();
+		if(dir != null && dir.exists() == false) dir.mkdirs();
+		
+		try(FileChannel channel = FileChannel.open(this.file.toPath(), 
+											StandardOpenOption.CREATE,
+											StandardOpenOption.TRUNCATE_EXISTING,
+											StandardOpenOption.READ,
+											StandardOpenOption.WRITE)) {
+			
+			int total = compactor.getTotalCompactorCandles();
+			long length = HEADER_BYTES + ((long) total * ROW_BYTES);
+			if(length > Integer.MAX_VALUE) {
+				String error_msg = "%s: %d candles exceed the cache file size\n";
+				System.err.printf(error_msg, this.getClass().getName(), total);
+				throw new CandleCacheExc();
+			}
+			
+			MappedByteBuffer out = channel.map
+							(FileChannel.MapMode.READ_WRITE, 0, length);
+			out.order(ByteOrder.LITTLE_ENDIAN);
+			
+//			Copy the candles of the period into their rows, block by block
+			compactor.copyCandles(block -> {
+				putBlock(out, total, row[0], block);
+				row[0] += block.size();
+			});
+			
+			if(row[0] != total) {
+				String error_msg = "%s: Wrote %d candles, expected %d\n";
+				System.err.printf(error_msg, this.getClass().getName(), 
+								  row[0], total);
+				throw new CandleCacheExc();
+			}
+			
+			out.putInt(0, Constants.CACHE_MAGIC);
+			out.putInt(4, Constants.CACHE_VERSION);
+			out.putLong(8, this.table_rows);
+			out.putLong(16, this.table_max_time);
+			out.putInt(24, total);
+			out.force();
+			
+		} catch (CompactorExc | InterruptedException e) {
+			String error_msg = "%s: Error getting candles\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CandleCacheExc();
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error writing cache file\n";
+			e.printStackTrace();
+			System.err.printf("Cache file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CandleCacheExc();
+		}
+	}
+	
+	
+	/**
+	 * Write a cache file out of CandleBlocks already in memory (i.e. a 
+	 * CandleStore segment). Written to a temporary file, then renamed, 
+	 * so the file is never seen incomplete
+	 * @param file Cache file
+	 * @param blocks CandleBlocks, in time order
+	 * @param table_rows Number of table rows, for the header
+	 * @param table_max_time Latest table time, in epoch milliseconds
+	 * @throws CandleCacheExc
+	 */
+	public static void write(File file, List<CandleBlock> blocks, 
+							 long table_rows, long table_max_time) 
+												throws CandleCacheExc {
+		int total = 0;
+		for(CandleBlock block: blocks) total += block.size();
+		
+		File temp = new File(file.getPath() + ".tmp");
+		long length = HEADER_BYTES + ((long) total * ROW_BYTES);
+		
+		try {
+			try(FileChannel channel = FileChannel.open(temp.toPath(), 
+											StandardOpenOption.CREATE,
+											StandardOpenOption.TRUNCATE_EXISTING,
+											StandardOpenOption.READ,
+											StandardOpenOption.WRITE)) {
+				
+				MappedByteBuffer out = channel.map
+								(FileChannel.MapMode.READ_WRITE, 0, length);
+				out.order(ByteOrder.LITTLE_ENDIAN);
+				
+				int row = 0;
+				for(CandleBlock block: blocks) {
+					putBlock(out, total, row, block);
+					row += block.size();
+				}
+				
+				out.putInt(0, Constants.CACHE_MAGIC);
+				out.putInt(4, Constants.CACHE_VERSION);
+				out.putLong(8, table_rows);
+				out.putLong(16, table_max_time);
+				out.putInt(24, total);
+				out.force();
+			}
+			
+			Files.move(temp.toPath(), file.toPath(), 
+					   StandardCopyOption.REPLACE_EXISTING);
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error writing cache file\n";
+			e.printStackTrace();
+			System.err.printf("Cache file: %s\n", file);
+			System.err.printf(error_msg, CandleCache.class.getName());
+			throw new CandleCacheExc();
+		}
+	}
+	
+	
+	/**
+	 * Put a block of candles into its rows of every column, column by 
+	 * column. Candles beyond the total are dropped
+	 * @param out Mapped cache file
+	 * @param total Total number of candles
+	 * @param row Index of the first candle of the block
+	 * @param block CandleBlock to put
+	 */
+	private static void putBlock(ByteBuffer out, int total, int row, 
+						  CandleBlock block) {
+		int n = Math.min(block.size(), total - row);
+		
+		for(int j = 0; j < n; j++) 
+			out.putLong(HEADER_BYTES + ((row + j) * TIME_BYTES), 
+						block.getTime(j));
+		
+		for(int j = 0; j < n; j++) 
+			out.putInt(offset(total, 0, row + j), block.getId(j));
+		for(int j = 0; j < n; j++) 
+			out.putInt(offset(total, 1, row + j), block.getContentID(j));
+		for(int j = 0; j < n; j++) 
+			out.putInt(offset(total, 2, row + j), block.getVolume(j));
+		
+		for(int k = 0; k < CandleBlock.PRICE_COLUMNS; k++)
+			for(int j = 0; j < n; j++) 
+				out.putFloat(offset(total, 3 + k, row + j), 
+							 block.getPrice(k, j));
+	}
+	
+	
+	/**
+	 * Byte offset of a row in an int/float column
+	 * @param total Total number of candles
+	 * @param column Index of the column, after the time column
+	 * @param row Index of the candle
+	 * @return
+	 */
+	private static int offset(int total, int column, int row) {
+		return(HEADER_BYTES + (total * TIME_BYTES) + 
+			   (((column * total) + row) * 4));
+	}
+	
+	
+	/**
+	 * Epoch milliseconds of a LocalDateTime, taken as UTC
+	 * @param time LocalDateTime of the candle
+	 * @return
+	 */
+	private long toEpochMilli(LocalDateTime time) {
+		return(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+	}
+	
+	
+	public long getTableRows() {
+		return(this.table_rows);
+	}
+	
+	
+	/**
+	 * @return Latest time of the table, in epoch milliseconds
+	 */
+	public long getTableMaxTime() {
+		return(this.table_max_time);
+	}
+	
+	
+	@Override
+	public int size() {
+		return(this.total);
+	}
+	
+	
+	@Override
+	public int getBlockCount() {
+		return((this.total + Constants.BLOCK_SIZE - 1) / Constants.BLOCK_SIZE);
+	}
+	
+	
+	/**
+	 * Read a block of candles out of the mapped columns
+	 */
+	@Override
+	public CandleBlock getBlock(int index) {
+		ByteBuffer in = this.buffer;
+		int n = this.total;
+		
+		int first = index * Constants.BLOCK_SIZE;
+		int capacity = Math.min(Constants.BLOCK_SIZE, n - first);
+		CandleBlock block = new CandleBlock(capacity);
+		float[] prices = new float[CandleBlock.PRICE_COLUMNS];
+		
+		for(int row = first; row < first + capacity; row++) {
+			for(int k = 0; k < prices.length; k++) 
+				prices[k] = in.getFloat(offset(n, 3 + k, row));
+			
+			block.add(in.getLong(HEADER_BYTES + (row * TIME_BYTES)),
+					  in.getInt(offset(n, 0, row)),
+					  in.getInt(offset(n, 1, row)),
+					  in.getInt(offset(n, 2, row)),
+					  prices);
+		}
+		
+		return(block);
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "CandleCache [file=" + file + ", total=" + total + 
+				", table_rows=" + table_rows + 
+				", table_max_time=" + table_max_time + "]";
+	}
+	
+}
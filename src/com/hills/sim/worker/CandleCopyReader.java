@@ -0,0 +1,125 @@
+package com.hills.sim.worker;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.hills.sim.Constants;
+
+/**
+ * Decodes the output of COPY ... TO STDOUT (FORMAT binary) into 
+ * CandleBlocks. The columns must be in the order of DB_TABLE_FIELDS,
+ * cast to int4 (ID, ContentID, Vol), timestamp (Time) and float4 (OHLC)
+ * @author Mark L
+ *
+ */
+public class CandleCopyReader {
+	
+	private static final byte[] SIGNATURE = new byte[] 
+			{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+	
+//	Postgres timestamps are microseconds since 2000-01-01 00:00:00
+	private static final long PG_EPOCH_MILLIS = 946_684_800_000L;
+	
+	private final DataInputStream in;
+	private final float[] prices;
+	private boolean done;
+	
+	/**
+	 * Make CandleCopyReader, and read the header of the copy
+	 * @param stream InputStream of the binary copy
+	 * @throws IOException
+	 */
+	public CandleCopyReader(InputStream stream) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream
+										(stream, Constants.DB_COPY_BUFFER));
+		this.prices = new float[CandleBlock.PRICE_COLUMNS];
+		this.done = false;
+		
+//		Signature, flags, then the header extension to skip
+		byte[] signature = new byte[SIGNATURE.length];
+		this.in.readFully(signature);
+		for(int i = 0; i < SIGNATURE.length; i++)
+			if(signature[i] != SIGNATURE[i]) 
+				throw new IOException("Invalid COPY binary signature");
+		
+		this.in.readInt();
+		int extension = this.in.readInt();
+		this.in.skipBytes(extension);
+	}
+	
+	
+	/**
+	 * Read the next block of candles
+	 * @param capacity Maximum number of candles in the block
+	 * @return CandleBlock, or null when the copy has ended
+	 * @throws IOException
+	 */
+	public CandleBlock readBlock(int capacity) throws IOException {
+		if(this.done) return(null);
+		
+		CandleBlock block = new CandleBlock(capacity);
+		while(!block.isFull()) {
+			
+//			Field count of -1 is the trailer
+			short fields = this.in.readShort();
+			if(fields == -1) {
+				this.done = true;
+				break;
+			}
+			if(fields != Constants.DB_TABLE_FIELDS.length) 
+				throw new IOException("Unexpected COPY field count: " + fields);
+			
+//			The order is: ID, ContentID, Time, Vol, Ask, Bid, Mid (OHLC)
+			int id = this.readInt();
+			int cid = this.readInt();
+			long time = this.readTimestamp();
+			int vol = this.readInt();
+			for(int k = 0; k < this.prices.length; k++) 
+				this.prices[k] = this.readFloat();
+			
+			block.add(time, id, cid, vol, this.prices);
+		}
+		
+		if(block.size() == 0) return(null);
+		return(block);
+	}
+	
+	
+	private int readInt() throws IOException {
+		this.readLength(4);
+		return(this.in.readInt());
+	}
+	
+	
+	private float readFloat() throws IOException {
+		this.readLength(4);
+		return(this.in.readFloat());
+	}
+	
+	
+	/**
+	 * Read a timestamp, as epoch milliseconds in UTC
+	 * @return
+	 * @throws IOException
+	 */
+	private long readTimestamp() throws IOException {
+		this.readLength(8);
+		long micros = this.in.readLong();
+		return(Math.floorDiv(micros, 1000L) + PG_EPOCH_MILLIS);
+	}
+	
+	
+	/**
+	 * Read the length of the next field, and check it
+	 * @param expected Expected length in bytes
+	 * @throws IOException
+	 */
+	private void readLength(int expected) throws IOException {
+		int length = this.in.readInt();
+		if(length != expected) 
+			throw new IOException("Unexpected COPY field length: " + length);
+	}
+	
+}
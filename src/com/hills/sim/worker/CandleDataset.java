@@ -0,0 +1,110 @@
+package com.hills.sim.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hills.sim.Constants.PriceModeE;
+import com.hills.sim.exceptions.CandleDatasetExc;
+import com.hills.sim.exceptions.CandleSourceExc;
+
+public class CandleDataset implements CandleSeries {
+	
+	private final CandleBlock[] blocks;
+	private final int total;
+	
+	/**
+	 * Make CandleDataset; Load every candle of the period once, so that
+	 * every run of the sweep replays the same immutable candles
+	 * @param source CandleSource of the period (i.e. Compactor)
+	 * @throws CandleDatasetExc
+	 */
+	public CandleDataset(CandleSource source) throws CandleDatasetExc {
+		List<CandleBlock> loaded = new ArrayList<>();
+		
+//		Copy the candles of the period into the list, block by block
+		try {
+			source.copyCandles(loaded::add);
+			
+		} catch (CandleSourceExc | InterruptedException e) {
+			String error_msg = "%s: Error loading candles\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CandleDatasetExc();
+		}
+		
+		this.blocks = loaded.toArray(new CandleBlock[loaded.size()]);
+		this.total = this.countCandles();
+	}
+	
+	
+	/**
+	 * Make CandleDataset; Copy every block of a CandleSeries into memory
+	 * @param series CandleSeries of the period (i.e. CandleCache)
+	 */
+	public CandleDataset(CandleSeries series) {
+		this.blocks = new CandleBlock[series.getBlockCount()];
+		
+		for(int i = 0; i < this.blocks.length; i++)
+			this.blocks[i] = series.getBlock(i);
+		
+		this.total = this.countCandles();
+	}
+	
+	
+	/**
+	 * Derive the columns read by Candle for every block, up front, so that
+	 * the runs only ever read the blocks
+	 * @param unit_distance Distance in number of decimal places
+	 * @param price_mode How the prices are held
+	 */
+	public void derive(int unit_distance, PriceModeE price_mode) {
+		for(CandleBlock block: this.blocks) 
+			block.derive(unit_distance, price_mode);
+	}
+	
+	
+	private int countCandles() {
+		int result = 0;
+		for(CandleBlock block: this.blocks) result += block.size();
+		return(result);
+	}
+	
+	
+	/**
+	 * Check if the estimated footprint of the candles fits in the heap
+	 * @param total_candles Total number of candles
+	 * @param bytes_per_candle Estimated footprint of 1 candle, in bytes
+	 * @return True if the candles fit in the free heap
+	 */
+	public static boolean isFitInMemory(int total_candles, 
+										int bytes_per_candle) {
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		long free = runtime.maxMemory() - used;
+		long required = (long) total_candles * bytes_per_candle;
+		
+		return(required < free);
+	}
+	
+	
+//	Getters
+	
+	
+	@Override
+	public int size() {
+		return(this.total);
+	}
+	
+	
+	@Override
+	public int getBlockCount() {
+		return(this.blocks.length);
+	}
+	
+	
+	@Override
+	public CandleBlock getBlock(int index) {
+		return(this.blocks[index]);
+	}
+	
+}
@@ -0,0 +1,28 @@
+package com.hills.sim.worker;
+
+/**
+ * Candles of the period that can be replayed, block by block, in time order
+ * @author Mark L
+ *
+ */
+public interface CandleSeries {
+
+	/**
+	 * @return Total number of candles
+	 */
+	public int size();
+	
+	
+	/**
+	 * @return Total number of CandleBlocks
+	 */
+	public int getBlockCount();
+	
+	
+	/**
+	 * @param index Index of the block, in time order
+	 * @return CandleBlock at the index
+	 */
+	public CandleBlock getBlock(int index);
+	
+}
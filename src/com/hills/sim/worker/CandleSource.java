@@ -0,0 +1,64 @@
+package com.hills.sim.worker;
+
+import com.hills.sim.exceptions.CandleSourceExc;
+
+/**
+ * Source of the candles of the period, and of the Symbol data
+ * (i.e. Compactor, CsvCandleSource, BinaryCandleSource)
+ * @author Mark L
+ *
+ */
+public interface CandleSource {
+	
+	/**
+	 * Get the total number of candles in the period
+	 * @return Total number of candles
+	 * @throws CandleSourceExc
+	 */
+	public int getTotalCandles() throws CandleSourceExc;
+	
+	
+	/**
+	 * Stream every candle of the period into the sink, in CandleBlocks
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CandleSourceExc
+	 * @throws InterruptedException
+	 */
+	public void streamCandles(CandleBlockSink sink) 
+						throws CandleSourceExc, InterruptedException;
+	
+	
+	/**
+	 * Copy every candle of the period into the sink, in bulk. 
+	 * Defaults to streaming
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CandleSourceExc
+	 * @throws InterruptedException
+	 */
+	default public void copyCandles(CandleBlockSink sink) 
+						throws CandleSourceExc, InterruptedException {
+		this.streamCandles(sink);
+	}
+	
+	
+	/**
+	 * Release the resources of the source
+	 * @throws CandleSourceExc
+	 */
+	public void close() throws CandleSourceExc;
+	
+	
+//	Symbol data, referenced by SymbolSettings
+	
+	
+	public float getMarginRate();
+	
+	public int getPip();
+	
+	public int getDistance();
+	
+	public float getContractSizeMin();
+	
+	public float getContractSizeInt();
+
+}
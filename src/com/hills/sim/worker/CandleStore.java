@@ -0,0 +1,192 @@
+package com.hills.sim.worker;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CandleCacheExc;
+import com.hills.sim.exceptions.CandleStoreExc;
+import com.hills.sim.exceptions.CompactorExc;
+
+public class CandleStore {
+	
+	private final Compactor compactor;
+	private final File dir;
+	
+	/**
+	 * Make CandleStore; The append-only store of every row of a table, 
+	 * as segments in the cache file format, in a directory named after 
+	 * the table. A segment is never rewritten once written
+	 * @param compactor Compactor of the table
+	 * @param cache_dir Directory of the store directories
+	 */
+	public CandleStore(Compactor compactor, String cache_dir) {
+		this.compactor = compactor;
+		this.dir = new File(cache_dir + File.separator + 
+							compactor.getTableName());
+	}
+	
+	
+	/**
+	 * Append the rows of the table newer than the latest row of the store,
+	 * as new segments of STORE_SEGMENT_DAYS at most
+	 * @return Number of rows appended
+	 * @throws CandleStoreExc
+	 */
+	public long sync() throws CandleStoreExc {
+		List<File> segments = listSegments(this.dir);
+		LocalDateTime table_max = this.compactor.getTableMaxTime();
+		long result = 0;
+		
+		if(table_max == null) return(result);
+		if(this.dir.exists() == false) this.dir.mkdirs();
+		this.writeSymbolData();
+		
+//		Start after the latest row of the store, else at the first row
+		long store_rows = 0;
+		LocalDateTime after = null;
+		if(!segments.isEmpty()) {
+			CandleCache last = this.map(segments.get(segments.size() - 1));
+			store_rows = last.getTableRows();
+			after = this.toLocalDateTime(last.getTableMaxTime());
+		}
+		LocalDateTime from = (after == null) ? 
+								this.compactor.getTableMinTime() : after;
+		
+		while(after == null || after.isBefore(table_max)) {
+			LocalDateTime until = from.plusDays(Constants.STORE_SEGMENT_DAYS);
+			if(until.isAfter(table_max)) until = table_max;
+			
+//			Copy the rows of the range, then write them as 1 segment
+			List<CandleBlock> blocks = new ArrayList<>();
+			try {
+				this.compactor.copyCandlesBetween(after, until, blocks::add);
+				
+			} catch (CompactorExc | InterruptedException e) {
+				String error_msg = "%s: Error copying rows up to %s\n";
+				e.printStackTrace();
+				System.err.printf(error_msg, this.getClass().getName(), until);
+				throw new CandleStoreExc();
+			}
+			
+			long rows = 0;
+			for(CandleBlock block: blocks) rows += block.size();
+			
+			if(rows > 0) {
+				store_rows += rows;
+				File segment = new File(this.dir, String.format
+						(Constants.STORE_SEGMENT_FMT, segments.size()));
+				this.write(segment, blocks, store_rows, until);
+				segments.add(segment);
+				result += rows;
+			}
+			
+			after = until;
+			from = until;
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Write a segment; Its header holds the rows of the store up to the 
+	 * segment, and the end of the range copied
+	 */
+	private void write(File segment, List<CandleBlock> blocks, 
+					   long store_rows, LocalDateTime until) 
+												throws CandleStoreExc {
+		try {
+			CandleCache.write(segment, blocks, store_rows, 
+							  until.toInstant(ZoneOffset.UTC).toEpochMilli());
+			
+		} catch (CandleCacheExc e) {
+			String error_msg = "%s: Error writing segment %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), segment);
+			throw new CandleStoreExc();
+		}
+	}
+	
+	
+	private CandleCache map(File segment) throws CandleStoreExc {
+		
+		try {
+			return(new CandleCache(segment));
+			
+		} catch (CandleCacheExc e) {
+			String error_msg = "%s: Error mapping segment %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), segment);
+			throw new CandleStoreExc();
+		}
+	}
+	
+	
+	/**
+	 * Write the Symbol data next to the store, so that BinaryCandleSource
+	 * can replay the store without the DB
+	 * @throws CandleStoreExc
+	 */
+	private void writeSymbolData() throws CandleStoreExc {
+		File specs_file = new File(this.dir.getPath() + 
+								   Constants.SOURCE_SPECS_EXT);
+		
+		Properties specs = new Properties();
+		specs.setProperty("SymMarginRate", 
+						  String.valueOf(this.compactor.getMarginRate()));
+		specs.setProperty("SymPip", String.valueOf(this.compactor.getPip()));
+		specs.setProperty("SymDistance", 
+						  String.valueOf(this.compactor.getDistance()));
+		specs.setProperty("SymContractSizeMin", 
+						  String.valueOf(this.compactor.getContractSizeMin()));
+		specs.setProperty("SymContractSizeInt", 
+						  String.valueOf(this.compactor.getContractSizeInt()));
+		
+		try(OutputStream out = new FileOutputStream(specs_file)) {
+			specs.store(out, "Symbol data of " + this.compactor.getTableName());
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error writing Symbol data: %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), specs_file);
+			throw new CandleStoreExc();
+		}
+	}
+	
+	
+	private LocalDateTime toLocalDateTime(long epoch_milli) {
+		return(LocalDateTime.ofInstant
+					(Instant.ofEpochMilli(epoch_milli), ZoneOffset.UTC));
+	}
+	
+	
+	/**
+	 * List the segments of a store, in sequence
+	 * @param dir Directory of the store
+	 * @return
+	 */
+	public static List<File> listSegments(File dir) {
+		File[] files = dir.listFiles((d, name) -> name.endsWith(".hcc"));
+		if(files == null) return(new ArrayList<>());
+		
+		Arrays.sort(files);
+		return(new ArrayList<>(Arrays.asList(files)));
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "CandleStore [dir=" + dir + "]";
+	}
+	
+}
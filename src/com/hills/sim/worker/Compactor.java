@@ -1,7 +1,9 @@
 package com.hills.sim.worker;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -9,21 +11,28 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyInputStream;
+
 import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CompactorCatalogExc;
 import com.hills.sim.exceptions.CompactorExc;
 import com.hills.sim.settings.GeneralSettings;
 import com.hills.sim.settings.SymbolSettings;
 import com.hills.sim.worker.CompactorCandle;
 
-public class Compactor {
+public class Compactor implements CandleSource {
 	
 	private final Connection connection;
+	private final CompactorCatalog catalog;
 	
 	private final String table_name;
 	private final Map<String, String> table_fields;
@@ -46,14 +55,16 @@ public class Compactor {
 															throws CompactorExc {
 		
 //		Make the connection
-    	try {
-//			Specify the location of the driver
-			Class.forName(Constants.DB_DRIVER);
-			this.connection = DriverManager.getConnection
-					(Constants.DB_URL, Constants.DB_USR, Constants.DB_PWD);
+		this.connection = this.makeConnection();
+		
+//		Load the catalog of the tables, so that the table, its bounds, 
+//		counts and Symbol data are looked up locally
+		try {
+			this.catalog = new CompactorCatalog
+									(gen_settings.getCacheDirectory());
 			
-		} catch (Exception e) {
-			String error_msg = "%s: Error connecting to DB\n";
+		} catch (CompactorCatalogExc e) {
+			String error_msg = "%s: Error loading CompactorCatalog\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new CompactorExc();
@@ -70,6 +81,7 @@ public class Compactor {
     		
     		this.table_name = this.setTableName(src, sym, tf);
     		this.table_fields = this.setTableFields();
+    		this.refreshCatalog();
     		this.period_range = this.setPeriodRange(period_range);
     		
     	} catch(CompactorExc e) {
@@ -85,8 +97,9 @@ public class Compactor {
 		try {
 			String sym = sym_settings.getName();
 			this.setSymbolData(sym);
+			this.catalog.save();
 			
-		} catch (CompactorExc e) {
+		} catch (CompactorExc | CompactorCatalogExc e) {
 			String error_msg = 
 					"%s: Error initializing data required by SymbolSettings\n";
 			e.printStackTrace();
@@ -98,12 +111,51 @@ public class Compactor {
 
 	
 	/**
-	 * Set the Symbol data, within the Compactor.
-	 * This symbol data is referenced by SymbolSettings
+	 * Make a new connection to the DB
+	 * @return Connection
+	 * @throws CompactorExc
+	 */
+	public Connection makeConnection() throws CompactorExc {
+		Connection result = null;
+		
+    	try {
+//			Specify the location of the driver
+			Class.forName(Constants.DB_DRIVER);
+			result = DriverManager.getConnection
+					(Constants.DB_URL, Constants.DB_USR, Constants.DB_PWD);
+			
+		} catch (Exception e) {
+			String error_msg = "%s: Error connecting to DB\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorExc();
+		}
+    	
+    	return(result);
+	}
+	
+	
+	/**
+	 * Set the Symbol data, within the Compactor, from the catalog, else 
+	 * from the DB. This symbol data is referenced by SymbolSettings
 	 * @param symbol_name Name of the Symbol
 	 * @throws CompactorExc
 	 */
 	private void setSymbolData(String symbol_name) throws CompactorExc {
+		if(this.catalog.getSymbolValue(symbol_name, "SymPip") != null) {
+			this.margin_rate = Float.parseFloat(this.catalog.getSymbolValue
+											(symbol_name, "SymMarginRate"));
+			this.pip = Integer.parseInt(this.catalog.getSymbolValue
+											(symbol_name, "SymPip"));
+			this.distance = Integer.parseInt(this.catalog.getSymbolValue
+											(symbol_name, "SymDistance"));
+			this.contract_size_min = Float.parseFloat(this.catalog.getSymbolValue
+											(symbol_name, "SymContractSizeMin"));
+			this.contract_size_int = Float.parseFloat(this.catalog.getSymbolValue
+											(symbol_name, "SymContractSizeInt"));
+			return;
+		}
+		
 		String query = String.format
 				("SELECT * FROM Symbol WHERE SymName = '%s';", symbol_name);
 		
@@ -115,6 +167,16 @@ public class Compactor {
 				this.distance = rs.getInt("SymDistance");
 				this.contract_size_min = rs.getFloat("SymContractSizeMin");
 				this.contract_size_int = rs.getFloat("SymContractSizeInt");
+				
+				this.catalog.putSymbolValue
+							(symbol_name, "SymMarginRate", this.margin_rate);
+				this.catalog.putSymbolValue(symbol_name, "SymPip", this.pip);
+				this.catalog.putSymbolValue
+							(symbol_name, "SymDistance", this.distance);
+				this.catalog.putSymbolValue(symbol_name, 
+							"SymContractSizeMin", this.contract_size_min);
+				this.catalog.putSymbolValue(symbol_name, 
+							"SymContractSizeInt", this.contract_size_int);
 			}
 			
 		} catch (SQLException e) {
@@ -135,60 +197,322 @@ public class Compactor {
      public List<CompactorCandle> getCandles(String query) 
     								throws CompactorExc {
     	List<CompactorCandle> result = new ArrayList<>();
-    	Map<String, String> lookup = this.table_fields;
     	
 //		Parse each record into a candle
 		try(Statement stmt = this.connection.createStatement()) {
 			ResultSet rs = stmt.executeQuery(query);
+			int[] columns = this.getColumnIndexes(rs);
+			
+			while(rs.next()) 
+				result.add(this.toCompactorCandle(rs, columns));
+		}		
+		catch(SQLException e) {
+			String error_msg = "%s: Error saving CompactorCandles\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorExc();
+		}
+    	return(result);
+    }
+     
+     
+    /**
+     * Return the CandleBlocks of a query, run on the given connection.
+     * Used by CompactorPrefetcher, to run the day-queries concurrently
+     * @param connection Connection to run the query on
+     * @param query String value of SQL query
+     * @return
+     * @throws CompactorExc
+     */
+	public List<CandleBlock> getCandleBlocks(Connection connection, 
+											 String query) 
+												throws CompactorExc {
+		List<CandleBlock> result = new ArrayList<>();
+		
+//		Parse each record into the block, and start a new one when full
+		try(Statement stmt = connection.createStatement();
+			ResultSet rs = stmt.executeQuery(query)) {
+			int[] columns = this.getColumnIndexes(rs);
+			float[] prices = new float[CandleBlock.PRICE_COLUMNS];
+			CandleBlock block = new CandleBlock(Constants.BLOCK_SIZE);
 			
 			while(rs.next()) {
-				LocalDateTime time; 
-				int[] id_cid_vol;
-				float[] ask, bid, mid;
-
-//				Extract data from ResultSet
-				time = this.toLocalDateTime
-							(rs.getTimestamp(lookup.get("Time")));
-				
-				int id = rs.getInt(lookup.get("ID"));
-				int cid = rs.getInt(lookup.get("ContentID"));
-				int vol = rs.getInt(lookup.get("Vol"));
+				this.addToBlock(rs, columns, prices, block);
 				
-				float asko = rs.getFloat(lookup.get("AskO"));
-				float askh = rs.getFloat(lookup.get("AskH"));
-				float askl = rs.getFloat(lookup.get("AskL"));
-				float askc = rs.getFloat(lookup.get("AskC"));
+				if(block.isFull()) {
+					result.add(block);
+					block = new CandleBlock(Constants.BLOCK_SIZE);
+				}
+			}
+			if(block.size() > 0) result.add(block);
+		}
+		catch(SQLException e) {
+			String error_msg = "%s: Error saving CandleBlocks\n";
+			e.printStackTrace();
+			System.err.printf("SQL query: %s\n", query);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorExc();
+		}
+		
+		return(result);
+	}
+	
+	
+    /**
+     * Stream every candle of the period range into the sink, in 
+     * CandleBlocks filled as the rows arrive. A single PreparedStatement 
+     * is run over the whole period, with autocommit off so that the driver 
+     * fetches the rows with a cursor, DB_FETCH_SIZE rows at a time
+     * @param sink CandleBlockSink receiving the blocks, in time order
+     * @throws CompactorExc
+     * @throws InterruptedException
+     */
+	public void streamCandles(CandleBlockSink sink) 
+						throws CompactorExc, InterruptedException {
+		String time_field = this.table_fields.get("Time");
+		String vol_field = this.table_fields.get("Vol");
+		
+		String query = String.format("SELECT * FROM %s "
+								   + "WHERE %s >= ? AND %s <= ? AND %s > 0 "
+								   + "ORDER BY %s ASC;",
+									 this.table_name,
+									 time_field,
+									 time_field,
+									 vol_field,
+									 time_field);
+		
+		try {
+			this.connection.setAutoCommit(false);
+			
+			try(PreparedStatement stmt = 
+					this.connection.prepareStatement(query)) {
+				stmt.setFetchSize(Constants.DB_FETCH_SIZE);
+				stmt.setObject(1, this.period_range[0]);
+				stmt.setObject(2, this.period_range[1]);
 				
-				float bido = rs.getFloat(lookup.get("BidO"));
-				float bidh = rs.getFloat(lookup.get("BidH"));
-				float bidl = rs.getFloat(lookup.get("BidL"));
-				float bidc = rs.getFloat(lookup.get("BidC"));
+//				Parse each record into the block, and hand over full blocks
+				try(ResultSet rs = stmt.executeQuery()) {
+					int[] columns = this.getColumnIndexes(rs);
+					float[] prices = new float[CandleBlock.PRICE_COLUMNS];
+					CandleBlock block = new CandleBlock(Constants.BLOCK_SIZE);
+					
+					while(rs.next()) {
+						this.addToBlock(rs, columns, prices, block);
+						
+						if(block.isFull()) {
+							sink.put(block);
+							block = new CandleBlock(Constants.BLOCK_SIZE);
+						}
+					}
+					if(block.size() > 0) sink.put(block);
+				}
 				
-				float mido = rs.getFloat(lookup.get("MidO"));
-				float midh = rs.getFloat(lookup.get("MidH"));
-				float midl = rs.getFloat(lookup.get("MidL"));
-				float midc = rs.getFloat(lookup.get("MidC"));
-
-//				Prepare into arrays
-				id_cid_vol = new int[] {id, cid, vol};
-				ask = new float[] {asko, askh, askl, askc};
-				bid = new float[] {bido, bidh, bidl, bidc};
-				mid = new float[] {mido, midh, midl, midc};
+			} finally {
+				this.connection.commit();
+				this.connection.setAutoCommit(true);
+			}
+			
+		} catch(SQLException e) {
+			String error_msg = "%s: Error streaming CompactorCandles\n";
+			e.printStackTrace();
+			System.err.printf("SQL query: %s\n", query);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorExc();
+		}
+	}
+	
+	
+	/**
+	 * Copy every candle of the period range into the sink, in CandleBlocks.
+	 * Uses COPY ... TO STDOUT (FORMAT binary), decoded straight into 
+	 * primitive columns by CandleCopyReader
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CompactorExc
+	 * @throws InterruptedException
+	 */
+	public void copyCandles(CandleBlockSink sink) 
+						throws CompactorExc, InterruptedException {
+		String time_field = this.table_fields.get("Time");
+		String vol_field = this.table_fields.get("Vol");
+		String start = this.period_range[0].format(this.dt_format);
+		String end = this.period_range[1].format(this.dt_format);
+		
+		String condition = String.format("WHERE %s >= '%s' AND %s <= '%s' "
+									   + "AND %s > 0 ",
+										 time_field, start,
+										 time_field, end,
+										 vol_field);
+		
+		this.copyCandles(this.makeCopyQuery(condition), sink);
+	}
+	
+	
+	/**
+	 * Copy every row of the table in (after, until] into the sink, in 
+	 * CandleBlocks, regardless of the period and volume. 
+	 * Used by CandleStore, to sync only the new rows
+	 * @param after Time of the latest row already copied; null: no limit
+	 * @param until Time of the latest row to copy, inclusive
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CompactorExc
+	 * @throws InterruptedException
+	 */
+	public void copyCandlesBetween(LocalDateTime after, LocalDateTime until,
+								   CandleBlockSink sink) 
+						throws CompactorExc, InterruptedException {
+		String time_field = this.table_fields.get("Time");
+		
+		String condition = String.format("WHERE %s <= '%s' ", 
+										 time_field, 
+										 until.format(this.dt_format));
+		if(after != null) 
+			condition += String.format("AND %s > '%s' ", 
+									   time_field, 
+									   after.format(this.dt_format));
+		
+		this.copyCandles(this.makeCopyQuery(condition), sink);
+	}
+	
+	
+	/**
+	 * Run a COPY query, decoding its rows into CandleBlocks
+	 * @param query COPY query, from makeCopyQuery
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CompactorExc
+	 * @throws InterruptedException
+	 */
+	private void copyCandles(String query, CandleBlockSink sink) 
+						throws CompactorExc, InterruptedException {
+		
+		try {
+			CopyManager copy_manager = this.connection
+										   .unwrap(PGConnection.class)
+										   .getCopyAPI();
+			
+			try(PGCopyInputStream stream = 
+					new PGCopyInputStream(copy_manager.copyOut(query))) {
+				CandleCopyReader reader = new CandleCopyReader(stream);
 				
-				CompactorCandle candle = 
-					new CompactorCandle(time, id_cid_vol, ask, bid, mid);
-															 
-				result.add(candle);
+				CandleBlock block;
+				while((block = reader.readBlock(Constants.BLOCK_SIZE)) != null)
+					sink.put(block);
 			}
-		}		
-		catch(SQLException e) {
-			String error_msg = "%s: Error saving CompactorCandles\n";
+			
+		} catch(SQLException | IOException e) {
+			String error_msg = "%s: Error copying CompactorCandles\n";
 			e.printStackTrace();
+			System.err.printf("SQL query: %s\n", query);
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new CompactorExc();
 		}
-    	return(result);
-    }
+	}
+	
+	
+	/**
+	 * Generate the COPY query of the rows meeting a condition. The columns 
+	 * are cast, so that CandleCopyReader knows the binary format of 
+	 * every field
+	 * @param condition WHERE clause (i.e. the period range), or empty
+	 * @return
+	 */
+	private String makeCopyQuery(String condition) {
+		String time_field = this.table_fields.get("Time");
+		
+//		<FIELD>::<TYPE>, in the order of DB_TABLE_FIELDS
+		List<String> columns = new ArrayList<>();
+		for(String field: Constants.DB_TABLE_FIELDS) {
+			String type = "float4";
+			if(field.equals("Time")) type = "timestamp";
+			else if(field.equals("ID") || field.equals("ContentID") || 
+					field.equals("Vol")) type = "int4";
+			
+			columns.add(this.table_fields.get(field) + "::" + type);
+		}
+		
+		String q_select = String.format("SELECT %s FROM %s ", 
+										String.join(", ", columns),
+										this.table_name);
+		
+		String q_order = String.format("ORDER BY %s ASC", time_field);
+		
+		return(String.format("COPY (%s) TO STDOUT (FORMAT binary);", 
+							 q_select + condition + q_order));
+	}
+	
+	
+	/**
+	 * Look up the column index of every table field, once per ResultSet
+	 * @param rs ResultSet of the candles
+	 * @return Column indexes, in the order of DB_TABLE_FIELDS
+	 * @throws SQLException
+	 */
+	private int[] getColumnIndexes(ResultSet rs) throws SQLException {
+		String[] fields = Constants.DB_TABLE_FIELDS;
+		int[] result = new int[fields.length];
+		
+		for(int i = 0; i < fields.length; i++) 
+			result[i] = rs.findColumn(this.table_fields.get(fields[i]));
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Add the current row of the ResultSet to the block
+	 * @param rs ResultSet of the candles
+	 * @param columns Column indexes, in the order of DB_TABLE_FIELDS
+	 * @param prices Scratch array for the Ask, Bid and Mid OHLC
+	 * @param block CandleBlock to add to
+	 * @throws SQLException
+	 */
+	private void addToBlock(ResultSet rs, int[] columns, float[] prices,
+							CandleBlock block) throws SQLException {
+		LocalDateTime time = this.toLocalDateTime
+										(rs.getTimestamp(columns[2]));
+		long epoch_milli = time.toInstant(ZoneOffset.UTC).toEpochMilli();
+		
+//		Ask, Bid, Mid (OHLC) follow ID, ContentID, Time and Vol
+		for(int k = 0; k < prices.length; k++) 
+			prices[k] = rs.getFloat(columns[4 + k]);
+		
+		block.add(epoch_milli, 
+				  rs.getInt(columns[0]), 
+				  rs.getInt(columns[1]), 
+				  rs.getInt(columns[3]), 
+				  prices);
+	}
+	
+	
+	/**
+	 * Make a CompactorCandle out of the current row of the ResultSet
+	 * @param rs ResultSet of the candles
+	 * @param columns Column indexes, in the order of DB_TABLE_FIELDS
+	 * @return
+	 * @throws SQLException
+	 */
+	private CompactorCandle toCompactorCandle(ResultSet rs, int[] columns) 
+											throws SQLException {
+		LocalDateTime time; 
+		int[] id_cid_vol;
+		float[] ask, bid, mid;
+
+//		Extract data from ResultSet
+//		The order is: ID, ContentID, Time, Vol, Ask, Bid, Mid (OHLC)
+		time = this.toLocalDateTime(rs.getTimestamp(columns[2]));
+		
+		id_cid_vol = new int[] {rs.getInt(columns[0]),
+								rs.getInt(columns[1]),
+								rs.getInt(columns[3])};
+		
+		ask = new float[] {rs.getFloat(columns[4]), rs.getFloat(columns[5]),
+						   rs.getFloat(columns[6]), rs.getFloat(columns[7])};
+		bid = new float[] {rs.getFloat(columns[8]), rs.getFloat(columns[9]),
+						   rs.getFloat(columns[10]), rs.getFloat(columns[11])};
+		mid = new float[] {rs.getFloat(columns[12]), rs.getFloat(columns[13]),
+						   rs.getFloat(columns[14]), rs.getFloat(columns[15])};
+		
+		return(new CompactorCandle(time, id_cid_vol, ask, bid, mid));
+	}
     
 	/**
 	 * Make a List<String> of SQL queries, that get the candles by day
@@ -352,6 +676,7 @@ public class Compactor {
     	boolean result = false;
     	
     	String tablename = this.makeTableName(src, sym, tf);
+    	if(this.catalog.hasTable(tablename)) return(true);
     	
     	try {
 			List<String> db_tablenames = this.getTableNames();
@@ -468,37 +793,22 @@ public class Compactor {
 	
 	
 	/**
-	 * Get period bounds of the table, from the DB
+	 * Get period bounds of the table, from the catalog
 	 * @return
 	 * @throws CompactorQueryException
 	 */
 	private LocalDateTime[] getPeriodBounds() 
 				throws CompactorExc {
 		LocalDateTime[] results = new LocalDateTime[2];
-		String time_field = this.table_fields.get("Time");
-		
-		String query_lower = 
-				String.format("SELECT %s FROM %s ORDER BY %s ASC LIMIT 1;",
-							  time_field,
-							  this.table_name,
-							  time_field);
 		
-		String query_upper = 
-				String.format("SELECT %s FROM %s ORDER BY %s DESC LIMIT 1;",
-							  time_field,
-							  this.table_name,
-							  time_field);
+		results[0] = this.catalog.getMinTime(this.table_name);
+		results[1] = this.catalog.getMaxTime(this.table_name);
 		
-		try {
-			results[0] = this.getOneTimeRecord(query_lower);
-			results[1] = this.getOneTimeRecord(query_upper);
-			
-		} catch (CompactorExc e) {
-			String error_msg = 
-				"%s: Error getting lower/upper time bounds from Compactor\n";
-			e.printStackTrace();
-			System.err.printf(error_msg, this.getClass().getName());
-			throw new CompactorExc();			
+		if(results[0] == null || results[1] == null) {
+			String error_msg = "%s: Table %s has no rows\n";
+			System.err.printf(error_msg, this.getClass().getName(), 
+							  this.table_name);
+			throw new CompactorExc();
 		}
 
 		return(results);
@@ -506,33 +816,24 @@ public class Compactor {
 	
 	
 	/**
-	 * Helper function to get 1 LocalDateTime from the database
-     * @param query String value of SQL query
-	 * @return
-	 * @throws CompactorQueryException
+	 * Bring the catalog entry of the table up to date, with the rows 
+	 * added since the last refresh
+	 * @throws CompactorExc
 	 */
-	private LocalDateTime getOneTimeRecord(String query) 
-				throws CompactorExc {
-		LocalDateTime result = null;
+	private void refreshCatalog() throws CompactorExc {
+		
+		try {
+			this.catalog.refresh(this.connection, 
+								 this.table_name, 
+								 this.table_fields.get("Time"), 
+								 this.table_fields.get("Vol"));
 			
-		try(Statement stmt = this.connection.createStatement()) {
-			ResultSet rs = stmt.executeQuery(query);
-			while(rs.next()) {
-				
-//				Column index begins from 1, not 0.
-				result = this.toLocalDateTime(rs.getTimestamp(1));
-
-			}
-		}		
-		catch(SQLException e) {
-			String error_msg = 
-					"%s: Error getting 1 LocalDateTime from Compactor\n";
+		} catch (CompactorCatalogExc e) {
+			String error_msg = "%s: Error refreshing CompactorCatalog\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
 			throw new CompactorExc();
 		}
-			
-		return(result);
 	}
 	
 	
@@ -614,12 +915,14 @@ public class Compactor {
 	
 	
 	/**
-	 * Get the total number of Compactor Candles, given a start and end time period
+	 * Get the total number of Compactor Candles, given a start and end time period.
+	 * The whole days are summed from the catalog; Only the partial first 
+	 * and last days are counted in the DB
 	 * @return total Total number of compactor candles
 	 * @throws CompactorResultException
 	 */
 	public int getTotalCompactorCandles() throws CompactorExc {
-		int result = 0;
+		long result = 0;
 		
 		if(this.table_name == null ||
 				this.table_fields == null ||
@@ -630,27 +933,62 @@ public class Compactor {
 			throw new CompactorExc();
 		}
 		
+		LocalDateTime start = this.period_range[0];
+		LocalDateTime end = this.period_range[1];
+		LocalDate first = start.toLocalDate();
+		LocalDate last = end.toLocalDate();
+		
+//		For the case where the period range ends within 1 day
+		if(first.equals(last)) return((int) this.countCandles(start, end));
+		
+//		First day: whole when it starts at 00:00:00, else up to 23:59:59.x
+		if(start.equals(first.atStartOfDay())) 
+			result += this.catalog.getCandleCount(this.table_name, first, first);
+		else 
+			result += this.countCandles(start, 
+					first.plusDays(1).atStartOfDay().minusNanos(1_000));
+		
+//		Body: whole days. Last day: 00:00:00 up to the end
+		if(first.plusDays(1).isBefore(last)) 
+			result += this.catalog.getCandleCount
+						(this.table_name, first.plusDays(1), last.minusDays(1));
+		result += this.countCandles(last.atStartOfDay(), end);
+		
+		return((int) result);
+	}
+	
+	
+	/**
+	 * Count the candles with volume between 2 times, inclusive
+	 * @param start Start of the count
+	 * @param end End of the count
+	 * @return
+	 * @throws CompactorExc
+	 */
+	private long countCandles(LocalDateTime start, LocalDateTime end) 
+											throws CompactorExc {
+		long result = 0;
 		String time_field = this.table_fields.get("Time");
 		String vol_field = this.table_fields.get("Vol");
-		String start_time = this.period_range[0].format(this.dt_format);
-		String end_time = this.period_range[1].format(this.dt_format);
 		
 		String query = 
 				String.format("SELECT COUNT(*) FROM %s "
-							+ "WHERE %s >= '%s' AND %s <= '%s' AND %s > 0;",
+							+ "WHERE %s >= ? AND %s <= ? AND %s > 0;",
 								this.table_name,
 								time_field,
-								start_time,
 								time_field,
-								end_time,
 								vol_field);
 		
-		try(Statement stmt = this.connection.createStatement()) {
-			ResultSet rs = stmt.executeQuery(query);
-			while(rs.next()) 
-				
-//				Column index begins from 1, not 0.
-				result = rs.getInt(1);
+		try(PreparedStatement stmt = this.connection.prepareStatement(query)) {
+			stmt.setObject(1, start);
+			stmt.setObject(2, end);
+			
+			try(ResultSet rs = stmt.executeQuery()) {
+				while(rs.next()) 
+					
+//					Column index begins from 1, not 0.
+					result = rs.getLong(1);
+			}
 		}
 		
 		catch(SQLException e) {
@@ -666,6 +1004,42 @@ public class Compactor {
 
 
 	
+	@Override
+	public int getTotalCandles() throws CompactorExc {
+		return(this.getTotalCompactorCandles());
+	}
+	
+	
+	/**
+	 * Get the total number of rows in the table, regardless of the period,
+	 * from the catalog
+	 * @return Total number of rows
+	 */
+	public long getTableRowCount() {
+		return(this.catalog.getRowCount(this.table_name));
+	}
+	
+	
+	/**
+	 * Get the earliest time of the table, regardless of the period, 
+	 * from the catalog
+	 * @return LocalDateTime of the first row
+	 */
+	public LocalDateTime getTableMinTime() {
+		return(this.catalog.getMinTime(this.table_name));
+	}
+	
+	
+	/**
+	 * Get the latest time of the table, regardless of the period, 
+	 * from the catalog
+	 * @return LocalDateTime of the last row
+	 */
+	public LocalDateTime getTableMaxTime() {
+		return(this.catalog.getMaxTime(this.table_name));
+	}
+	
+	
 	/**
 	 * Close the open DB connections
 	 * @throws CompactorExc
@@ -684,6 +1058,22 @@ public class Compactor {
 	}
 	
 //	Getters
+	/**
+	 * @return the table_name
+	 */
+	public String getTableName() {
+		return table_name;
+	}
+	
+	
+	/**
+	 * @return the period_range
+	 */
+	public LocalDateTime[] getPeriodRange() {
+		return period_range;
+	}
+	
+	
 	/**
 	 * @return the margin_rate
 	 */
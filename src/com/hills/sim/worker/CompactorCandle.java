@@ -153,5 +153,10 @@ public class CompactorCandle {
 
 	public float[] getBid() {
 		return bid;
+	}
+	
+	
+	public float[] getMid() {
+		return mid;
 	}	
 }
@@ -0,0 +1,264 @@
+package com.hills.sim.worker;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CompactorCatalogExc;
+
+public class CompactorCatalog {
+	
+//	Keys: <TABLE>.rows, <TABLE>.min_time, <TABLE>.max_time, 
+//	<TABLE>.day.<yyyy-MM-dd> (rows, candles with volume), 
+//	Symbol.<SymName>.<Symbol field>
+	private static final String KEY_ROWS = "%s.rows";
+	private static final String KEY_MIN_TIME = "%s.min_time";
+	private static final String KEY_MAX_TIME = "%s.max_time";
+	private static final String KEY_DAY = "%s.day.%s";
+	private static final String KEY_SYMBOL = "Symbol.%s.%s";
+	
+	private final File file;
+	private final Properties entries;
+	private boolean changed;
+	
+	/**
+	 * Make CompactorCatalog; Load the catalog file of the cache directory.
+	 * The tables are assumed to be append only: delete the file to 
+	 * rebuild the catalog after rows are changed or removed
+	 * @param cache_dir Directory of the catalog file
+	 * @throws CompactorCatalogExc
+	 */
+	public CompactorCatalog(String cache_dir) throws CompactorCatalogExc {
+		this.file = new File(cache_dir + File.separator + 
+							 Constants.CATALOG_FILE);
+		this.entries = new Properties();
+		this.changed = false;
+		
+		if(!this.file.isFile()) return;
+		
+		try(InputStream in = new FileInputStream(this.file)) {
+			this.entries.load(in);
+			
+		} catch (IOException | IllegalArgumentException e) {
+			String error_msg = "%s: Error reading catalog file\n";
+			e.printStackTrace();
+			System.err.printf("Catalog file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorCatalogExc();
+		}
+	}
+	
+	
+	/**
+	 * Bring the entry of the table up to date, by scanning only the rows 
+	 * after its latest time (every row, the first time)
+	 * @param connection Connection to run the query on
+	 * @param table_name Name of the table
+	 * @param time_field Name of the Time field
+	 * @param vol_field Name of the Vol field
+	 * @throws CompactorCatalogExc
+	 */
+	public void refresh(Connection connection, String table_name, 
+						String time_field, String vol_field) 
+												throws CompactorCatalogExc {
+		LocalDateTime max_time = this.getMaxTime(table_name);
+		
+		String query = String.format("SELECT CAST(%s AS DATE), COUNT(*), "
+							+ "SUM(CASE WHEN %s > 0 THEN 1 ELSE 0 END), "
+							+ "MIN(%s), MAX(%s) FROM %s %s "
+							+ "GROUP BY 1 ORDER BY 1;",
+								time_field,
+								vol_field,
+								time_field,
+								time_field,
+								table_name,
+								(max_time == null) ? "" : 
+									"WHERE " + time_field + " > ?");
+		
+		try(PreparedStatement stmt = connection.prepareStatement(query)) {
+			if(max_time != null) stmt.setObject(1, max_time);
+			
+//			Add the rows of each day to its entry (the last day may be 
+//			partly catalogued already)
+			try(ResultSet rs = stmt.executeQuery()) {
+				while(rs.next()) {
+					LocalDate day = rs.getDate(1).toLocalDate();
+					long[] counts = this.getDay(table_name, day);
+					counts[0] += rs.getLong(2);
+					counts[1] += rs.getLong(3);
+					
+					this.put(KEY_DAY, table_name, day, 
+							 counts[0] + "," + counts[1]);
+					this.put(KEY_ROWS, table_name, null, 
+							 this.getRowCount(table_name) + rs.getLong(2));
+					
+					if(this.getMinTime(table_name) == null)
+						this.put(KEY_MIN_TIME, table_name, null, 
+								 this.toLocalDateTime(rs.getTimestamp(4)));
+					this.put(KEY_MAX_TIME, table_name, null, 
+							 this.toLocalDateTime(rs.getTimestamp(5)));
+				}
+			}
+			
+		} catch (SQLException e) {
+			String error_msg = "%s: Error refreshing the catalog of %s\n";
+			e.printStackTrace();
+			System.err.printf("SQL query: %s\n", query);
+			System.err.printf(error_msg, this.getClass().getName(), table_name);
+			throw new CompactorCatalogExc();
+		}
+	}
+	
+	
+	/**
+	 * Write the catalog file when it has changed. Written to a temporary 
+	 * file first, so the catalog file is never left incomplete
+	 * @throws CompactorCatalogExc
+	 */
+	public void save() throws CompactorCatalogExc {
+		if(!this.changed) return;
+		
+		File dir = this.file.getParentFile();
+		if(dir != null && dir.exists() == false) dir.mkdirs();
+		File temp = new File(this.file.getPath() + ".tmp");
+		
+		try {
+			try(OutputStream out = new FileOutputStream(temp)) {
+				this.entries.store(out, "Catalog of the Compactor tables");
+			}
+			Files.move(temp.toPath(), this.file.toPath(), 
+					   StandardCopyOption.REPLACE_EXISTING);
+			this.changed = false;
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error writing catalog file\n";
+			e.printStackTrace();
+			System.err.printf("Catalog file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorCatalogExc();
+		}
+	}
+	
+	
+	/**
+	 * True: Table is in the catalog
+	 * @param table_name Name of the table
+	 * @return
+	 */
+	public boolean hasTable(String table_name) {
+		return(this.getMaxTime(table_name) != null);
+	}
+	
+	
+	/**
+	 * Get the number of candles with volume over whole days
+	 * @param table_name Name of the table
+	 * @param first First day, inclusive
+	 * @param last Last day, inclusive
+	 * @return
+	 */
+	public long getCandleCount(String table_name, LocalDate first, 
+							   LocalDate last) {
+		long result = 0;
+		
+		for(LocalDate day = first; !day.isAfter(last); day = day.plusDays(1))
+			result += this.getDay(table_name, day)[1];
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Get the rows and the candles with volume of 1 day
+	 * @return {rows, candles}; Zeros when the day has no rows
+	 */
+	private long[] getDay(String table_name, LocalDate day) {
+		String value = this.get(KEY_DAY, table_name, day);
+		if(value == null) return(new long[] {0, 0});
+		
+		String[] counts = value.split(",");
+		return(new long[] {Long.parseLong(counts[0]), 
+						   Long.parseLong(counts[1])});
+	}
+	
+	
+	public long getRowCount(String table_name) {
+		String value = this.get(KEY_ROWS, table_name, null);
+		return((value == null) ? 0 : Long.parseLong(value));
+	}
+	
+	
+	public LocalDateTime getMinTime(String table_name) {
+		String value = this.get(KEY_MIN_TIME, table_name, null);
+		return((value == null) ? null : LocalDateTime.parse(value));
+	}
+	
+	
+	public LocalDateTime getMaxTime(String table_name) {
+		String value = this.get(KEY_MAX_TIME, table_name, null);
+		return((value == null) ? null : LocalDateTime.parse(value));
+	}
+	
+	
+	/**
+	 * Get a Symbol field (i.e. SymPip) of a Symbol
+	 * @param symbol_name Name of the Symbol
+	 * @param field Name of the Symbol field
+	 * @return Value, or null when the Symbol is not in the catalog
+	 */
+	public String getSymbolValue(String symbol_name, String field) {
+		return(this.get(KEY_SYMBOL, symbol_name, field));
+	}
+	
+	
+	public void putSymbolValue(String symbol_name, String field, 
+							   Object value) {
+		this.put(KEY_SYMBOL, symbol_name, field, value);
+	}
+	
+	
+	private String get(String key_format, String name, Object sub_key) {
+		return(this.entries.getProperty
+							(String.format(key_format, name, sub_key)));
+	}
+	
+	
+	private void put(String key_format, String name, Object sub_key, 
+					 Object value) {
+		this.entries.setProperty(String.format(key_format, name, sub_key), 
+								 String.valueOf(value));
+		this.changed = true;
+	}
+	
+	
+	/**
+	 * Make a LocalDateTime out of a SQL Timestamp object
+	 * @param timest Timestamp object
+	 * @return
+	 */
+	private LocalDateTime toLocalDateTime(Timestamp timest) {
+		return(timest.toLocalDateTime());
+	}
+	
+	
+	@Override
+	public String toString() {
+		return "CompactorCatalog [file=" + file + 
+				", entries=" + entries.size() + "]";
+	}
+	
+}
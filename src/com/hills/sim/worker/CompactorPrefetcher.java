@@ -0,0 +1,148 @@
+package com.hills.sim.worker;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.CompactorExc;
+import com.hills.sim.exceptions.CompactorPrefetcherExc;
+
+public class CompactorPrefetcher {
+	
+	private final Compactor compactor;
+	private final List<Connection> connections;
+	private final LinkedBlockingQueue<Connection> idle_connections;
+	private final ExecutorService executor;
+	
+	/**
+	 * Make CompactorPrefetcher; Run the day-queries of the Compactor 
+	 * concurrently, over a small pool of connections
+	 * @param compactor Compactor of the table and period
+	 * @param total_connections Number of connections (and threads)
+	 * @throws CompactorPrefetcherExc
+	 */
+	public CompactorPrefetcher(Compactor compactor, int total_connections) 
+										throws CompactorPrefetcherExc {
+		this.compactor = compactor;
+		this.connections = new ArrayList<>();
+		this.idle_connections = new LinkedBlockingQueue<>();
+		
+//		Make the pool of connections
+		try {
+			for(int i = 0; i < total_connections; i++) 
+				this.connections.add(this.compactor.makeConnection());
+			
+		} catch (CompactorExc e) {
+			String error_msg = "%s: Error making the pool of connections\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			this.closeConnections();
+			throw new CompactorPrefetcherExc();
+		}
+		this.idle_connections.addAll(this.connections);
+		
+//		1 thread per connection; Daemon, so it never holds the JVM open
+		this.executor = Executors.newFixedThreadPool(total_connections, r -> {
+			Thread t = new Thread(r, "CompactorPrefetcher");
+			t.setDaemon(true);
+			return(t);
+		});
+	}
+	
+	
+	/**
+	 * Prefetch the day-queries of the period, keeping up to 
+	 * DB_PREFETCH_DEPTH queries per connection in flight. The days are 
+	 * delivered to the sink in sequence, so the candles stay in time order
+	 * @param sink CandleBlockSink receiving the blocks, in time order
+	 * @throws CompactorPrefetcherExc
+	 * @throws InterruptedException
+	 */
+	public void prefetch(CandleBlockSink sink) 
+						throws CompactorPrefetcherExc, InterruptedException {
+		List<String> queries = this.compactor.getQueries();
+		Deque<Future<List<CandleBlock>>> in_flight = new ArrayDeque<>();
+		int window = this.connections.size() * Constants.DB_PREFETCH_DEPTH;
+		int next = 0;
+		
+		try {
+			while(next < queries.size() || !in_flight.isEmpty()) {
+				
+//				Fill the window of day-queries in flight
+				while(next < queries.size() && in_flight.size() < window) {
+					String query = queries.get(next++);
+					in_flight.add(this.executor.submit(() -> this.fetch(query)));
+				}
+				
+//				Deliver the earliest day first
+				List<CandleBlock> blocks = in_flight.poll().get();
+				for(CandleBlock block: blocks) sink.put(block);
+			}
+			
+		} catch (ExecutionException e) {
+			String error_msg = "%s: Error prefetching day-query\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new CompactorPrefetcherExc();
+			
+		} finally {
+			for(Future<List<CandleBlock>> future: in_flight) 
+				future.cancel(true);
+		}
+	}
+	
+	
+	/**
+	 * Run 1 day-query on an idle connection
+	 * @param query String value of SQL query
+	 * @return CandleBlocks of the day
+	 * @throws CompactorExc
+	 * @throws InterruptedException
+	 */
+	private List<CandleBlock> fetch(String query) 
+						throws CompactorExc, InterruptedException {
+		Connection connection = this.idle_connections.take();
+		
+		try {
+			return(this.compactor.getCandleBlocks(connection, query));
+			
+		} finally {
+//			Never blocks on the unbounded queue, even when the fetch is 
+//			cancelled: The connection always returns to the pool
+			this.idle_connections.offer(connection);
+		}
+	}
+	
+	
+	/**
+	 * Stop the threads and close the pool of connections
+	 */
+	public void close() {
+		this.executor.shutdownNow();
+		this.closeConnections();
+	}
+	
+	
+	private void closeConnections() {
+		for(Connection connection: this.connections) {
+			try {
+				connection.close();
+				
+			} catch (SQLException e) {
+				String error_msg = "%s: Error closing db connection.\n";
+				e.printStackTrace();
+				System.err.printf(error_msg, this.getClass().getName());
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,266 @@
+package com.hills.sim.worker;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.FileCandleSourceExc;
+
+/**
+ * CandleSource over a memory-mapped CSV file, in time order. The header 
+ * names the columns after DB_TABLE_FIELDS (or TABLE__Field); ID and 
+ * ContentID are optional. Time is "yyyy-MM-dd HH:mm:ss", in UTC. 
+ * The rows are parsed straight from the mapped bytes, without making a 
+ * String per field
+ * @author Mark L
+ *
+ */
+public class CsvCandleSource extends FileCandleSource {
+	
+	private static final double[] POW10 = new double[] 
+			{1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 
+			 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+	
+	private final MappedByteBuffer buffer;
+	
+//	Index of DB_TABLE_FIELDS for every column (-1: unused column)
+	private final int[] roles;
+	private final boolean has_id;
+	private final int first_row;
+	
+	/**
+	 * Make CsvCandleSource; Map the file and read its header
+	 * @param filename Path of the CSV file
+	 * @param period_range Start and end of the period
+	 * @throws FileCandleSourceExc
+	 */
+	public CsvCandleSource(String filename, LocalDateTime[] period_range) 
+											throws FileCandleSourceExc {
+		super(filename, period_range);
+		
+		try(FileChannel channel = FileChannel.open
+								(this.file.toPath(), StandardOpenOption.READ)) {
+			this.buffer = channel.map
+								(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			
+		} catch (IOException | IllegalArgumentException e) {
+			String error_msg = "%s: Error mapping CSV file\n";
+			e.printStackTrace();
+			System.err.printf("CSV file: %s\n", this.file);
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new FileCandleSourceExc();
+		}
+		
+//		Read the header, once
+		int end = 0;
+		while(end < this.buffer.limit() && this.buffer.get(end) != '\n') end++;
+		byte[] header = new byte[end];
+		for(int i = 0; i < end; i++) header[i] = this.buffer.get(i);
+		
+		this.roles = this.setRoles(new String(header).trim().split(","));
+		this.has_id = Arrays.stream(this.roles).anyMatch(role -> role == 0);
+		this.first_row = Math.min(end + 1, this.buffer.limit());
+	}
+	
+	
+	/**
+	 * Match the header columns with DB_TABLE_FIELDS
+	 * @param columns Header columns
+	 * @return Index of DB_TABLE_FIELDS for every column
+	 * @throws FileCandleSourceExc
+	 */
+	private int[] setRoles(String[] columns) throws FileCandleSourceExc {
+		String[] fields = Constants.DB_TABLE_FIELDS;
+		int[] result = new int[columns.length];
+		boolean[] found = new boolean[fields.length];
+		Arrays.fill(result, -1);
+		
+		for(int c = 0; c < columns.length; c++) {
+			String column = columns[c].trim();
+			
+			for(int f = 0; f < fields.length; f++) {
+				if(column.equalsIgnoreCase(fields[f]) || 
+				   column.toUpperCase().endsWith("__" + fields[f].toUpperCase())) {
+					result[c] = f;
+					found[f] = true;
+				}
+			}
+		}
+		
+//		Every field but ID and ContentID is required
+		for(int f = 0; f < fields.length; f++) {
+			if(found[f] || fields[f].equals("ID") || 
+			   fields[f].equals("ContentID")) continue;
+			
+			String error_msg = "%s: CSV header is missing %s\n";
+			System.err.printf(error_msg, this.getClass().getName(), fields[f]);
+			throw new FileCandleSourceExc();
+		}
+		
+		return(result);
+	}
+	
+	
+	@Override
+	public void streamCandles(CandleBlockSink sink) 
+						throws FileCandleSourceExc, InterruptedException {
+		MappedByteBuffer in = this.buffer;
+		int limit = in.limit();
+		
+//		Values of the row, in the order of DB_TABLE_FIELDS
+		long[] ints = new long[Constants.DB_TABLE_FIELDS.length];
+		float[] prices = new float[CandleBlock.PRICE_COLUMNS];
+		CandleBlock block = new CandleBlock(Constants.BLOCK_SIZE);
+		int row_id = 0;
+		
+		int pos = this.first_row;
+		while(pos < limit) {
+			int column = 0;
+			boolean blank = true;
+			
+//			Parse each field of the row, up to the end of the line
+			while(pos < limit) {
+				int start = pos;
+				while(pos < limit) {
+					byte b = in.get(pos);
+					if(b == ',' || b == '\n' || b == '\r') break;
+					pos++;
+				}
+				int end = pos;
+				if(end > start) blank = false;
+				
+				int role = (column < this.roles.length) ? this.roles[column] : -1;
+				if(role == 2) ints[role] = this.parseTime(in, start, end);
+				else if(role >= 4) prices[role - 4] = this.parseFloat(in, start, end);
+				else if(role >= 0) ints[role] = this.parseInt(in, start, end);
+				column++;
+				
+				if(pos >= limit) break;
+				byte b = in.get(pos++);
+				if(b == '\r' && pos < limit && in.get(pos) == '\n') pos++;
+				if(b != ',') break;
+			}
+			if(blank) continue;
+			
+			row_id++;
+			long time = ints[2];
+			int vol = (int) ints[3];
+			if(this.isAfterPeriod(time)) break;
+			if(!this.isWanted(time, vol)) continue;
+			
+//			The order is: ID, ContentID, Time, Vol, Ask, Bid, Mid (OHLC)
+//			Without an ID column, the row number is the ID
+			int id = this.has_id ? (int) ints[0] : row_id;
+			block.add(time, id, (int) ints[1], vol, prices);
+			
+			if(block.isFull()) {
+				sink.put(block);
+				block = new CandleBlock(Constants.BLOCK_SIZE);
+			}
+			Arrays.fill(ints, 0);
+		}
+		
+		if(block.size() > 0) sink.put(block);
+	}
+	
+	
+	/**
+	 * Parse "yyyy-MM-dd HH:mm:ss" (or with 'T') into epoch milliseconds
+	 * @return
+	 * @throws FileCandleSourceExc
+	 */
+	private long parseTime(MappedByteBuffer in, int start, int end) 
+											throws FileCandleSourceExc {
+		if(end - start < 19) {
+			String error_msg = "%s: Invalid time at byte %d\n";
+			System.err.printf(error_msg, this.getClass().getName(), start);
+			throw new FileCandleSourceExc();
+		}
+		
+		int year = this.digits(in, start, 4);
+		int month = this.digits(in, start + 5, 2);
+		int day = this.digits(in, start + 8, 2);
+		int hour = this.digits(in, start + 11, 2);
+		int minute = this.digits(in, start + 14, 2);
+		int second = this.digits(in, start + 17, 2);
+		
+//		Days from 1970-01-01, for the proleptic Gregorian calendar
+		int y = (month <= 2) ? year - 1 : year;
+		int era = Math.floorDiv(y, 400);
+		int yoe = y - (era * 400);
+		int doy = ((153 * (month + ((month > 2) ? -3 : 9))) + 2) / 5 + day - 1;
+		int doe = (yoe * 365) + (yoe / 4) - (yoe / 100) + doy;
+		long days = ((long) era * 146097) + doe - 719468;
+		
+		long seconds = (days * 86400) + (hour * 3600) + (minute * 60) + second;
+		return(seconds * 1000L);
+	}
+	
+	
+	private int digits(MappedByteBuffer in, int start, int count) {
+		int result = 0;
+		for(int i = 0; i < count; i++) 
+			result = (result * 10) + (in.get(start + i) - '0');
+		return(result);
+	}
+	
+	
+	/**
+	 * Parse a whole number; Any decimals are dropped
+	 * @return
+	 */
+	private long parseInt(MappedByteBuffer in, int start, int end) {
+		long result = 0;
+		boolean negative = false;
+		
+		int i = start;
+		if(i < end && in.get(i) == '-') {
+			negative = true;
+			i++;
+		}
+		for(; i < end; i++) {
+			byte b = in.get(i);
+			if(b < '0' || b > '9') break;
+			result = (result * 10) + (b - '0');
+		}
+		
+		return(negative ? -result : result);
+	}
+	
+	
+	/**
+	 * Parse a decimal number (i.e. 1.23456), without an exponent
+	 * @return
+	 */
+	private float parseFloat(MappedByteBuffer in, int start, int end) {
+		long mantissa = 0;
+		int decimals = 0;
+		boolean negative = false;
+		boolean fraction = false;
+		
+		int i = start;
+		if(i < end && in.get(i) == '-') {
+			negative = true;
+			i++;
+		}
+		for(; i < end; i++) {
+			byte b = in.get(i);
+			if(b == '.') {
+				fraction = true;
+				continue;
+			}
+			if(b < '0' || b > '9' || decimals == POW10.length - 1) break;
+			
+			mantissa = (mantissa * 10) + (b - '0');
+			if(fraction) decimals++;
+		}
+		
+		double result = mantissa / POW10[decimals];
+		return((float) (negative ? -result : result));
+	}
+	
+}
@@ -0,0 +1,165 @@
+package com.hills.sim.worker;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Properties;
+
+import com.hills.sim.Constants;
+import com.hills.sim.exceptions.FileCandleSourceExc;
+
+/**
+ * CandleSource over a flat file. The Symbol data is read from a sidecar 
+ * properties file (the file name, plus SOURCE_SPECS_EXT), with the keys 
+ * of the Symbol table (i.e. SymPip)
+ * @author Mark L
+ *
+ */
+public abstract class FileCandleSource implements CandleSource {
+	
+	protected final File file;
+	
+	private final long period_start;
+	private final long period_end;
+	
+	private final float margin_rate;
+	private final int pip;
+	private final int distance;
+	private final float contract_size_min;
+	private final float contract_size_int;
+	
+	/**
+	 * Make FileCandleSource
+	 * @param filename Path of the candle file
+	 * @param period_range Start and end of the period
+	 * @throws FileCandleSourceExc
+	 */
+	public FileCandleSource(String filename, LocalDateTime[] period_range) 
+											throws FileCandleSourceExc {
+		this.file = new File(filename);
+		this.period_start = this.toEpochMilli(period_range[0]);
+		this.period_end = this.toEpochMilli(period_range[1]);
+		
+		if(!this.file.exists()) {
+			String error_msg = "%s: Candle file is missing: %s\n";
+			System.err.printf(error_msg, this.getClass().getName(), filename);
+			throw new FileCandleSourceExc();
+		}
+		
+//		Set the Symbol data from the sidecar file
+		File specs_file = new File(filename + Constants.SOURCE_SPECS_EXT);
+		try(InputStream in = new FileInputStream(specs_file)) {
+			Properties specs = new Properties();
+			specs.load(in);
+			
+			this.margin_rate = Float.parseFloat
+								(specs.getProperty("SymMarginRate").trim());
+			this.pip = Integer.parseInt(specs.getProperty("SymPip").trim());
+			this.distance = Integer.parseInt
+								(specs.getProperty("SymDistance").trim());
+			this.contract_size_min = Float.parseFloat
+								(specs.getProperty("SymContractSizeMin").trim());
+			this.contract_size_int = Float.parseFloat
+								(specs.getProperty("SymContractSizeInt").trim());
+			
+		} catch (IOException | RuntimeException e) {
+			String error_msg = "%s: Error reading Symbol data: %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), specs_file);
+			throw new FileCandleSourceExc();
+		}
+	}
+	
+	
+	/**
+	 * True: Candle is within the period, and has volume
+	 * @param time Epoch milliseconds of the candle, in UTC
+	 * @param vol Volume of the candle
+	 * @return
+	 */
+	protected boolean isWanted(long time, int vol) {
+		return(time >= this.period_start && 
+			   time <= this.period_end && 
+			   vol > 0);
+	}
+	
+	
+	/**
+	 * True: Candle is after the period; Files are in time order
+	 * @param time Epoch milliseconds of the candle, in UTC
+	 * @return
+	 */
+	protected boolean isAfterPeriod(long time) {
+		return(time > this.period_end);
+	}
+	
+	
+	private long toEpochMilli(LocalDateTime time) {
+		return(time.toInstant(ZoneOffset.UTC).toEpochMilli());
+	}
+	
+	
+	/**
+	 * Counts the candles by streaming them
+	 */
+	@Override
+	public int getTotalCandles() throws FileCandleSourceExc {
+		int[] result = new int[] {0};
+		
+		try {
+			this.streamCandles(block -> result[0] += block.size());
+			
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FileCandleSourceExc();
+		}
+		
+		return(result[0]);
+	}
+	
+	
+	@Override
+	public abstract void streamCandles(CandleBlockSink sink) 
+						throws FileCandleSourceExc, InterruptedException;
+	
+	
+	/**
+	 * Nothing to release; The mapped file is released by the GC
+	 */
+	@Override
+	public void close() {
+	}
+	
+	
+//	Getters
+	
+	
+	@Override
+	public float getMarginRate() {
+		return margin_rate;
+	}
+
+	@Override
+	public int getPip() {
+		return pip;
+	}
+
+	@Override
+	public int getDistance() {
+		return distance;
+	}
+
+	@Override
+	public float getContractSizeMin() {
+		return contract_size_min;
+	}
+
+	@Override
+	public float getContractSizeInt() {
+		return contract_size_int;
+	}
+	
+}
@@ -0,0 +1,50 @@
+package com.hills.sim.worker;
+
+/**
+ * Hand-off of items from 1 producer thread to 1 consumer thread
+ * @author Mark L
+ *
+ * @param <T> Type of the items
+ */
+public interface HandOff<T> {
+
+	/**
+	 * Put 1 item, waiting while the hand-off is full
+	 * @param item Item to put
+	 * @throws InterruptedException
+	 */
+	public void put(T item) throws InterruptedException;
+	
+	
+	/**
+	 * Take 1 item, waiting while the hand-off is empty
+	 * @return Item taken
+	 * @throws InterruptedException
+	 */
+	public T take() throws InterruptedException;
+	
+	
+	/**
+	 * Put a batch of items, in order
+	 * @param items Items to put
+	 * @param count Number of items to put, from index 0
+	 * @throws InterruptedException
+	 */
+	default public void put(T[] items, int count) 
+									throws InterruptedException {
+		for(int i = 0; i < count; i++) this.put(items[i]);
+	}
+	
+	
+	/**
+	 * Take at least 1 item, and as many as are ready, up to the batch size
+	 * @param batch Array to fill, from index 0
+	 * @return Number of items taken
+	 * @throws InterruptedException
+	 */
+	default public int take(T[] batch) throws InterruptedException {
+		batch[0] = this.take();
+		return(1);
+	}
+	
+}
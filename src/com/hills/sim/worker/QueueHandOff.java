@@ -0,0 +1,48 @@
+package com.hills.sim.worker;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * HandOff over a LinkedBlockingQueue
+ * @author Mark L
+ *
+ * @param <T> Type of the items
+ */
+public class QueueHandOff<T> implements HandOff<T> {
+	
+	private final LinkedBlockingQueue<T> queue;
+	
+	/**
+	 * Make QueueHandOff
+	 * @param capacity Maximum number of items in the queue
+	 */
+	public QueueHandOff(int capacity) {
+		this.queue = new LinkedBlockingQueue<>(capacity);
+	}
+	
+	
+	@Override
+	public void put(T item) throws InterruptedException {
+		this.queue.put(item);
+	}
+	
+	
+	@Override
+	public T take() throws InterruptedException {
+		return(this.queue.take());
+	}
+	
+	
+	@Override
+	public int take(T[] batch) throws InterruptedException {
+		int result = 1;
+		batch[0] = this.queue.take();
+		
+		T item;
+		while(result < batch.length && (item = this.queue.poll()) != null)
+			batch[result++] = item;
+		
+		return(result);
+	}
+	
+}
@@ -0,0 +1,172 @@
+package com.hills.sim.worker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.hills.sim.Constants;
+import com.hills.sim.Constants.WaitStrategyE;
+
+/**
+ * Lock-free single-producer/single-consumer HandOff over preallocated 
+ * slots. The producer and the consumer each own 1 sequence, and publish 
+ * it once per item or per batch. Only 1 thread may put, and only 1 
+ * thread may take
+ * @author Mark L
+ *
+ * @param <T> Type of the items
+ */
+public class RingBuffer<T> implements HandOff<T> {
+	
+	private final Object[] slots;
+	private final int mask;
+	private final WaitStrategyE wait_strategy;
+	
+//	Next sequence to take (written by the consumer) 
+//	and to put (written by the producer)
+	private final AtomicLong head;
+	private final AtomicLong tail;
+	
+//	Last seen sequence of the other thread, to avoid re-reading it
+	private long cached_head;
+	private long cached_tail;
+	
+	/**
+	 * Make RingBuffer
+	 * @param capacity Minimum number of slots, rounded up to a power of 2
+	 * @param wait_strategy How to wait while full or empty
+	 */
+	public RingBuffer(int capacity, WaitStrategyE wait_strategy) {
+		int size = Integer.highestOneBit(Math.max(1, capacity));
+		if(size < capacity) size <<= 1;
+		
+		this.slots = new Object[size];
+		this.mask = size - 1;
+		this.wait_strategy = wait_strategy;
+		
+		this.head = new AtomicLong(0);
+		this.tail = new AtomicLong(0);
+		this.cached_head = 0;
+		this.cached_tail = 0;
+	}
+	
+	
+	@Override
+	public void put(T item) throws InterruptedException {
+		long t = this.tail.get();
+		this.claim(t, 1);
+		
+		this.slots[(int) (t & this.mask)] = item;
+		this.tail.lazySet(t + 1);
+	}
+	
+	
+	@Override
+	public void put(T[] items, int count) throws InterruptedException {
+		int i = 0;
+		
+//		Claim as many free slots as possible, then publish them at once
+		while(i < count) {
+			long t = this.tail.get();
+			int n = this.claim(t, count - i);
+			
+			for(int j = 0; j < n; j++) 
+				this.slots[(int) ((t + j) & this.mask)] = items[i + j];
+			
+			this.tail.lazySet(t + n);
+			i += n;
+		}
+	}
+	
+	
+	@Override
+	public T take() throws InterruptedException {
+		long h = this.head.get();
+		this.await(h);
+		
+		int index = (int) (h & this.mask);
+		@SuppressWarnings("unchecked")
+		T result = (T) this.slots[index];
+		this.slots[index] = null;
+		this.head.lazySet(h + 1);
+		
+		return(result);
+	}
+	
+	
+	@Override
+	public int take(T[] batch) throws InterruptedException {
+		long h = this.head.get();
+		int n = (int) Math.min(this.await(h), batch.length);
+		
+		for(int j = 0; j < n; j++) {
+			int index = (int) ((h + j) & this.mask);
+			@SuppressWarnings("unchecked")
+			T item = (T) this.slots[index];
+			batch[j] = item;
+			this.slots[index] = null;
+		}
+		this.head.lazySet(h + n);
+		
+		return(n);
+	}
+	
+	
+	/**
+	 * Producer; Wait for at least 1 free slot
+	 * @param t Tail sequence
+	 * @param wanted Number of slots wanted
+	 * @return Number of slots claimed, between 1 and wanted
+	 * @throws InterruptedException
+	 */
+	private int claim(long t, int wanted) throws InterruptedException {
+		long free = this.slots.length - (t - this.cached_head);
+		
+		while(free == 0) {
+			this.cached_head = this.head.get();
+			free = this.slots.length - (t - this.cached_head);
+			if(free == 0) this.idle();
+		}
+		
+		return((int) Math.min(free, wanted));
+	}
+	
+	
+	/**
+	 * Consumer; Wait for at least 1 published item
+	 * @param h Head sequence
+	 * @return Number of items ready
+	 * @throws InterruptedException
+	 */
+	private long await(long h) throws InterruptedException {
+		long ready = this.cached_tail - h;
+		
+		while(ready == 0) {
+			this.cached_tail = this.tail.get();
+			ready = this.cached_tail - h;
+			if(ready == 0) this.idle();
+		}
+		
+		return(ready);
+	}
+	
+	
+	/**
+	 * Wait once, according to the wait strategy
+	 * @throws InterruptedException
+	 */
+	private void idle() throws InterruptedException {
+		if(Thread.interrupted()) throw new InterruptedException();
+		
+		switch(this.wait_strategy) {
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				LockSupport.parkNanos(Constants.RING_PARK_NANOS);
+				break;
+			default:
+				break;
+		}
+	}
+	
+}
@@ -0,0 +1,132 @@
+package com.hills.sim.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hills.sim.exceptions.RunLaneExc;
+import com.hills.sim.logs.LogBook;
+import com.hills.sim.logs.LogRow;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.SESettings;
+import com.hills.sim.stage.Candle;
+import com.hills.sim.stage.CandleViewer;
+import com.hills.sim.stage.Pruner;
+
+/**
+ * Group of RunLanes performing up to 1 run each in lock-step:
+ * every candle is fanned out to the active lanes, in 1 pass of the period
+ * @author Mark L
+ *
+ */
+public class RunGroup implements CandleViewer {
+
+	private final List<RunLane> lanes;
+	private int active;
+
+	/**
+	 * Make RunGroup
+	 * @param se_settings SimEngine settings
+	 * @param log_book LogBook shared by every lane
+	 * @param pruner Pruner shared by every lane, or null
+	 * @param size Number of RunLanes, i.e. the runs performed per pass
+	 * @throws RunLaneExc
+	 */
+	public RunGroup(SESettings se_settings, LogBook log_book, 
+					Pruner pruner, int size) throws RunLaneExc {
+		this.lanes = new ArrayList<>();
+		this.active = 0;
+
+		for(int i = 0; i < size; i++)
+			this.lanes.add(new RunLane(se_settings, log_book, pruner));
+	}
+
+
+	/**
+	 * Get the number of RunLanes
+	 * @return Number of RunLanes
+	 */
+	public int size() {
+		return(this.lanes.size());
+	}
+
+
+	/**
+	 * Start the runs of the pass, 1 per lane
+	 * @param runs Runs to perform, no more than the number of lanes
+	 * @param write_candles True: The first run writes the Candles Log
+	 */
+	public void begin(List<Run> runs, boolean write_candles) {
+		this.active = Math.min(runs.size(), this.lanes.size());
+
+		for(int i = 0; i < this.active; i++)
+			this.lanes.get(i).begin(runs.get(i), write_candles && i == 0);
+	}
+
+
+	@Override
+	public void viewCandle(Candle candle) throws RunLaneExc {
+		for(int i = 0; i < this.active; i++)
+			this.lanes.get(i).viewCandle(candle);
+	}
+
+
+	/**
+	 * Have all the runs of the pass been stopped early by the Pruner?
+	 * @return True: The rest of the candles can be skipped
+	 */
+	public boolean isPruned() {
+		for(int i = 0; i < this.active; i++) 
+			if(this.lanes.get(i).isPruned() == false) return(false);
+		
+		return(this.active > 0);
+	}
+
+
+	/**
+	 * End the runs of the pass, writing the rest of the batches
+	 * @throws RunLaneExc
+	 */
+	public void end() throws RunLaneExc {
+		for(int i = 0; i < this.active; i++) this.lanes.get(i).end();
+	}
+
+
+	/**
+	 * Get the score of the run of a lane, once the pass has ended
+	 * @param index Index of the run in the pass
+	 * @return Score; The higher, the better
+	 */
+	public float getScore(int index) {
+		return(this.lanes.get(index).getScore());
+	}
+
+
+	/**
+	 * Get the net profit of the run of a lane, once the pass has ended
+	 * @param index Index of the run in the pass
+	 * @return Net profit
+	 */
+	public float getNetProfit(int index) {
+		return(this.lanes.get(index).getNetProfit());
+	}
+
+
+	/**
+	 * Get the report row of the run of a lane, once the pass has ended
+	 * @param index Index of the run in the pass
+	 * @return LogRow of the report
+	 */
+	public LogRow getReport(int index) {
+		return(this.lanes.get(index).getReport());
+	}
+
+
+	/**
+	 * Reset the active lanes, for the next pass
+	 */
+	public void reset() {
+		for(int i = 0; i < this.active; i++) this.lanes.get(i).reset();
+		this.active = 0;
+	}
+
+}
@@ -0,0 +1,254 @@
+package com.hills.sim.worker;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+import com.hills.sim.Constants;
+import com.hills.sim.Constants.ObjectiveE;
+import com.hills.sim.Constants.PruneE;
+import com.hills.sim.ea.Strategy;
+import com.hills.sim.exceptions.RunLaneExc;
+import com.hills.sim.exceptions.StageExc;
+import com.hills.sim.logs.LogBook;
+import com.hills.sim.logs.LogRow;
+import com.hills.sim.logs.LogRowsBag;
+import com.hills.sim.logs.Reporter;
+import com.hills.sim.settings.Run;
+import com.hills.sim.settings.SESettings;
+import com.hills.sim.stage.Candle;
+import com.hills.sim.stage.CandleViewer;
+import com.hills.sim.stage.Pruner;
+import com.hills.sim.stage.Stage;
+
+public class RunLane implements RunHandler, CandleViewer {
+	
+	private final SESettings se_settings;
+	private final LogBook log_book;
+	private final Pruner pruner;
+	
+	private final Stage stage;
+	private final Strategy strategy;
+	
+	private final LogRowsBag[] batch;
+	private int batch_size;
+	private boolean write_candles;
+	private final boolean detailed_logs;
+	private final ObjectiveE objective;
+	private float score;
+	private float net_profit;
+	private LogRow report;
+	private boolean pruned;
+	
+	/**
+	 * Make RunLane; 1 lane of a RunGroup, with its own Stage and Strategy, 
+	 * viewing the candles replayed by the Worker
+	 * @param se_settings SimEngine settings
+	 * @param log_book LogBook shared by every lane
+	 * @param pruner Pruner shared by every lane, or null to perform 
+	 * every run to the end
+	 * @throws RunLaneExc
+	 */
+	public RunLane(SESettings se_settings, LogBook log_book, Pruner pruner) 
+			throws RunLaneExc {
+		this.se_settings = se_settings;
+		this.log_book = log_book;
+		this.pruner = pruner;
+		
+		this.batch = new LogRowsBag[Constants.Q_BATCH_LOGROWSBAG];
+		this.batch_size = 0;
+		this.write_candles = false;
+		this.detailed_logs = this.se_settings.getGenSettings()
+											.isDetailedLogs();
+		this.objective = this.se_settings.getOptSettings().getObjective();
+		this.score = 0;
+		this.net_profit = 0;
+		this.report = null;
+		this.pruned = false;
+		
+//		Make Stage
+		try {
+			this.stage = new Stage(this.se_settings);
+			
+		} catch (StageExc e) {
+			String error_msg = "%s: Error making Stage\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new RunLaneExc();
+		}
+		
+//		Make Strategy using Reflection API
+		try {
+			String strategy_name = this.se_settings.getGenSettings()
+												.getStrategyName();
+			
+			String class_path = Constants.EA_PATH + strategy_name;
+			
+			Class<?> c = Class.forName(class_path);
+			Constructor<?> cons = c.getConstructor(Stage.class, SESettings.class);
+			this.strategy = (Strategy) cons.newInstance(this.stage, this.se_settings);
+			this.strategy.setLogBook(this.log_book);
+			
+		} catch (Exception e) {
+			String error_msg = "%s: Error making Strategy\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new RunLaneExc();
+		}
+	}
+	
+	
+	/**
+	 * Start 1 run; The lane then views every candle of the period
+	 * @param run Run to perform
+	 * @param write_candles True: This run writes the Candles Log
+	 */
+	public void begin(Run run, boolean write_candles) {
+		this.write_candles = write_candles;
+		this.setRun(run);
+	}
+	
+	
+	/**
+	 * End the run, writing the rest of the batch and saving the score 
+	 * and net profit of the run; A pruned run scores the lowest. 
+	 * Reset follows
+	 * @throws RunLaneExc
+	 */
+	public void end() throws RunLaneExc {
+		this.flush();
+		
+		Reporter reporter = this.stage.getReporter();
+		this.net_profit = reporter.getScore(ObjectiveE.NET_PROFIT);
+		if(this.pruned) {
+			this.score = Float.NEGATIVE_INFINITY;
+			return;
+		}
+		
+		this.score = reporter.getScore(this.objective);
+		if(this.pruner != null) this.pruner.putNetProfit(this.net_profit);
+	}
+	
+	
+	/**
+	 * Get the score of the last run, by the objective of the Optimizer
+	 * @return Score; The higher, the better
+	 */
+	public float getScore() {
+		return(this.score);
+	}
+	
+	
+	/**
+	 * Get the net profit of the last run
+	 * @return Net profit
+	 */
+	public float getNetProfit() {
+		return(this.net_profit);
+	}
+	
+	
+	/**
+	 * Get the report row of the last run, as written into the Reports Log
+	 * @return LogRow of the report
+	 */
+	public LogRow getReport() {
+		return(this.report);
+	}
+	
+	
+	/**
+	 * Has the run been stopped early by the Pruner?
+	 * @return True: Pruned, the lane skips the rest of the candles
+	 */
+	public boolean isPruned() {
+		return(this.pruned);
+	}
+	
+	
+	@Override
+	public void setRun(Run run) {
+		this.batch_size = 0;
+		this.stage.setRun(run);
+		this.strategy.setRun(run);
+	}
+	
+	
+	@Override
+	public void reset() {
+		this.pruned = false;
+		this.report = null;
+		this.stage.reset();
+		this.strategy.reset();
+	}
+	
+	
+	@Override
+	public void viewCandle(Candle candle) throws RunLaneExc {
+		if(this.pruned) return;
+		
+//		Stage and Strategy listen to candle
+		try {
+			this.stage.viewCandle(candle);
+			this.strategy.viewCandle(candle);
+			
+		} catch (Exception e) {
+			String error_msg = "%s: Error viewing candle\n";
+			System.err.printf(error_msg, this.getClass().getName());
+			System.err.printf("Candle: %s\n", candle);
+			e.printStackTrace();
+			throw new RunLaneExc();
+		}
+		
+//		Add the LogRowsBag to the batch, and write the batch when full
+//		Without the detailed logs, only the report of the last candle
+		if(this.detailed_logs) {
+			LogRowsBag logrowsbag = this.stage.toLogRowsBag();
+			this.report = logrowsbag.getReport();
+			this.batch[this.batch_size++] = logrowsbag;
+		}
+		else {
+			this.report = this.stage.toReportLogRow();
+			if(this.report != null) 
+				this.batch[this.batch_size++] = new LogRowsBag(null, null, null, this.report);
+		}
+		if(this.batch_size == this.batch.length) this.flush();
+		
+//		Stop the run on a pruning rule, closing it with its report; 
+//		The run writing the Candles Log views the whole period
+		if(this.pruner == null || this.write_candles || candle.isLastCandle()) 
+			return;
+		
+		PruneE rule = this.pruner.check(this.stage, candle);
+		if(rule == null) return;
+		
+		Reporter reporter = this.stage.getReporter();
+		reporter.setPruned(rule);
+		this.pruned = true;
+		this.report = reporter.toLogRow();
+		this.batch[this.batch_size++] = 
+				new LogRowsBag(null, null, null, this.report);
+		if(this.batch_size == this.batch.length) this.flush();
+	}
+	
+	
+	/**
+	 * Write the batch of LogRowsBags into the shared LogBook
+	 * @throws RunLaneExc
+	 */
+	private void flush() throws RunLaneExc {
+		
+		try {
+			this.log_book.write(this.batch, this.batch_size, this.write_candles);
+			
+		} catch (IOException e) {
+			String error_msg = "%s: Error logging LogRowsBag batch\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new RunLaneExc();
+		}
+		
+		for(int i = 0; i < this.batch_size; i++) this.batch[i] = null;
+		this.batch_size = 0;
+	}
+	
+}
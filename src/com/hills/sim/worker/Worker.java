@@ -2,38 +2,76 @@ package com.hills.sim.worker;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.hills.sim.Constants;
+import com.hills.sim.Constants.ObjectiveE;
+import com.hills.sim.Constants.OptimizerModeE;
+import com.hills.sim.Constants.PriceModeE;
+import com.hills.sim.Constants.WaitStrategyE;
 import com.hills.sim.ea.Strategy;
-import com.hills.sim.exceptions.CompactorExc;
+import com.hills.sim.exceptions.CandleCacheExc;
+import com.hills.sim.exceptions.CandleDatasetExc;
+import com.hills.sim.exceptions.CandleSourceExc;
+import com.hills.sim.exceptions.CompactorPrefetcherExc;
+import com.hills.sim.exceptions.JournalExc;
 import com.hills.sim.exceptions.LogBookExc;
+import com.hills.sim.exceptions.OptimizerExc;
+import com.hills.sim.exceptions.RunLaneExc;
 import com.hills.sim.exceptions.StageExc;
 import com.hills.sim.exceptions.WorkerExc;
+import com.hills.sim.logs.Journal;
 import com.hills.sim.logs.LogBook;
+import com.hills.sim.logs.LogRow;
 import com.hills.sim.logs.LogRowsBag;
+import com.hills.sim.logs.Reporter;
+import com.hills.sim.optimizer.GeneticOptimizer;
+import com.hills.sim.optimizer.HalvingOptimizer;
+import com.hills.sim.optimizer.Optimizer;
+import com.hills.sim.optimizer.RefineOptimizer;
+import com.hills.sim.optimizer.RunEvaluator;
+import com.hills.sim.optimizer.Slice;
+import com.hills.sim.optimizer.WalkForwardOptimizer;
+import com.hills.sim.settings.GeneralSettings;
+import com.hills.sim.settings.OptimizerSettings;
 import com.hills.sim.settings.Run;
 import com.hills.sim.settings.RunSettings;
 import com.hills.sim.settings.SESettings;
 import com.hills.sim.settings.SymbolSettings;
 import com.hills.sim.stage.Candle;
 import com.hills.sim.stage.CandleViewer;
+import com.hills.sim.stage.Pruner;
 import com.hills.sim.stage.Stage;
 
-public class Worker implements RunHandler, CandleViewer {
+public class Worker implements RunHandler, CandleViewer, RunEvaluator {
 	
 	private final SESettings se_settings;
 	private final RunSettings ea_settings;
 	
-	private final LinkedBlockingQueue<CompactorCandle> queue;
-	private final LinkedBlockingQueue<LogRowsBag> log_queue;
+	private final HandOff<CandleBlock> queue;
+	private final HandOff<LogRowsBag> log_queue;
+	private volatile boolean stop_candles;
 	
+	private final CandleSource source;
 	private final Compactor compactor;
+	private final CandleSeries series;
+	private final CompactorPrefetcher prefetcher;
 	
 	private final Stage stage;
 	private final Strategy strategy;
 	private final LogBook log_book;
+	private final Pruner pruner;
+	private final List<RunGroup> groups;
+	private final Journal journal;
+	private boolean wrote_candles;
 	
 	private int candle_id;
 	private final int total_candles;
@@ -49,25 +87,27 @@ public class Worker implements RunHandler, CandleViewer {
 		
 //		Set the candle id to 1
 		this.candle_id = 1;
-		
-//		Make linked blocking queue
-		this.queue = new LinkedBlockingQueue<>
-										(Constants.Q_LIMIT_CCANDLES);	
-		this.log_queue = new LinkedBlockingQueue<>
-										(Constants.Q_LIMIT_LOGROWSBAG);	
+		this.wrote_candles = false;
+		this.stop_candles = false;
 		
 //		Save the SimEngine settings and EA settings
 		this.se_settings = se_settings;
 		this.ea_settings = ea_settings;
 		
-//		Get the Compactor
-		this.compactor = this.se_settings.getCompactor();		
+//		Make the hand-offs between the threads
+		this.queue = this.makeHandOff(Constants.Q_LIMIT_CBLOCKS);
+		this.log_queue = this.makeHandOff(Constants.Q_LIMIT_LOGROWSBAG);
+		
+//		Get the CandleSource; The cache and the prefetcher need a Compactor
+		this.source = this.se_settings.getCandleSource();
+		this.compactor = (this.source instanceof Compactor) ? 
+								(Compactor) this.source : null;
 			
 //		Set the total number of candles
 		try {
-			this.total_candles = this.compactor.getTotalCompactorCandles();
+			this.total_candles = this.source.getTotalCandles();
 			
-		} catch (CompactorExc e) {
+		} catch (CandleSourceExc e) {
 			String error_msg = "%s: Error getting total number of candles\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
@@ -75,6 +115,11 @@ public class Worker implements RunHandler, CandleViewer {
 		}
 		
 		
+//		Load the candles once for all the runs, from memory or the cache
+		this.series = this.makeCandleSeries();
+		this.prefetcher = this.makeCompactorPrefetcher();
+		
+		
 //		Make Stage
 		try {
 			this.stage = new Stage(this.se_settings);
@@ -109,6 +154,7 @@ public class Worker implements RunHandler, CandleViewer {
 //		Make LogBook 
 		try {
 			this.log_book = new LogBook(this.se_settings);
+			this.strategy.setLogBook(this.log_book);
 			
 		} catch (LogBookExc e) {
 			String error_msg = "%s: Error making LogBook\n";
@@ -117,6 +163,16 @@ public class Worker implements RunHandler, CandleViewer {
 			throw new WorkerExc();
 		} 
 		
+		
+//		Make the RunGroups of the lock-step or parallel sweep
+		this.pruner = this.makePruner();
+		this.groups = this.makeRunGroups();
+		
+//		When resuming, a complete Candles Log is not written again
+		this.journal = this.se_settings.getJournal();
+		if(this.se_settings.isResume()) 
+			this.wrote_candles = this.log_book.resumeCandlesLog
+												(this.total_candles);
 	}
 
 	
@@ -129,14 +185,18 @@ public class Worker implements RunHandler, CandleViewer {
 
 		try {
 			List<Run> runs = this.ea_settings.getRuns();
-			for(int i = 0; i < runs.size(); i++) {
+			Optimizer optimizer = this.makeOptimizer();
+			if(optimizer != null) this.optimize(optimizer);
+			else if(this.groups != null) this.executeGroups(runs);
+			else for(int i = 0; i < runs.size(); i++) {
 				Run run = runs.get(i);
+				if(this.isDone(run)) continue;
 				System.out.println("");
 				System.out.printf("Run %d of %d: %s", i+1, runs.size(), run);
 
 //			Update with the new run,
-//			Performs run and reset the run
-				this.setRun(run); this.run(); this.reset();
+//			Performs run, journals and reset the run
+				this.setRun(run); this.run(); this.journalRun(run); this.reset();
 			}
 			
 		} catch (Exception e) {
@@ -158,29 +218,438 @@ public class Worker implements RunHandler, CandleViewer {
 			throw new WorkerExc();
 		}
 		
-//		Close the log book and the compactor
+//		Close the log book, the journal, the prefetcher and the candle source
 		this.log_book.close();
+		if(this.journal != null) this.journal.close();
+		if(this.prefetcher != null) this.prefetcher.close();
+		try {
+			this.source.close();
+			
+		} catch (CandleSourceExc e) {
+			String error_msg = "%s: Error closing CandleSource\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+	}
+	
+	
+	/**
+	 * Search the EA ranges with the Optimizer, scoring the runs by 
+	 * performing them in RunGroups
+	 * @param optimizer Optimizer
+	 * @throws WorkerExc
+	 */
+	private void optimize(Optimizer optimizer) throws WorkerExc {
+		try {
+			Run result = optimizer.optimize();
+			System.out.printf("\nBest run of %d runs, score %.2f: %s", 
+							  optimizer.getEvaluations(), 
+							  optimizer.getBestScore(), result);
+			
+		} catch (OptimizerExc e) {
+			String error_msg = "%s: Error optimizing runs\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+		
+//		The walk-forward windows, and the stitched equity curve
+		if(optimizer instanceof WalkForwardOptimizer) 
+			this.log_book.writeWalkForwardLog
+						(((WalkForwardOptimizer) optimizer).toLogRows());
+	}
+	
+	
+	/**
+	 * Make the Optimizer of the optimizer mode
+	 * @return Optimizer, or null to perform every run of the grid
+	 */
+	private Optimizer makeOptimizer() {
+		OptimizerSettings opt_settings = this.se_settings.getOptSettings();
+		
+		switch(opt_settings.getMode()) {
+		case GENETIC:
+			return(new GeneticOptimizer(opt_settings, this.ea_settings, this));
+		case REFINE:
+			return(new RefineOptimizer(opt_settings, this.ea_settings, this));
+		case HALVING:
+			return(new HalvingOptimizer(opt_settings, this.ea_settings, this));
+		case WALK_FORWARD:
+			return(new WalkForwardOptimizer(opt_settings, this.ea_settings, this, 
+						this.se_settings.getAccSettings().getBalance()));
+		default:
+			return(null);
+		}
+	}
+	
+	
+	@Override
+	public void evaluate(List<Slice> slices) throws WorkerExc {
+		this.executeSlices(slices);
+	}
+	
+	
+	@Override
+	public int getTotalCandles() {
+		return(this.total_candles);
+	}
+	
+	
+	/**
+	 * Perform the runs over every candle of the period; The results 
+	 * are only logged, and not kept
+	 * @param runs Runs of the sweep
+	 * @throws WorkerExc
+	 */
+	private void executeGroups(List<Run> runs) throws WorkerExc {
+		Slice slice = new Slice(runs, 0, this.total_candles, false);
+		this.executeSlices(Collections.singletonList(slice));
+	}
+	
+	
+	/**
+	 * Has the run been completed before, by the journal?
+	 * @param run Run
+	 * @return True: Completed, to skip
+	 */
+	private boolean isDone(Run run) {
+		return(this.journal != null && this.journal.isDone(run.getId()));
+	}
+	
+	
+	/**
+	 * Journal the run performed in sequence, once its rows are logged
+	 * @param run Run
+	 * @throws JournalExc
+	 */
+	private void journalRun(Run run) throws JournalExc {
+		if(this.journal == null) return;
+		
+		Reporter reporter = this.stage.getReporter();
+		ObjectiveE objective = this.se_settings.getOptSettings().getObjective();
+		this.journal.put(run.getId(), 
+						 reporter.getScore(objective), 
+						 reporter.getScore(ObjectiveE.NET_PROFIT), 
+						 reporter.toLogRow());
+	}
+	
+	
+	/**
+	 * Take the results of the runs of the slice completed before, 
+	 * by the journal; Only the runs over the whole period are journaled. 
+	 * Without a journal, or with an empty one, the runs are not walked
+	 * @param slice Slice of the period, with its runs
+	 * @return Slice of the runs still to perform
+	 */
+	private Slice resumeSlice(Slice slice) {
+		if(this.journal == null || this.journal.isEmpty()) return(slice);
+		if(slice.getFrom() > 0 || slice.getCandles() < this.total_candles) 
+			return(slice);
+		
+		BitSet pending = new BitSet(slice.size());
+		for(int i = 0; i < slice.size(); i++) {
+			Run run = slice.getRuns().get(i);
+			if(this.isDone(run) == false) {
+				pending.set(i);
+				continue;
+			}
+			
+			float[] result = this.journal.getResult(run.getId());
+			slice.putResult(i, result[0], result[1]);
+		}
+		
+		if(pending.cardinality() == slice.size()) return(slice);
+		return(slice.select(pending));
+	}
+	
+	
+	/**
+	 * Perform the runs of the slices in passes of RunGroup size, in 
+	 * lock-step; With more than 1 RunGroup, the passes are in parallel: 
+	 * each group claims the next pass, whichever its slice, until none 
+	 * is left. The passes are only made when claimed. The first run over 
+	 * the whole period writes the Candles Log
+	 * @param slices Slices of the period, with their runs
+	 * @throws WorkerExc
+	 */
+	private void executeSlices(List<Slice> slices) throws WorkerExc {
+		int group_size = this.groups.get(0).size();
+		List<List<Slice>> splits = new ArrayList<>();
+		int total_runs = 0;
+		int total_passes = 0;
+		int write_index = -1;
+		for(Slice slice: slices) {
+			Slice pending = this.resumeSlice(slice);
+			List<Slice> split = pending.split(group_size);
+			
+			if(this.wrote_candles == false && split.isEmpty() == false && 
+			   pending.getFrom() == 0 && 
+			   pending.getCandles() == this.total_candles) {
+				write_index = total_passes;
+				this.wrote_candles = true;
+			}
+			
+			splits.add(split);
+			total_runs += pending.size();
+			total_passes += split.size();
+		}
+		
+//		The bound of the Pruner is only kept within 1 slice
+		if(this.pruner != null) {
+			if(slices.size() == 1) 
+				this.pruner.setSlice(slices.get(0).getFrom(), 
+									 slices.get(0).getCandles());
+			else this.pruner.setSlice(-1, 0);
+		}
+		
+		int runs_total = total_runs;
+		int passes_total = total_passes;
+		int write_pass = write_index;
+		AtomicInteger next_pass = new AtomicInteger();
+		AtomicInteger completed = new AtomicInteger();
+		
+//		1 RunGroup: Perform the passes on this thread, streaming if needed
+		if(this.groups.size() == 1) {
+			for(int i = 0; i < passes_total; i++) {
+				Slice pass = this.getPass(splits, i);
+				this.executePass(this.groups.get(0), pass, i == write_pass);
+				
+				for(Run run: pass.getRuns()) 
+					System.out.printf("\nRun %d of %d: %s", 
+							completed.incrementAndGet(), runs_total, run);
+			}
+			return;
+		}
+		
+//		1 task per RunGroup, claiming passes; The first failure stops 
+//		the claims of every group
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		ExecutorService executor = Executors.newFixedThreadPool
+									(this.groups.size(), r -> new Thread(r, "RunGroup"));
+		
+		for(RunGroup group: this.groups) {
+			executor.execute(() -> {
+				try {
+					while(failure.get() == null) {
+						int i = next_pass.getAndIncrement();
+						if(i >= passes_total) break;
+						
+						Slice pass = this.getPass(splits, i);
+						this.executePass(group, pass, i == write_pass);
+						
+						for(Run run: pass.getRuns()) 
+							System.out.printf("\nRun %d of %d: %s", 
+									completed.incrementAndGet(), runs_total, run);
+					}
+					
+				} catch (Exception e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+		}
+		executor.shutdown();
+		
+//		Wait for every group; Stop the sweep at the first failed pass
+		try {
+			while(executor.awaitTermination(1, TimeUnit.SECONDS) == false);
+			
+		} catch (InterruptedException e) {
+			failure.compareAndSet(null, e);
+			executor.shutdownNow();
+		}
+		
+		if(failure.get() != null) {
+			String error_msg = "%s: Error performing runs in parallel\n";
+			failure.get().printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+	}
+	
+	
+	/**
+	 * Get a pass, by its number over the passes of every slice
+	 * @param splits Passes of each slice
+	 * @param index Number of the pass
+	 * @return Pass
+	 */
+	private Slice getPass(List<List<Slice>> splits, int index) {
+		for(List<Slice> split: splits) {
+			if(index < split.size()) return(split.get(index));
+			index -= split.size();
+		}
+		
+		return(null);
+	}
+	
+	
+	/**
+	 * Perform 1 pass of a slice: the runs of the RunGroup view every
+	 * candle of the slice in lock-step, then the group is reset; 
+	 * The runs over the whole period are journaled, once logged
+	 * @param group RunGroup performing the runs
+	 * @param pass Runs of the pass, saving their results
+	 * @param write_candles True: The first run writes the Candles Log
+	 * @throws WorkerExc
+	 */
+	private void executePass(RunGroup group, Slice pass, 
+							 boolean write_candles) throws WorkerExc {
+		group.begin(pass.getRuns(), write_candles);
+		
+		try {
+			this.replayCandles(group, pass);
+			group.end();
+			
+			boolean journaled = this.journal != null && pass.getFrom() == 0 && 
+								pass.getCandles() == this.total_candles;
+			for(int i = 0; i < pass.size(); i++) {
+				pass.putResult(i, group.getScore(i), group.getNetProfit(i));
+				if(journaled) 
+					this.journal.put(pass.getRuns().get(i).getId(), 
+									 group.getScore(i), 
+									 group.getNetProfit(i), 
+									 group.getReport(i));
+			}
+			
+		} catch (JournalExc e) {
+			String error_msg = "%s: Error journaling runs %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), 
+							  pass.getRuns());
+			throw new WorkerExc();
+			
+		} catch (RunLaneExc e) {
+			String error_msg = "%s: Error performing runs %s\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName(), 
+							  pass.getRuns());
+			throw new WorkerExc();
+			
+		} finally {
+			group.reset();
+		}
+	}
+	
+	
+	/**
+	 * Replay the candles of a slice into the viewer, on this thread: 
+	 * from the series, else from the CandleBlock hand-off 
+	 * filled by the put thread. The candles of the slice are numbered 
+	 * from 1, and the last candle ends the runs; The times of the first 
+	 * and last candles are saved into the slice
+	 * @param viewer RunGroup viewing the candles
+	 * @param slice Slice of the period
+	 * @throws RunLaneExc
+	 * @throws WorkerExc
+	 */
+	private void replayCandles(RunGroup viewer, Slice slice) 
+			throws RunLaneExc, WorkerExc {
+		if(this.series != null) {
+			int position = 0;
+			int candle_id = 1;
+			for(int i = 0; i < this.series.getBlockCount() && 
+							candle_id <= slice.getCandles(); i++) {
+				CandleBlock block = this.series.getBlock(i);
+				candle_id = this.replayBlock(viewer, slice, block, 
+											 position, candle_id);
+				position += block.size();
+			}
+			return;
+		}
+		
+		Thread put_candles = new Thread(this::putCandleBlocks, 
+										"PutCandleBlocks");
+		put_candles.start();
+		
+//		Past the last candle of the slice, or once every run is pruned 
+//		and the times of the slice are known, the put thread is stopped;
+//		The blocks already queued are only drained
 		try {
-			this.compactor.close();
+			int end = slice.getFrom() + slice.getCandles();
+			int position = 0;
+			int candle_id = 1;
+			while(true) {
+				CandleBlock block = this.queue.take();
+				if(block.size() == 0) break;
+				if(this.stop_candles) continue;
+				
+				candle_id = this.replayBlock(viewer, slice, block, 
+											 position, candle_id);
+				position += block.size();
+				
+				if(position >= end || (viewer.isPruned() && 
+				   slice.getStartTime() != null && 
+				   slice.getEndTime() != null)) 
+					this.stop_candles = true;
+			}
+			put_candles.join();
+			this.stop_candles = false;
 			
-		} catch (CompactorExc e) {
-			String error_msg = "%s: Error closing Compactor\n";
+		} catch (InterruptedException e) {
+			String error_msg = "%s: Error taking candle block\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
+			put_candles.interrupt();
 			throw new WorkerExc();
+			
+		} catch (RunLaneExc e) {
+			put_candles.interrupt();
+			throw e;
 		}
 	}
 	
 	
+	/**
+	 * Replay the rows of 1 block within the slice into the viewer; 
+	 * Once every run of the pass is pruned, the rows are only counted
+	 * @param viewer RunGroup viewing the candles
+	 * @param slice Slice of the period
+	 * @param block CandleBlock
+	 * @param position Position of the first row of the block in the period
+	 * @param candle_id Candle ID of the next candle of the slice
+	 * @return Candle ID of the next candle of the slice
+	 * @throws RunLaneExc
+	 */
+	private int replayBlock(RunGroup viewer, Slice slice, CandleBlock block, 
+							int position, int candle_id) throws RunLaneExc {
+		int end = slice.getFrom() + slice.getCandles();
+		int first = Math.max(0, slice.getFrom() - position);
+		int last = Math.min(block.size(), end - position);
+		if(first >= last) return(candle_id);
+		
+		if(candle_id == 1) slice.setStartTime(block.getDateTime(first));
+		if(position + last == end) slice.setEndTime(block.getDateTime(last - 1));
+		
+		if(viewer.isPruned()) return(candle_id + last - first);
+		
+		SymbolSettings sym_settings = this.se_settings.getSymSettings();
+		int unit_pip = sym_settings.getPip();
+		int unit_distance = sym_settings.getDistance();
+		block.derive(unit_distance, 
+					 this.se_settings.getGenSettings().getPriceMode());
+		
+		for(int row = first; row < last; row++, candle_id++) 
+			viewer.viewCandle(new Candle(block, 
+										 row, 
+										 candle_id, 
+										 slice.getCandles(), 
+										 unit_pip, 
+										 unit_distance));
+		
+		return(candle_id);
+	}
+	
+	
 	/**
 	 * Perform 1 run
 	 */
 	public void run() {
 //		Put thread must be initialized first
-		Thread put_candles = new Thread(this::putCompactorCandles, 
-										"PutCompactorCandles");
-		Thread take_candles = new Thread(this::takeCompactorCandles, 
-										"TakeCompactorCandles");
+		Thread put_candles = new Thread(this::putCandleBlocks, 
+										"PutCandleBlocks");
+		Thread take_candles = new Thread(this::takeCandleBlocks, 
+										"TakeCandleBlocks");
 		Thread log_logrowsbag = new Thread(this::recordLogRowsBag, 
 										"RecordLogRowsBag");
 		
@@ -227,6 +696,161 @@ public class Worker implements RunHandler, CandleViewer {
 	}
 	
 	
+	/**
+	 * Make the hand-off between 2 threads, for the wait strategy
+	 * @param capacity Maximum number of items in the hand-off
+	 * @return HandOff, over a LinkedBlockingQueue or a RingBuffer
+	 */
+	private <T> HandOff<T> makeHandOff(int capacity) {
+		WaitStrategyE wait_strategy = this.se_settings.getGenSettings()
+													  .getWaitStrategy();
+		
+		if(wait_strategy == WaitStrategyE.QUEUE) 
+			return(new QueueHandOff<>(capacity));
+		
+		return(new RingBuffer<>(capacity, wait_strategy));
+	}
+	
+	
+	/**
+	 * Make the CandleSeries replayed by every run: the CandleDataset when 
+	 * the candles are kept in memory (or the runs are in parallel), 
+	 * else the CandleCache when enabled
+	 * (Compactor only; a candle file is already local)
+	 * @return CandleSeries, or null to stream the candles on every run
+	 * @throws WorkerExc
+	 */
+	private CandleSeries makeCandleSeries() throws WorkerExc {
+		GeneralSettings gen_settings = this.se_settings.getGenSettings();
+		CandleCache cache = null;
+		
+//		Map the cache file, rebuilding it when the table has changed
+		if(gen_settings.isCandleCache() && this.compactor != null) {
+			try {
+				cache = new CandleCache(this.compactor, 
+										gen_settings.getCacheDirectory());
+				
+			} catch (CandleCacheExc e) {
+				String error_msg = "%s: Error making CandleCache\n";
+				e.printStackTrace();
+				System.err.printf(error_msg, this.getClass().getName());
+				throw new WorkerExc();
+			}
+		}
+		
+//		The parallel sweep replays the candles in memory
+		if(!gen_settings.isCandlesInMemory() && 
+		   gen_settings.getWorkers() <= 1) return(cache);
+		
+		int bytes_per_candle = Constants.DATASET_BYTES_PER_CANDLE;
+		if(gen_settings.getPriceMode() == PriceModeE.POINTS) 
+			bytes_per_candle += Constants.DATASET_POINTS_BYTES_PER_CANDLE;
+		
+		if(!CandleDataset.isFitInMemory(this.total_candles, 
+										bytes_per_candle)) {
+			String warn_msg = 
+				"%s: %d candles do not fit in memory, replaying every run\n";
+			System.err.printf(warn_msg, this.getClass().getName(), 
+							  this.total_candles);
+			return(cache);
+		}
+		
+		CandleDataset dataset;
+		try {
+			if(cache != null) dataset = new CandleDataset(cache);
+			else dataset = new CandleDataset(this.source);
+			
+		} catch (CandleDatasetExc e) {
+			String error_msg = "%s: Error making CandleDataset\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+		
+		dataset.derive(this.se_settings.getSymSettings().getDistance(),
+					   this.se_settings.getGenSettings().getPriceMode());
+		return(dataset);
+	}
+	
+	
+	/**
+	 * Make the Pruner of the runs, when any pruning rule is enabled
+	 * @return Pruner, or null to perform every run to the end
+	 */
+	private Pruner makePruner() {
+		Pruner result = new Pruner(this.se_settings.getOptSettings());
+		return(result.isEnabled() ? result : null);
+	}
+	
+	
+	/**
+	 * Make the RunGroups of the sweep: 1 per worker, of as many RunLanes 
+	 * as lock-step runs. The parallel sweep needs the candles in memory; 
+	 * With the candles in memory, even 1 run at a time is performed by a 
+	 * RunGroup, in a single-thread loop without hand-offs; 
+	 * The Optimizer and the Pruner always need the RunGroups
+	 * @return RunGroups, or null to stream the runs 1 by 1, in sequence
+	 * @throws WorkerExc
+	 */
+	private List<RunGroup> makeRunGroups() throws WorkerExc {
+		GeneralSettings gen_settings = this.se_settings.getGenSettings();
+		int workers = Math.max(1, gen_settings.getWorkers());
+		int lockstep_runs = Math.max(1, gen_settings.getLockStepRuns());
+		
+		if(workers > 1 && this.series == null) {
+			String warn_msg = 
+				"%s: Candles are not in memory, performing runs in sequence\n";
+			System.err.printf(warn_msg, this.getClass().getName());
+			workers = 1;
+		}
+		if(workers == 1 && lockstep_runs == 1 && this.series == null && 
+		   this.pruner == null && 
+		   this.se_settings.getOptSettings().getMode() == OptimizerModeE.GRID) 
+			return(null);
+		
+		List<RunGroup> result = new ArrayList<>();
+		try {
+			for(int i = 0; i < workers; i++) 
+				result.add(new RunGroup(this.se_settings, 
+										this.log_book, 
+										this.pruner, 
+										lockstep_runs));
+			
+		} catch (RunLaneExc e) {
+			String error_msg = "%s: Error making RunGroup\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+		
+		return(result);
+	}
+	
+	
+	/**
+	 * Make the CompactorPrefetcher when the candles are streamed on every
+	 * run from the Compactor, over more than 1 connection
+	 * @return CompactorPrefetcher, or null to stream with 1 cursor
+	 * @throws WorkerExc
+	 */
+	private CompactorPrefetcher makeCompactorPrefetcher() throws WorkerExc {
+		int db_connections = this.se_settings.getGenSettings()
+											 .getDbConnections();
+		if(this.series != null || this.compactor == null || 
+		   db_connections <= 1) return(null);
+		
+		try {
+			return(new CompactorPrefetcher(this.compactor, db_connections));
+			
+		} catch (CompactorPrefetcherExc e) {
+			String error_msg = "%s: Error making CompactorPrefetcher\n";
+			e.printStackTrace();
+			System.err.printf(error_msg, this.getClass().getName());
+			throw new WorkerExc();
+		}
+	}
+	
+	
 	/**
 	 * Method to write Runs Log in a new Thread
 	 */
@@ -236,49 +860,60 @@ public class Worker implements RunHandler, CandleViewer {
 	
 	
 	/**
-	 * Method to run in separate thread; Put CompactorCandle into queue
+	 * Method to run in separate thread; Put CandleBlock into queue
 	 */
-	private void putCompactorCandles() {
-		String query = "";
-		CompactorCandle candle = null;
+	private void putCandleBlocks() {
+		CandleBlock block = null;
+		int unit_distance = this.se_settings.getSymSettings().getDistance();
+		PriceModeE price_mode = this.se_settings.getGenSettings()
+												.getPriceMode();
 
-//		Generate all the queries. For every query, get the candles
 		try {
-			List<String> queries = this.compactor.getQueries();
 			
-			for(int i = 0; i < queries.size(); i++) {
-				query = queries.get(i);
-				List<CompactorCandle> candles =
-						this.compactor.getCandles(query);
-				
-//				Blocking code to 'put'
-				for(int j = 0; j < candles.size(); j++) {
-					candle = candles.get(j);
-					this.queue.put(candle);
+//			Replay the blocks already in memory or in the cache
+			if(this.series != null) {
+				for(int i = 0; i < this.series.getBlockCount(); i++) {
+					block = this.series.getBlock(i);
+					this.putCandleBlock(block, unit_distance, price_mode);
 				}
+				
+//			Prefetch the days of the period concurrently, in sequence
+			} else if(this.prefetcher != null) {
+				this.prefetcher.prefetch(b -> 
+						this.putCandleBlock(b, unit_distance, price_mode));
+				
+//			Stream the blocks of the period, blocking on 'put' as they fill
+			} else {
+				this.source.streamCandles(b -> 
+						this.putCandleBlock(b, unit_distance, price_mode));
 			}
 			
-		} catch (CompactorExc e) {
+		} catch (CandleSourceExc | CompactorPrefetcherExc e) {
 			String error_msg = "%s: Error getting candles\n";
 			e.printStackTrace();
-			System.err.printf("SQL query: %s\n", query);
 			System.err.printf(error_msg, this.getClass().getName());
 			Thread.currentThread().interrupt();
 			
 		} catch (InterruptedException e) {
-			String error_msg = "%s: Error inserting candle\n";
-			e.printStackTrace();
-			System.err.printf("Candle: %s\n", candle);
-			System.err.printf(error_msg, this.getClass().getName());
-			Thread.currentThread().interrupt();			
+			
+//			Stopped past the slice: The source is closed by unwinding, 
+//			and the end is signalled as usual
+			if(this.stop_candles == false) {
+				String error_msg = "%s: Error inserting candle block\n";
+				e.printStackTrace();
+				System.err.printf("Block: %d candles\n", 
+								  (block == null) ? 0 : block.size());
+				System.err.printf(error_msg, this.getClass().getName());
+				Thread.currentThread().interrupt();
+			}
 		}
 		
-//		Put unlit candle, to signal the end of task
+//		Put empty block, to signal the end of task
 		try {
-			this.queue.put(new CompactorCandle());
+			this.queue.put(new CandleBlock(0));
 			
 		} catch (InterruptedException e) {
-			String error_msg = "%s: Error inserting unlit candle\n";
+			String error_msg = "%s: Error inserting empty block\n";
 			e.printStackTrace();
 			System.err.printf(error_msg, this.getClass().getName());
 			Thread.currentThread().interrupt();		
@@ -287,16 +922,34 @@ public class Worker implements RunHandler, CandleViewer {
 	
 	
 	
+	/**
+	 * Derive and put 1 CandleBlock into the queue; Throws once the 
+	 * replay of a slice has stopped the put thread, to stop the source
+	 * @param block CandleBlock
+	 * @param unit_distance Distance in number of decimal places
+	 * @param price_mode How the prices are held
+	 * @throws InterruptedException
+	 */
+	private void putCandleBlock(CandleBlock block, int unit_distance, 
+								PriceModeE price_mode) 
+										throws InterruptedException {
+		if(this.stop_candles) throw new InterruptedException();
+		
+		block.derive(unit_distance, price_mode);
+		this.queue.put(block);
+	}
+	
+	
 	/**
 	 * Method to run in separate thread; 
-	 * Take CompactorCandle from queue and process it
+	 * Take CandleBlock from queue and view each of its candles
 	 */	
-	private void takeCompactorCandles() {
-		CompactorCandle comp_candle = null;
+	private void takeCandleBlocks() {
+		Candle candle = null;
 		SymbolSettings sym_settings = this.se_settings.getSymSettings();
 		
-//		Make the Candle object from the CompactorCandle
-//		When an unlit candle is received, place an empty logrowsbag into
+//		Make the Candle views over the rows of the block
+//		When an empty block is received, place an empty logrowsbag into
 //		the log queue
 		int unit_pip = sym_settings.getPip();
 		int unit_distance = sym_settings.getDistance();
@@ -304,37 +957,37 @@ public class Worker implements RunHandler, CandleViewer {
 		try {
 
 			while(true) {
-
-
-				comp_candle = this.queue.take();
+				CandleBlock block = this.queue.take();
 				
-				Candle candle = new Candle
-								(comp_candle, 
+				if(block.size() == 0) {
+					this.log_queue.put(new LogRowsBag());
+					break;
+				}
+				
+				for(int row = 0; row < block.size(); row++) {
+					candle = new Candle
+								(block,
+								 row,
 								 this.candle_id, 
 								 this.total_candles,
 								 unit_pip, 
 								 unit_distance);
-				this.candle_id++;
-				this.viewCandle(candle);
-				if(!comp_candle.isLit()) {
-					this.log_queue.put(new LogRowsBag());
-					break;
+					this.candle_id++;
+					this.viewCandle(candle);
 				}
-				
-
 			} 
 						
 		} catch (InterruptedException e) {
-			String error_msg = "%s: Error taking compactor candle\n";
+			String error_msg = "%s: Error taking candle block\n";
 			e.printStackTrace();
-			System.err.printf("Candle: %s\n", comp_candle);
+			System.err.printf("Candle: %s\n", candle);
 			System.err.printf(error_msg, this.getClass().getName());
 			Thread.currentThread().interrupt();
 			
 		} catch (WorkerExc e) {
 			String error_msg = "%s: Error viewing candle\n";
 			e.printStackTrace();
-			System.err.printf("Candle: %s\n", comp_candle);
+			System.err.printf("Candle: %s\n", candle);
 			System.err.printf(error_msg, this.getClass().getName());
 			Thread.currentThread().interrupt();			
 		}
@@ -350,21 +1003,32 @@ public class Worker implements RunHandler, CandleViewer {
 	 */	
 	private void recordLogRowsBag() {
 		LogRowsBag logrowsbag = null;
+		LogRowsBag[] batch = new LogRowsBag[Constants.Q_BATCH_LOGROWSBAG];
 		
 		try {
 			System.out.printf
 			("Total number of candles: %d, processed candle #", 
 					this.total_candles);
 			
-			for(int proc_candle = 0; true; proc_candle++) {
-				logrowsbag = this.log_queue.take();
-				System.out.printf("%d", proc_candle);
-
-				if(!logrowsbag.isFull()) break;
-				this.log_book.write(logrowsbag);
+//			Take the LogRowsBags in batches, as many as are ready
+			boolean running = true;
+			for(int proc_candle = 0; running; ) {
+				int total = this.log_queue.take(batch);
 				
-				int num_length = Integer.toString(proc_candle).length();
-				for(int i = 0; i < num_length; i++) System.out.printf("\b");
+				for(int j = 0; j < total; j++, proc_candle++) {
+					logrowsbag = batch[j];
+					batch[j] = null;
+					System.out.printf("%d", proc_candle);
+	
+					if(!logrowsbag.isFull()) {
+						running = false;
+						break;
+					}
+					this.log_book.write(logrowsbag);
+					
+					int num_length = Integer.toString(proc_candle).length();
+					for(int i = 0; i < num_length; i++) System.out.printf("\b");
+				}
 			} 
 			
 			System.out.println("");	
@@ -389,9 +1053,6 @@ public class Worker implements RunHandler, CandleViewer {
 	@Override
 	public void viewCandle(Candle candle) throws WorkerExc {
 
-//		Exit when the candle is unlit
-		if(!candle.isLit()) return;
-		
 //		Stage listens to candle
 		try {
 			this.stage.viewCandle(candle);
@@ -416,8 +1077,16 @@ public class Worker implements RunHandler, CandleViewer {
 	
 		
 //		Put LogRowsBag onto blocking queue
+//		Without the detailed logs, only the report of the last candle
 		try {
-			LogRowsBag logrowsbag = this.stage.toLogRowsBag();
+			LogRowsBag logrowsbag;
+			if(this.se_settings.getGenSettings().isDetailedLogs()) 
+				logrowsbag = this.stage.toLogRowsBag();
+			else {
+				LogRow report = this.stage.toReportLogRow();
+				if(report == null) return;
+				logrowsbag = new LogRowsBag(null, null, null, report);
+			}
 			this.log_queue.put(logrowsbag);
 			
 		} catch (InterruptedException e) {